@@ -4,24 +4,37 @@ import config.ConfigManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.CompositeWait;
+import utils.ElementProbe;
+import utils.ElementSnapshot;
+import utils.PageState;
 import utils.SeleniumUtils;
+import utils.WaitContext;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Base page class containing common functionality for all page objects
  */
 public abstract class BasePage {
     
+    /** How long optional elements (popups, "no data" messages) get to appear before they count as absent */
+    private static final long OPTIONAL_ELEMENT_GRACE_MILLIS = ConfigManager.getIntProperty("probe.optional.grace.ms", 1000);
+    
     protected WebDriver driver;
     protected WebDriverWait wait;
     
+    /** Memoized probe results, valid until the DOM changes or an action runs */
+    private final PageState pageState;
+    
     public BasePage(WebDriver driver) {
         this.driver = driver;
+        this.pageState = new PageState(driver);
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(ConfigManager.getExplicitWait()));
-        PageFactory.initElements(driver, this);
+        PageElements.init(driver, this);
     }
     
     /**
@@ -42,6 +55,7 @@ public abstract class BasePage {
      * Navigate to URL
      */
     public void navigateTo(String url) {
+        PageState.markAction();
         driver.get(url);
         SeleniumUtils.waitForPageLoad(driver);
     }
@@ -50,6 +64,7 @@ public abstract class BasePage {
      * Refresh the page
      */
     public void refreshPage() {
+        PageState.markAction();
         driver.navigate().refresh();
         SeleniumUtils.waitForPageLoad(driver);
     }
@@ -58,6 +73,7 @@ public abstract class BasePage {
      * Navigate back
      */
     public void navigateBack() {
+        PageState.markAction();
         driver.navigate().back();
         SeleniumUtils.waitForPageLoad(driver);
     }
@@ -66,6 +82,7 @@ public abstract class BasePage {
      * Navigate forward
      */
     public void navigateForward() {
+        PageState.markAction();
         driver.navigate().forward();
         SeleniumUtils.waitForPageLoad(driver);
     }
@@ -123,6 +140,7 @@ public abstract class BasePage {
     protected void safeClickWithWait(By locator) {
         WebElement element = waitForElementDisplayed(locator);
         SeleniumUtils.waitForElementClickable(driver, locator);
+        PageState.markAction();
         element.click();
     }
     
@@ -131,6 +149,7 @@ public abstract class BasePage {
      */
     protected void safeSendKeysWithWait(By locator, String text) {
         WebElement element = waitForElementDisplayed(locator);
+        PageState.markAction();
         element.clear();
         element.sendKeys(text);
     }
@@ -142,10 +161,60 @@ public abstract class BasePage {
         return SeleniumUtils.waitForElementToBeDisplayed(driver, locator, 10);
     }
     
+    /**
+     * Check if any of the elements is displayed right now, without waiting
+     */
+    protected boolean isDisplayedNow(By... locators) {
+        return ElementProbe.isVisibleNow(driver, locators);
+    }
+    
+    /**
+     * Check if any of the elements is displayed within the given time
+     */
+    protected boolean isDisplayedWithin(long millis, By... locators) {
+        return ElementProbe.isAnyVisibleWithin(driver, millis, locators);
+    }
+    
+    /**
+     * Check if any of the optional elements is displayed, allowing a short grace period for it to appear
+     */
+    protected boolean isOptionalElementDisplayed(By... locators) {
+        return isDisplayedWithin(OPTIONAL_ELEMENT_GRACE_MILLIS, locators);
+    }
+    
+    /**
+     * Get the result of a probe, reusing the previous result while the page has not changed and no action ran
+     */
+    protected <T> T memoized(String key, Supplier<T> probe) {
+        return pageState.memoize(key, probe);
+    }
+    
+    /**
+     * Capture properties of all elements matching the locator in one call
+     */
+    protected List<ElementSnapshot> snapshotElements(By locator, ElementSnapshot.Property... properties) {
+        return ElementSnapshot.capture(driver, locator, properties);
+    }
+    
     /**
      * Wait for multiple elements with OR condition
      */
     protected WebElement waitForAnyElementDisplayed(By... locators) {
-        return SeleniumUtils.waitForAnyElementVisible(driver, 10, locators);
+        return waitForAnyElementDisplayed(10, locators);
+    }
+    
+    /**
+     * Wait for multiple elements with OR condition and custom timeout
+     */
+    protected WebElement waitForAnyElementDisplayed(int timeoutSeconds, By... locators) {
+        return SeleniumUtils.waitForAnyElementVisible(driver, timeoutSeconds, locators);
+    }
+    
+    /**
+     * Wait for multiple elements with AND condition (visible and enabled), checked together in one polling loop
+     */
+    protected boolean waitForAllElementsDisplayed(By... locators) {
+        return WaitContext.run("all clickable", locators, 10, (timeout, polling) ->
+            CompositeWait.waitForAll(driver, timeout, CompositeWait.Condition.CLICKABLE, locators)) != null;
     }
 }
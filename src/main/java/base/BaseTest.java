@@ -2,66 +2,227 @@ package base;
 
 import config.BrowserStackSDKConfig;
 import config.ConfigManager;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
 import org.testng.annotations.*;
+import utils.DriverSessionPool;
+import utils.SessionPrewarmer;
+import utils.WaitTelemetry;
 import utils.WebDriverFactory;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pages.HomePage;
+import pages.LoginPage;
+import pages.ProductCatalog;
+import utils.AdaptiveTimeouts;
+import utils.AuthSessionCache;
+import utils.FallbackChain;
+import utils.HealingWebElement;
+import utils.ImageNetworkCapture;
+import utils.ImageReport;
+import utils.ImageSettleWait;
+import utils.Log;
+import utils.NetworkIdleTracker;
+import utils.PageState;
+import utils.PushWait;
+import utils.RunHistoryListener;
+import utils.ScreenshotService;
+import utils.TestScheduler;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
 
 /**
  * Base test class containing common setup and teardown methods
  */
+@Listeners(RunHistoryListener.class)
 public abstract class BaseTest {
     
     protected WebDriver driver;
     protected String browser;
     protected String os;
     protected String osVersion;
+    protected String platformKey;
+    
+    private DriverSessionPool.PooledSession session;
+    
+    // Sessions leased with SessionScope.SUITE stay with the test thread until the suite ends
+    private static final ThreadLocal<DriverSessionPool.PooledSession> suiteSession = new ThreadLocal<>();
     
     @BeforeSuite(alwaysRun = true)
-    public void suiteSetup() {
+    public void suiteSetup(ITestContext context) {
         // Initialize BrowserStack SDK configuration for Test Observability only if using BrowserStack
         String environment = System.getProperty("environment", "local");
         if ("browserstack".equalsIgnoreCase(environment)) {
             BrowserStackSDKConfig.initialize();
             BrowserStackSDKConfig.verifyCredentials();
         } else {
-            System.out.println("Running in local environment - skipping BrowserStack SDK initialization");
+            Log.info("Running in local environment - skipping BrowserStack SDK initialization");
         }
+        
+        // Start browser sessions in the background while TestNG finishes setting up the suite
+        SessionPrewarmer.prewarm(context.getSuite().getXmlSuite());
     }
     
     @Parameters({"browser", "os", "osVersion"})
     @BeforeMethod(alwaysRun = true)
     public void setUp(@Optional("chrome") String browser, 
                      @Optional("Windows") String os, 
-                     @Optional("11") String osVersion) {
+                     @Optional("11") String osVersion,
+                     Method method) {
         
         // Use system properties if available, otherwise use parameters from TestNG XML
-        this.browser = System.getProperty("browser", browser != null && !browser.isEmpty() ? browser : "chrome");
-        this.os = System.getProperty("os", os != null && !os.isEmpty() ? os : "Windows");
-        this.osVersion = System.getProperty("osVersion", osVersion != null && !osVersion.isEmpty() ? osVersion : "11");
+        this.browser = ConfigManager.resolveTestParameter("browser", browser, "chrome");
+        this.os = ConfigManager.resolveTestParameter("os", os, "Windows");
+        this.osVersion = ConfigManager.resolveTestParameter("osVersion", osVersion, "11");
+        
+        // Buffer the log of this test, it is written out only if the test fails
+        Log.startTest(getClass().getSimpleName() + "." + method.getName(),
+            this.browser + " " + this.os + " " + this.osVersion, () -> sessionId(driver));
         
-        System.out.println("Setting up test with Browser: '" + this.browser + "', OS: '" + this.os + "', OSVersion: '" + this.osVersion + "'");
+        Log.info(() -> "Setting up test with Browser: '" + this.browser + "', OS: '" + this.os + "', OSVersion: '" + this.osVersion + "'");
         
-        // Create WebDriver instance
-        this.driver = WebDriverFactory.createDriver(this.browser, this.os, this.osVersion);
+        SessionScope.Scope scope = getSessionScope();
+        this.platformKey = DriverSessionPool.platformKey(this.browser, this.os, this.osVersion, null, null);
+        WebDriverFactory.bindPlatform(platformKey);
+        
+        // Keep the session of a class or suite scoped test, including its page state, between methods
+        if (scope == SessionScope.Scope.CLASS && isUsable(session, platformKey)) {
+            return;
+        }
+        if (scope == SessionScope.Scope.SUITE) {
+            DriverSessionPool.PooledSession threadSession = suiteSession.get();
+            if (isUsable(threadSession, platformKey)) {
+                this.session = threadSession;
+                this.driver = threadSession.getDriver();
+                return;
+            }
+            WebDriverFactory.releaseSession(threadSession);
+            suiteSession.remove();
+        }
+        
+        // Lease a WebDriver instance from the session pool
+        this.session = WebDriverFactory.leaseSession(this.browser, this.os, this.osVersion);
+        this.driver = session.getDriver();
+        if (scope == SessionScope.Scope.SUITE) {
+            suiteSession.set(session);
+        }
+        
+        // Reused sessions were already reset and navigated to the application URL on release
+        if (session.isReused()) {
+            return;
+        }
         
         // Navigate to application URL with retry logic
         String appUrl = ConfigManager.getAppUrl();
-        System.out.println("Navigating to: " + appUrl);
+        Log.info(() -> "Navigating to: " + appUrl);
         
         // Use enhanced navigation with network error handling
         boolean navigationSuccess = utils.NetworkErrorHandler.navigateWithRetry(driver, appUrl, 3);
         if (!navigationSuccess) {
-            System.out.println("⚠️ Navigation completed with warnings, continuing test...");
+            Log.warn("⚠️ Navigation completed with warnings, continuing test...");
             // Don't fail the test, just log the warning
         }
     }
     
     @AfterMethod(alwaysRun = true)
-    public void tearDown() {
-        if (driver != null) {
-            System.out.println("Closing browser for: " + browser + " on " + os);
-            WebDriverFactory.quitDriver();
+    public void tearDown(ITestResult result) {
+        Log.endTest(result.getStatus() == ITestResult.FAILURE);
+        if (session != null && getSessionScope() == SessionScope.Scope.METHOD) {
+            Log.info(() -> "Releasing browser session for: " + browser + " on " + os);
+            WebDriverFactory.releaseSession(session);
+            session = null;
+            driver = null;
+        }
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void classTearDown() {
+        if (session != null && getSessionScope() == SessionScope.Scope.CLASS) {
+            Log.info(() -> "Releasing class scoped browser session for: " + browser + " on " + os);
+            WebDriverFactory.releaseSession(session);
+            session = null;
+            driver = null;
+        }
+    }
+    
+    @AfterSuite(alwaysRun = true)
+    public void suiteTeardown() {
+        // Under the scheduler every work item is a suite of its own; the pool is shut down after the last item
+        if (TestScheduler.deferSuiteTeardown("base-test", BaseTest::finishSuite)) {
+            WebDriverFactory.releaseSession(suiteSession.get());
+            suiteSession.remove();
+            return;
         }
+        suiteSession.remove();
+        finishSuite();
+    }
+    
+    private static void finishSuite() {
+        WebDriverFactory.shutdownSessionPool();
+        Log.info(() -> AuthSessionCache.getStatistics());
+        Log.info(() -> HealingWebElement.getStatistics());
+        Log.info(() -> PageState.getStatistics());
+        Log.info(() -> ProductCatalog.getStatistics());
+        Log.info(() -> ImageReport.getStatistics());
+        Log.info(() -> ImageSettleWait.getStatistics());
+        Log.info(() -> ImageNetworkCapture.getStatistics());
+        Log.info(() -> NetworkIdleTracker.getStatistics());
+        Log.info(() -> PushWait.getStatistics());
+        Log.info(() -> RunHistoryListener.getStatistics());
+        Log.info(() -> AdaptiveTimeouts.getStatistics());
+        AdaptiveTimeouts.save();
+        Log.info(() -> FallbackChain.getStatistics());
+        FallbackChain.save();
+        WaitTelemetry.writeReport();
+        ScreenshotService.flush(Duration.ofSeconds(30));
+        Log.info(() -> ScreenshotService.getStatistics());
+        Log.flush(5000);
+    }
+    
+    /**
+     * Start the test as an authenticated user.
+     * The UI login runs once per platform and user; later tests get the cached session injected
+     * and fall back to a real login when the cached session is no longer valid.
+     * Login tests should keep using LoginPage directly.
+     */
+    protected void loginAs(String username, String password) {
+        RunHistoryListener.recordUser(username);
+        if (AuthSessionCache.restore(driver, platformKey, username)) {
+            if (username.equals(new LoginPage(driver).getLoggedInUsername())) {
+                return;
+            }
+            Log.warn("⚠️ Cached session for " + username + " is no longer logged in - using UI login");
+            AuthSessionCache.invalidate(platformKey, username);
+            // The injected cookies and storage must not interfere with the real login or be captured again
+            AuthSessionCache.recordLogout();
+            if (!DriverSessionPool.resetSession(driver)) {
+                utils.NetworkErrorHandler.navigateWithRetry(driver, ConfigManager.getAppUrl(), 3);
+            }
+        }
+        
+        new HomePage(driver).clickSignIn();
+        LoginPage loginPage = new LoginPage(driver);
+        loginPage.login(username, password);
+        loginPage.waitForLoginToComplete();
+        AuthSessionCache.capture(driver, platformKey, username);
+    }
+    
+    /**
+     * Get the session scope declared on the test class
+     */
+    protected SessionScope.Scope getSessionScope() {
+        SessionScope sessionScope = getClass().getAnnotation(SessionScope.class);
+        return sessionScope != null ? sessionScope.value() : SessionScope.Scope.METHOD;
+    }
+    
+    private static String sessionId(WebDriver driver) {
+        return driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() != null
+            ? ((RemoteWebDriver) driver).getSessionId().toString() : null;
+    }
+    
+    private static boolean isUsable(DriverSessionPool.PooledSession candidate, String platformKey) {
+        return candidate != null && !candidate.isClosed() && candidate.getPlatformKey().equals(platformKey);
     }
     
     /**
@@ -0,0 +1,82 @@
+package base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import utils.HealingWebElement;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Replacement for PageFactory.initElements.
+ * The annotated fields of each page class and their locators are read once and cached, so creating a
+ * page object only allocates its element proxies. Fields get {@link HealingWebElement} proxies that
+ * look up the element on first use and heal stale references.
+ */
+public final class PageElements {
+
+    private static final Map<Class<?>, List<Binding>> bindingsByClass = new ConcurrentHashMap<>();
+
+    /**
+     * Annotated field with its locator
+     */
+    private static final class Binding {
+
+        private final Field field;
+        private final By locator;
+        private final boolean list;
+
+        Binding(Field field, By locator, boolean list) {
+            this.field = field;
+            this.locator = locator;
+            this.list = list;
+        }
+    }
+
+    private PageElements() {
+    }
+
+    /**
+     * Assign element proxies to the @FindBy, @FindBys and @FindAll fields of the page object
+     */
+    public static void init(SearchContext context, Object page) {
+        for (Binding binding : bindingsByClass.computeIfAbsent(page.getClass(), PageElements::bindingsOf)) {
+            Object value = binding.list
+                ? HealingWebElement.createList(context, binding.locator)
+                : HealingWebElement.create(context, binding.locator);
+            try {
+                binding.field.set(page, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot initialize page element " + binding.field, e);
+            }
+        }
+    }
+
+    private static List<Binding> bindingsOf(Class<?> pageClass) {
+        List<Binding> bindings = new ArrayList<>();
+        for (Class<?> type = pageClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(FindBy.class) && !field.isAnnotationPresent(FindBys.class)
+                    && !field.isAnnotationPresent(FindAll.class)) {
+                    continue;
+                }
+                boolean list = List.class.isAssignableFrom(field.getType());
+                if (!list && !WebElement.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                bindings.add(new Binding(field, new Annotations(field).buildBy(), list));
+            }
+        }
+        return Collections.unmodifiableList(bindings);
+    }
+}
@@ -0,0 +1,28 @@
+package base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how long a test class keeps its leased browser session.
+ * Classes without this annotation use {@link Scope#METHOD}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Inherited
+public @interface SessionScope {
+
+    Scope value() default Scope.METHOD;
+
+    enum Scope {
+        /** Session is reset and returned to the pool after every test method */
+        METHOD,
+        /** Session is kept across all methods of the class and returned after the class */
+        CLASS,
+        /** Session stays with the test thread until the suite finishes */
+        SUITE
+    }
+}
@@ -1,5 +1,7 @@
 package config;
 
+import utils.Log;
+
 /**
  * BrowserStack SDK Configuration class
  * This class helps ensure the BrowserStack SDK properly detects TestNG framework
@@ -34,10 +36,10 @@ public class BrowserStackSDKConfig {
      * Call this method at the start of your test suite
      */
     public static void initialize() {
-        System.out.println("BrowserStack SDK Configuration initialized");
-        System.out.println("Framework: " + System.getProperty("browserstack.framework"));
-        System.out.println("Test Observability: " + System.getProperty("browserstack.testObservability"));
-        System.out.println("Debug Mode: " + System.getProperty("browserstack.debug"));
+        Log.info("BrowserStack SDK Configuration initialized");
+        Log.info(() -> "Framework: " + System.getProperty("browserstack.framework"));
+        Log.info(() -> "Test Observability: " + System.getProperty("browserstack.testObservability"));
+        Log.info(() -> "Debug Mode: " + System.getProperty("browserstack.debug"));
     }
     
     /**
@@ -48,12 +50,12 @@ public class BrowserStackSDKConfig {
         String accessKey = System.getenv("BROWSERSTACK_ACCESS_KEY");
         
         if (username == null || username.isEmpty() || accessKey == null || accessKey.isEmpty()) {
-            System.err.println("BrowserStack credentials not found in environment variables");
-            System.err.println("Please set BROWSERSTACK_USERNAME and BROWSERSTACK_ACCESS_KEY");
+            Log.error("BrowserStack credentials not found in environment variables");
+            Log.error("Please set BROWSERSTACK_USERNAME and BROWSERSTACK_ACCESS_KEY");
             return false;
         }
         
-        System.out.println("BrowserStack credentials verified");
+        Log.info("BrowserStack credentials verified");
         return true;
     }
 }
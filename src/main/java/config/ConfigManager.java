@@ -59,6 +59,13 @@ public class ConfigManager {
         return value != null ? Boolean.parseBoolean(value) : defaultValue;
     }
     
+    /**
+     * Resolve a TestNG parameter the way tests do: system property first, then the XML value, then the default
+     */
+    public static String resolveTestParameter(String name, String xmlValue, String defaultValue) {
+        return System.getProperty(name, xmlValue != null && !xmlValue.isEmpty() ? xmlValue : defaultValue);
+    }
+    
     private static String replaceEnvironmentVariables(String value) {
         if (value.contains("${") && value.contains("}")) {
             int startIndex = value.indexOf("${");
@@ -5,6 +5,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.ElementSnapshot;
 import utils.SeleniumUtils;
 
 import java.util.List;
@@ -38,6 +39,10 @@ public class CartPage extends BasePage {
     private final By checkoutButtonLocator = By.className("checkout-cta");
     private final By subtotalLocator = By.className("sub-price__val");
     private final By emptyCartLocator = By.className("shelf-empty");
+    private final By cartItemLocator = By.cssSelector("div[class='shelf-item']");
+    
+    private static final String PRODUCT_TITLE_SELECTOR = "p[class='title']";
+    private static final String PRODUCT_PRICE_SELECTOR = "p[class='price']";
     
     public CartPage(WebDriver driver) {
         super(driver);
@@ -129,20 +134,25 @@ public class CartPage extends BasePage {
      * Get product name by index
      */
     public String getProductNameByIndex(int index) {
-        if (!isCartEmpty() && index < cartItems.size()) {
-            By productNameLocator = By.xpath(String.format("(//div[@class='shelf-item'])[%d]//p[@class='title']", index + 1));
-            return SeleniumUtils.getTextSafely(driver, productNameLocator);
-        }
-        return null;
+        return getCartItemText(index, PRODUCT_TITLE_SELECTOR);
     }
     
     /**
      * Get product price by index
      */
     public String getProductPriceByIndex(int index) {
-        if (!isCartEmpty() && index < cartItems.size()) {
-            By productPriceLocator = By.xpath(String.format("(//div[@class='shelf-item'])[%d]//p[@class='price']", index + 1));
-            return SeleniumUtils.getTextSafely(driver, productPriceLocator);
+        return getCartItemText(index, PRODUCT_PRICE_SELECTOR);
+    }
+    
+    /**
+     * Read a text field of the cart item at the given index, capturing all items in one call
+     */
+    private String getCartItemText(int index, String cssSelector) {
+        if (!isCartEmpty()) {
+            List<ElementSnapshot> items = snapshotElements(cartItemLocator, ElementSnapshot.Property.descendantText(cssSelector));
+            if (index < items.size()) {
+                return items.get(index).getDescendantText(cssSelector);
+            }
         }
         return null;
     }
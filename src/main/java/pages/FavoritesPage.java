@@ -5,6 +5,8 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.LocatorRegistry;
+import utils.Log;
 import utils.SeleniumUtils;
 
 import java.util.List;
@@ -29,12 +31,12 @@ public class FavoritesPage extends BasePage {
     private WebElement noFavoritesMessage;
     
     // Locators using By selectors
-    private final By favoritesPageTitleLocator = By.xpath("//h1[contains(text(), 'Favourites') or contains(text(), 'Favorites') or contains(text(), 'Wishlist')] | //div[contains(@class, 'page-title') and (contains(text(), 'Favourites') or contains(text(), 'Favorites'))]");
-    private final By favoritesContainerLocator = By.xpath("//div[contains(@class, 'favorites-container') or contains(@class, 'wishlist-container') or contains(@class, 'favourite-container')]");
-    private final By favoriteItemsLocator = By.xpath("//div[contains(@class, 'favorite-item') or contains(@class, 'wishlist-item') or contains(@class, 'favourite-item')] | //div[contains(@class, 'product-card')] | //div[contains(@class, 'shelf-item')]");
-    private final By noFavoritesLocator = By.xpath("//div[contains(text(), 'No favorites') or contains(text(), 'No favourites') or contains(text(), 'No items') or contains(text(), 'Empty') or contains(text(), 'wishlist is empty')] | //div[contains(@class, 'empty-state')] | //div[contains(@class, 'no-content')]");
-    private final By addToFavoriteButtonLocator = By.xpath("//button[contains(@class, 'favorite') or contains(@class, 'wishlist') or contains(@title, 'favorite')] | //div[contains(@class, 'heart')] | //i[contains(@class, 'heart')]");
-    private final By removeFromFavoriteButtonLocator = By.xpath("//button[contains(@class, 'favorite') and contains(@class, 'active')] | //button[contains(text(), 'Remove')] | //i[contains(@class, 'heart') and contains(@class, 'filled')]");
+    private final By favoritesPageTitleLocator = LocatorRegistry.compile(By.xpath("//h1[contains(text(), 'Favourites') or contains(text(), 'Favorites') or contains(text(), 'Wishlist')] | //div[contains(@class, 'page-title') and (contains(text(), 'Favourites') or contains(text(), 'Favorites'))]"));
+    private final By favoritesContainerLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'favorites-container') or contains(@class, 'wishlist-container') or contains(@class, 'favourite-container')]"));
+    private final By favoriteItemsLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'favorite-item') or contains(@class, 'wishlist-item') or contains(@class, 'favourite-item')] | //div[contains(@class, 'product-card')] | //div[contains(@class, 'shelf-item')]"));
+    private final By noFavoritesLocator = LocatorRegistry.compile(By.xpath("//div[contains(text(), 'No favorites') or contains(text(), 'No favourites') or contains(text(), 'No items') or contains(text(), 'Empty') or contains(text(), 'wishlist is empty')] | //div[contains(@class, 'empty-state')] | //div[contains(@class, 'no-content')]"));
+    private final By addToFavoriteButtonLocator = LocatorRegistry.compile(By.xpath("//button[contains(@class, 'favorite') or contains(@class, 'wishlist') or contains(@title, 'favorite')] | //div[contains(@class, 'heart')] | //i[contains(@class, 'heart')]"));
+    private final By removeFromFavoriteButtonLocator = LocatorRegistry.compile(By.xpath("//button[contains(@class, 'favorite') and contains(@class, 'active')] | //button[contains(text(), 'Remove')] | //i[contains(@class, 'heart') and contains(@class, 'filled')]"));
     
     public FavoritesPage(WebDriver driver) {
         super(driver);
@@ -42,8 +44,7 @@ public class FavoritesPage extends BasePage {
     
     @Override
     public boolean isPageLoaded() {
-        return SeleniumUtils.isElementVisible(driver, favoritesPageTitleLocator) ||
-               SeleniumUtils.isElementVisible(driver, favoritesContainerLocator) ||
+        return waitForAnyElementDisplayed(5, favoritesPageTitleLocator, favoritesContainerLocator) != null ||
                driver.getCurrentUrl().toLowerCase().contains("favourites") ||
                driver.getCurrentUrl().toLowerCase().contains("favorites") ||
                driver.getCurrentUrl().toLowerCase().contains("wishlist");
@@ -61,14 +62,14 @@ public class FavoritesPage extends BasePage {
      * Returns true if favorite items are present, false if no data
      */
     public boolean areFavoritesDisplayed() {
-        return SeleniumUtils.isElementVisible(driver, favoriteItemsLocator);
+        return memoized("favoritesDisplayed", () -> isOptionalElementDisplayed(favoriteItemsLocator));
     }
     
     /**
      * Check if "no favorites" message is displayed
      */
     public boolean isNoFavoritesMessageDisplayed() {
-        return SeleniumUtils.isElementVisible(driver, noFavoritesLocator);
+        return memoized("noFavoritesMessage", () -> isOptionalElementDisplayed(noFavoritesLocator));
     }
     
     /**
@@ -85,7 +86,7 @@ public class FavoritesPage extends BasePage {
      * Get favorites page title
      */
     public String getPageTitle() {
-        if (SeleniumUtils.isElementVisible(driver, favoritesPageTitleLocator)) {
+        if (isOptionalElementDisplayed(favoritesPageTitleLocator)) {
             return SeleniumUtils.getTextSafely(driver, favoritesPageTitleLocator);
         }
         return super.getPageTitle();
@@ -105,11 +106,11 @@ public class FavoritesPage extends BasePage {
      * Add first available product to favorites (for testing)
      */
     public void addFirstProductToFavorites() {
-        if (SeleniumUtils.isElementVisible(driver, addToFavoriteButtonLocator)) {
+        if (isOptionalElementDisplayed(addToFavoriteButtonLocator)) {
             SeleniumUtils.safeClick(driver, addToFavoriteButtonLocator);
-            System.out.println("✅ Added first product to favorites");
+            Log.info("✅ Added first product to favorites");
         } else {
-            System.out.println("⚠️ No 'Add to Favorites' button found");
+            Log.warn("⚠️ No 'Add to Favorites' button found");
         }
     }
     
@@ -117,11 +118,11 @@ public class FavoritesPage extends BasePage {
      * Remove first favorite item
      */
     public void removeFirstFavoriteItem() {
-        if (SeleniumUtils.isElementVisible(driver, removeFromFavoriteButtonLocator)) {
+        if (isOptionalElementDisplayed(removeFromFavoriteButtonLocator)) {
             SeleniumUtils.safeClick(driver, removeFromFavoriteButtonLocator);
-            System.out.println("✅ Removed first favorite item");
+            Log.info("✅ Removed first favorite item");
         } else {
-            System.out.println("⚠️ No 'Remove from Favorites' button found");
+            Log.warn("⚠️ No 'Remove from Favorites' button found");
         }
     }
     
@@ -135,25 +136,9 @@ public class FavoritesPage extends BasePage {
             SeleniumUtils.waitForElementVisible(driver, favoritesPageTitleLocator, timeoutSeconds);
             
             // Then wait for either favorites to appear or no-data message
-            long startTime = System.currentTimeMillis();
-            long timeout = timeoutSeconds * 1000L;
-            
-            while (System.currentTimeMillis() - startTime < timeout) {
-                if (areFavoritesDisplayed() || isNoFavoritesMessageDisplayed()) {
-                    return true;
-                }
-                
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-            
-            return false;
+            return isDisplayedWithin(timeoutSeconds * 1000L, favoriteItemsLocator, noFavoritesLocator);
         } catch (Exception e) {
-            System.out.println("⚠️ Error waiting for favorites to load: " + e.getMessage());
+            Log.warn("⚠️ Error waiting for favorites to load: " + e.getMessage());
             return false;
         }
     }
@@ -194,32 +179,32 @@ public class FavoritesPage extends BasePage {
      * This is a comprehensive test for fav_user capabilities
      */
     public boolean validateFavUserFunctionality() {
-        System.out.println("🔍 Validating fav_user specific functionality...");
+        Log.info("🔍 Validating fav_user specific functionality...");
         
         // Wait for page to load
         if (!waitForFavoritesToLoad(10)) {
-            System.out.println("❌ Favorites page failed to load within timeout");
+            Log.warn("❌ Favorites page failed to load within timeout");
             return false;
         }
         
         // Check if user has access to favorites functionality
         if (!isFavoritesFunctionalityAccessible()) {
-            System.out.println("❌ Favorites functionality not accessible");
+            Log.warn("❌ Favorites functionality not accessible");
             return false;
         }
         
         // Log current state
-        System.out.println(validateFavoritesPageState());
+        Log.info(validateFavoritesPageState());
         
         // Validate based on what's found
         if (areFavoritesDisplayed()) {
-            System.out.println("✅ fav_user has existing favorites - functionality confirmed");
+            Log.info("✅ fav_user has existing favorites - functionality confirmed");
             return true;
         } else if (isNoFavoritesMessageDisplayed()) {
-            System.out.println("✅ fav_user can access favorites page (currently empty) - functionality confirmed");
+            Log.info("✅ fav_user can access favorites page (currently empty) - functionality confirmed");
             return true;
         } else {
-            System.out.println("⚠️ Unexpected state - no favorites or empty message found");
+            Log.warn("⚠️ Unexpected state - no favorites or empty message found");
             return false;
         }
     }
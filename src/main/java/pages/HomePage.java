@@ -2,11 +2,19 @@ package pages;
 
 import base.BasePage;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.CompositeWait;
+import utils.FallbackChain;
+import utils.Log;
+import utils.PageState;
 import utils.SeleniumUtils;
 
+import java.util.Optional;
+
 /**
  * Page Object for testathon.live Home Page (StackDemo)
  */
@@ -36,6 +44,16 @@ public class HomePage extends BasePage {
     private final By googleFilterLocator = By.xpath("//input[@type='checkbox'][@value='Google']");
     private final By onePlusFilterLocator = By.xpath("//input[@type='checkbox'][@value='OnePlus']");
     
+    // Alternative product count locators, ordered by which one matched before on the platform
+    private final FallbackChain productCountChain = FallbackChain.of("productCount",
+        By.className("products-found"),
+        By.xpath("//small[contains(text(), 'Product(s) found')]"),
+        By.xpath("//div[contains(@class, 'shelf-container-header')]"),
+        By.xpath("//*[contains(text(), 'Product(s) found')]"));
+    
+    /** How long the product shelf gets to render before the catalog counts as unavailable */
+    private static final int CATALOG_TIMEOUT_SECONDS = 20;
+    
     public HomePage(WebDriver driver) {
         super(driver);
     }
@@ -44,8 +62,7 @@ public class HomePage extends BasePage {
     public boolean isPageLoaded() {
         // Wait for page to load and verify critical elements are displayed
         SeleniumUtils.waitForPageLoad(driver);
-        return verifyElementDisplayed(vendorFiltersLocator) || 
-               verifyElementDisplayed(productGridLocator);
+        return waitForAnyElementDisplayed(vendorFiltersLocator, productGridLocator) != null;
     }
     
     /**
@@ -67,30 +84,24 @@ public class HomePage extends BasePage {
      */
     public int getProductCount() {
         try {
-            // Try multiple locators for product count
-            By[] productCountLocators = {
-                By.className("products-found"),
-                By.xpath("//small[contains(text(), 'Product(s) found')]"),
-                By.xpath("//div[contains(@class, 'shelf-container-header')]"),
-                By.xpath("//*[contains(text(), 'Product(s) found')]")
-            };
-            
-            WebElement productCountElement = null;
-            for (By locator : productCountLocators) {
-                try {
-                    productCountElement = SeleniumUtils.waitForElementVisible(driver, locator, 5);
-                    if (productCountElement != null) {
-                        System.out.println("✅ Found product count using locator: " + locator);
-                        break;
-                    }
-                } catch (Exception e) {
-                    System.out.println("⚠️ Locator failed: " + locator + " - " + e.getMessage());
-                }
+            // The catalog holds the "N Product(s) found" count and is only extracted again when filters change
+            ProductCatalog catalog = getCatalog();
+            if (catalog == null) {
+                Log.warn("❌ Could not find product count element with any locator");
+                return 0;
+            }
+            if (catalog.getFoundCount() >= 0) {
+                Log.info(() -> "✅ Product count from catalog: " + catalog.getFoundCount());
+                return catalog.getFoundCount();
             }
             
-            if (productCountElement != null) {
-                String productText = productCountElement.getText();
-                System.out.println("Product count text: " + productText);
+            // Try multiple locators for product count, the one that worked before on this platform first
+            CompositeWait.Match productCountMatch = productCountChain.findVisible(driver, 20);
+
+            if (productCountMatch != null) {
+                Log.info(() -> "✅ Found product count using locator: " + productCountMatch.getLocator());
+                String productText = productCountMatch.getElement().getText();
+                Log.info(() -> "Product count text: " + productText);
                 
                 // Extract number from text like "25 Product(s) found."
                 String[] parts = productText.split(" ");
@@ -98,15 +109,15 @@ public class HomePage extends BasePage {
                     try {
                         return Integer.parseInt(parts[0]);
                     } catch (NumberFormatException e) {
-                        System.out.println("Could not parse product count from: " + productText);
+                        Log.warn("Could not parse product count from: " + productText);
                         return 0;
                     }
                 }
             } else {
-                System.out.println("❌ Could not find product count element with any locator");
+                Log.warn("❌ Could not find product count element with any locator");
             }
         } catch (Exception e) {
-            System.out.println("❌ Error getting product count: " + e.getMessage());
+            Log.error("❌ Error getting product count: " + e.getMessage());
         }
         return 0;
     }
@@ -116,7 +127,9 @@ public class HomePage extends BasePage {
      */
     public void clickProductByName(String productName) {
         By productLocator = By.xpath(String.format("//p[contains(text(), '%s')]", productName));
-        safeClickWithWait(productLocator);
+        ProductCatalog catalog = getCatalog();
+        ProductCatalog.Product product = catalog != null ? catalog.findByName(productName).orElse(null) : null;
+        clickProductElement(product != null ? catalog.getTitleHandle(product, driver) : null, productLocator);
     }
     
     /**
@@ -132,14 +145,16 @@ public class HomePage extends BasePage {
      */
     public void addProductToCartBySku(String sku) {
         By productLocator = By.cssSelector(String.format("[data-sku='%s'] .shelf-item__buy-btn", sku));
-        safeClickWithWait(productLocator);
+        ProductCatalog catalog = getCatalog();
+        ProductCatalog.Product product = catalog != null ? catalog.findBySku(sku).orElse(null) : null;
+        clickProductElement(product != null ? catalog.getBuyButtonHandle(product, driver) : null, productLocator);
     }
     
     /**
      * Get cart quantity
      */
     public int getCartQuantity() {
-        if (SeleniumUtils.isElementVisible(driver, By.className("bag__quantity"))) {
+        if (isOptionalElementDisplayed(By.className("bag__quantity"))) {
             String quantity = SeleniumUtils.getTextSafely(driver, By.className("bag__quantity"));
             return Integer.parseInt(quantity);
         }
@@ -165,9 +180,36 @@ public class HomePage extends BasePage {
      * Get product price by name
      */
     public String getProductPrice(String productName) {
-        By priceLocator = By.xpath(String.format("//p[@class='shelf-item__title' and contains(text(), '%s')]/following-sibling::div[@class='val']//b", productName));
-        waitForElementDisplayed(priceLocator);
-        return SeleniumUtils.getTextSafely(driver, priceLocator);
+        ProductCatalog catalog = getCatalog();
+        Optional<ProductCatalog.Product> product = catalog != null ? catalog.findByName(productName) : Optional.empty();
+        return product.map(ProductCatalog.Product::getPriceText)
+            .orElseThrow(() -> new RuntimeException("Product not found in catalog: " + productName));
+    }
+    
+    /**
+     * Get the products on the shelf for the current filters, extracted in one call
+     * or shared from an earlier test on the same platform
+     *
+     * @return the catalog, or null if the shelf did not render
+     */
+    public ProductCatalog getCatalog() {
+        return ProductCatalog.forPage(driver, CATALOG_TIMEOUT_SECONDS);
+    }
+    
+    /**
+     * Click a product element through its catalog handle, re-locating it when the handle is unusable
+     */
+    private void clickProductElement(WebElement handle, By locator) {
+        if (handle != null) {
+            try {
+                PageState.markAction();
+                handle.click();
+                return;
+            } catch (StaleElementReferenceException | ElementNotInteractableException e) {
+                Log.warn("⚠️ Catalog handle not usable, locating product element again: " + locator);
+            }
+        }
+        safeClickWithWait(locator);
     }
     
     /**
@@ -175,26 +217,21 @@ public class HomePage extends BasePage {
      */
     public void applyFilter(String filterType) {
         try {
-            // Use checkbox value-based locator for vendor filters
-            By filterLocator = By.xpath(String.format("//input[@type='checkbox'][@value='%s']", filterType));
+            // Checkbox value-based locator for vendor filters, with the span label as fallback
+            FallbackChain filterChain = FallbackChain.of("vendorFilter",
+                By.xpath(String.format("//input[@type='checkbox'][@value='%s']", filterType)),
+                By.xpath(String.format("//span[text()='%s']", filterType)));
             
-            if (verifyElementDisplayed(filterLocator)) {
-                safeClickWithWait(filterLocator);
-                System.out.println("✅ Applied filter: " + filterType);
+            CompositeWait.Match filterMatch = filterChain.findVisible(driver, 10);
+            if (filterMatch != null) {
+                ProductCatalog.beforeFilterChange(driver);
+                safeClickWithWait(filterMatch.getLocator());
+                Log.info(() -> "✅ Applied filter" + (filterMatch.getIndex() > 0 ? " using span: " : ": ") + filterType);
             } else {
-                System.out.println("⚠️ Filter not found or not available: " + filterType);
-                
-                // Fallback to span-based approach
-                By spanFilterLocator = By.xpath(String.format("//span[text()='%s']", filterType));
-                if (verifyElementDisplayed(spanFilterLocator)) {
-                    safeClickWithWait(spanFilterLocator);
-                    System.out.println("✅ Applied filter using span: " + filterType);
-                } else {
-                    System.out.println("❌ Filter not available: " + filterType);
-                }
+                Log.warn("❌ Filter not available: " + filterType);
             }
         } catch (Exception e) {
-            System.out.println("❌ Error applying filter " + filterType + ": " + e.getMessage());
+            Log.error("❌ Error applying filter " + filterType + ": " + e.getMessage());
         }
     }
     
@@ -204,7 +241,7 @@ public class HomePage extends BasePage {
     public void searchProducts(String searchTerm) {
         // Implementation depends on if search functionality is available
         // For now, this is a placeholder method
-        System.out.println("Searching for: " + searchTerm);
+        Log.info(() -> "Searching for: " + searchTerm);
     }
     
     /**
@@ -222,7 +259,7 @@ public class HomePage extends BasePage {
         if (SeleniumUtils.isElementVisible(driver, offersLinkLocator)) {
             SeleniumUtils.safeClick(driver, offersLinkLocator);
         } else {
-            System.out.println("Offers link not visible - user may not be logged in");
+            Log.info("Offers link not visible - user may not be logged in");
         }
     }
     
@@ -234,7 +271,7 @@ public class HomePage extends BasePage {
         if (SeleniumUtils.isElementVisible(driver, ordersLinkLocator)) {
             SeleniumUtils.safeClick(driver, ordersLinkLocator);
         } else {
-            System.out.println("Orders link not visible - user may not be logged in");
+            Log.info("Orders link not visible - user may not be logged in");
         }
     }
     
@@ -246,7 +283,7 @@ public class HomePage extends BasePage {
         if (SeleniumUtils.isElementVisible(driver, favouritesLinkLocator)) {
             SeleniumUtils.safeClick(driver, favouritesLinkLocator);
         } else {
-            System.out.println("Favourites link not visible - user may not be logged in");
+            Log.info("Favourites link not visible - user may not be logged in");
         }
     }
     
@@ -5,6 +5,10 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.AuthSessionCache;
+import utils.ElementProbe;
+import utils.Log;
+import utils.RunHistoryListener;
 import utils.SeleniumUtils;
 
 /**
@@ -45,9 +49,7 @@ public class LoginPage extends BasePage {
     @Override
     public boolean isPageLoaded() {
         // Wait for all critical login elements to be displayed
-        return verifyElementDisplayed(usernameDropdownLocator) &&
-               verifyElementDisplayed(passwordDropdownLocator) &&
-               verifyElementDisplayed(loginButtonLocator);
+        return waitForAllElementsDisplayed(usernameDropdownLocator, passwordDropdownLocator, loginButtonLocator);
     }
     
     /**
@@ -108,6 +110,8 @@ public class LoginPage extends BasePage {
      * Perform complete login
      */
     public void login(String username, String password) {
+        RunHistoryListener.recordUser(username);
+        AuthSessionCache.recordLogin(username);
         enterUsername(username);
         enterPassword(password);
         clickLogin();
@@ -155,6 +159,7 @@ public class LoginPage extends BasePage {
         if (SeleniumUtils.isElementVisible(driver, logoutButtonLocator)) {
             SeleniumUtils.safeClick(driver, logoutButtonLocator);
         }
+        AuthSessionCache.recordLogout();
     }
     
     /**
@@ -163,7 +168,7 @@ public class LoginPage extends BasePage {
     public void clearLoginForm() {
         // For dropdown selects, we would need to reset to default state
         // This is typically handled by refreshing the page or navigating back to login
-        System.out.println("Note: Clear form not applicable for dropdown selects. Use page refresh if needed.");
+        Log.info("Note: Clear form not applicable for dropdown selects. Use page refresh if needed.");
     }
     
     /**
@@ -188,9 +193,18 @@ public class LoginPage extends BasePage {
         java.util.List<String> usernames = new java.util.ArrayList<>();
         String[] expectedUsers = {"demouser", "image_not_loading_user", "existing_orders_user", "fav_user", "locked_user"};
         
-        for (String user : expectedUsers) {
-            if (SeleniumUtils.isElementVisible(driver, By.xpath("//div[text()='" + user + "']"))) {
-                usernames.add(user);
+        By[] optionLocators = new By[expectedUsers.length];
+        for (int i = 0; i < expectedUsers.length; i++) {
+            optionLocators[i] = By.xpath("//div[text()='" + expectedUsers[i] + "']");
+        }
+        
+        // Wait for the options to render once, then check all of them in one probe
+        if (isDisplayedWithin(5000, optionLocators)) {
+            java.util.List<Boolean> visible = ElementProbe.visibility(driver, optionLocators);
+            for (int i = 0; i < expectedUsers.length; i++) {
+                if (visible.get(i)) {
+                    usernames.add(expectedUsers[i]);
+                }
             }
         }
         return usernames;
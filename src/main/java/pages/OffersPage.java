@@ -5,6 +5,10 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.CompositeWait;
+import utils.FallbackChain;
+import utils.LocatorRegistry;
+import utils.Log;
 import utils.SeleniumUtils;
 
 /**
@@ -44,18 +48,18 @@ public class OffersPage extends BasePage {
     private WebElement locationRequiredMessage;
     
     // Locators using By selectors
-    private final By offersPageTitleLocator = By.xpath("//h1[contains(text(), 'Offers') or contains(text(), 'Special Offers')] | //div[contains(@class, 'page-title') and contains(text(), 'Offers')]");
-    private final By offersContainerLocator = By.xpath("//div[contains(@class, 'offers-container') or contains(@class, 'offers-list') or contains(@class, 'deals-container')]");
-    private final By offerCardsLocator = By.xpath("//div[contains(@class, 'offer-card') or contains(@class, 'deal-card') or contains(@class, 'promo-card')]");
+    private final By offersPageTitleLocator = LocatorRegistry.compile(By.xpath("//h1[contains(text(), 'Offers') or contains(text(), 'Special Offers')] | //div[contains(@class, 'page-title') and contains(text(), 'Offers')]"));
+    private final By offersContainerLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'offers-container') or contains(@class, 'offers-list') or contains(@class, 'deals-container')]"));
+    private final By offerCardsLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'offer-card') or contains(@class, 'deal-card') or contains(@class, 'promo-card')]"));
     
     // Location popup locators - comprehensive patterns for cross-device compatibility
-    private final By locationPopupLocator = By.xpath("//div[contains(@class, 'location-popup') or contains(@class, 'permission-dialog') or contains(@class, 'geolocation-modal')] | //div[contains(text(), 'wants to') and contains(text(), 'location')] | //div[contains(text(), 'Enable Location') or contains(text(), 'Share Location')]");
-    private final By allowLocationLocator = By.xpath("//button[contains(text(), 'Allow') or contains(text(), 'Enable') or contains(text(), 'Yes') or contains(text(), 'OK')] | //button[@class='permission-allow'] | //button[contains(@class, 'allow')]");
-    private final By blockLocationLocator = By.xpath("//button[contains(text(), 'Block') or contains(text(), 'Deny') or contains(text(), 'No') or contains(text(), 'Cancel')] | //button[@class='permission-deny'] | //button[contains(@class, 'deny')]");
+    private final By locationPopupLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'location-popup') or contains(@class, 'permission-dialog') or contains(@class, 'geolocation-modal')] | //div[contains(text(), 'wants to') and contains(text(), 'location')] | //div[contains(text(), 'Enable Location') or contains(text(), 'Share Location')]"));
+    private final By allowLocationLocator = LocatorRegistry.compile(By.xpath("//button[contains(text(), 'Allow') or contains(text(), 'Enable') or contains(text(), 'Yes') or contains(text(), 'OK')] | //button[@class='permission-allow'] | //button[contains(@class, 'allow')]"));
+    private final By blockLocationLocator = LocatorRegistry.compile(By.xpath("//button[contains(text(), 'Block') or contains(text(), 'Deny') or contains(text(), 'No') or contains(text(), 'Cancel')] | //button[@class='permission-deny'] | //button[contains(@class, 'deny')]"));
     
     // No data/offers locators
-    private final By noOffersLocator = By.xpath("//div[contains(text(), 'No offers') or contains(text(), 'No data') or contains(text(), 'Unable to load') or contains(text(), 'No deals available')] | //div[contains(@class, 'empty-state')] | //div[contains(@class, 'no-content')]");
-    private final By locationRequiredLocator = By.xpath("//div[contains(text(), 'Location required') or contains(text(), 'Enable location') or contains(text(), 'Location access needed')]");
+    private final By noOffersLocator = LocatorRegistry.compile(By.xpath("//div[contains(text(), 'No offers') or contains(text(), 'No data') or contains(text(), 'Unable to load') or contains(text(), 'No deals available')] | //div[contains(@class, 'empty-state')] | //div[contains(@class, 'no-content')]"));
+    private final By locationRequiredLocator = LocatorRegistry.compile(By.xpath("//div[contains(text(), 'Location required') or contains(text(), 'Enable location') or contains(text(), 'Location access needed')]"));
     
     public OffersPage(WebDriver driver) {
         super(driver);
@@ -63,8 +67,7 @@ public class OffersPage extends BasePage {
     
     @Override
     public boolean isPageLoaded() {
-        return SeleniumUtils.isElementVisible(driver, offersPageTitleLocator) ||
-               SeleniumUtils.isElementVisible(driver, offersContainerLocator) ||
+        return waitForAnyElementDisplayed(5, offersPageTitleLocator, offersContainerLocator) != null ||
                driver.getCurrentUrl().toLowerCase().contains("offers");
     }
     
@@ -80,12 +83,12 @@ public class OffersPage extends BasePage {
      * This method checks for various popup patterns across different browsers
      */
     public boolean isLocationPopupDisplayed() {
-        // Check multiple possible popup indicators
-        return SeleniumUtils.isElementVisible(driver, locationPopupLocator) ||
-               SeleniumUtils.isElementVisible(driver, By.xpath("//div[contains(text(), 'wants to') and contains(text(), 'location')]")) ||
-               SeleniumUtils.isElementVisible(driver, By.xpath("//div[contains(@class, 'permission-dialog')]")) ||
+        // Check multiple possible popup indicators in one probe
+        return isOptionalElementDisplayed(locationPopupLocator,
+               By.xpath("//div[contains(text(), 'wants to') and contains(text(), 'location')]"),
+               By.xpath("//div[contains(@class, 'permission-dialog')]"),
                // Browser native popup detection (Chrome, Firefox, Safari patterns)
-               SeleniumUtils.isElementVisible(driver, By.xpath("//div[contains(@class, 'notification') and contains(text(), 'location')]"));
+               By.xpath("//div[contains(@class, 'notification') and contains(text(), 'location')]"));
     }
     
     /**
@@ -94,29 +97,25 @@ public class OffersPage extends BasePage {
      */
     public void allowLocationAccess() {
         if (isLocationPopupDisplayed()) {
-            System.out.println("📍 Location popup detected - clicking Allow/Enable");
+            Log.info("📍 Location popup detected - clicking Allow/Enable");
             
-            // Try multiple allow button patterns
-            if (SeleniumUtils.isElementVisible(driver, allowLocationLocator)) {
-                SeleniumUtils.safeClick(driver, allowLocationLocator);
-                System.out.println("✅ Clicked Allow location button");
-            } else {
-                // Fallback: try common allow button texts
-                String[] allowTexts = {"Allow", "Enable", "Yes", "OK", "Continue"};
-                for (String text : allowTexts) {
-                    By buttonLocator = By.xpath("//button[contains(text(), '" + text + "')]");
-                    if (SeleniumUtils.isElementVisible(driver, buttonLocator)) {
-                        SeleniumUtils.safeClick(driver, buttonLocator);
-                        System.out.println("✅ Clicked '" + text + "' location button");
-                        break;
-                    }
-                }
+            // Try multiple allow button patterns, the one that worked before on this platform first
+            String[] allowTexts = {"Allow", "Enable", "Yes", "OK", "Continue"};
+            By[] buttonLocators = new By[allowTexts.length + 1];
+            buttonLocators[0] = allowLocationLocator;
+            for (int i = 0; i < allowTexts.length; i++) {
+                buttonLocators[i + 1] = By.xpath("//button[contains(text(), '" + allowTexts[i] + "')]");
+            }
+            CompositeWait.Match button = FallbackChain.of("allowLocationButton", buttonLocators).findVisible(driver, 1);
+            if (button != null) {
+                SeleniumUtils.safeClick(driver, button.getLocator());
+                Log.info(() -> "✅ Clicked " + (button.getIndex() == 0 ? "Allow" : "'" + allowTexts[button.getIndex() - 1] + "'") + " location button");
             }
             
             // Wait for popup to disappear
             SeleniumUtils.waitForElementToDisappear(driver, locationPopupLocator, 10);
         } else {
-            System.out.println("ℹ️ No location popup detected");
+            Log.info("ℹ️ No location popup detected");
         }
     }
     
@@ -126,29 +125,25 @@ public class OffersPage extends BasePage {
      */
     public void denyLocationAccess() {
         if (isLocationPopupDisplayed()) {
-            System.out.println("📍 Location popup detected - clicking Deny/Block");
+            Log.info("📍 Location popup detected - clicking Deny/Block");
             
-            // Try multiple deny button patterns
-            if (SeleniumUtils.isElementVisible(driver, blockLocationLocator)) {
-                SeleniumUtils.safeClick(driver, blockLocationLocator);
-                System.out.println("✅ Clicked Deny location button");
-            } else {
-                // Fallback: try common deny button texts
-                String[] denyTexts = {"Block", "Deny", "No", "Cancel", "Not now"};
-                for (String text : denyTexts) {
-                    By buttonLocator = By.xpath("//button[contains(text(), '" + text + "')]");
-                    if (SeleniumUtils.isElementVisible(driver, buttonLocator)) {
-                        SeleniumUtils.safeClick(driver, buttonLocator);
-                        System.out.println("✅ Clicked '" + text + "' location button");
-                        break;
-                    }
-                }
+            // Try multiple deny button patterns, the one that worked before on this platform first
+            String[] denyTexts = {"Block", "Deny", "No", "Cancel", "Not now"};
+            By[] buttonLocators = new By[denyTexts.length + 1];
+            buttonLocators[0] = blockLocationLocator;
+            for (int i = 0; i < denyTexts.length; i++) {
+                buttonLocators[i + 1] = By.xpath("//button[contains(text(), '" + denyTexts[i] + "')]");
+            }
+            CompositeWait.Match button = FallbackChain.of("denyLocationButton", buttonLocators).findVisible(driver, 1);
+            if (button != null) {
+                SeleniumUtils.safeClick(driver, button.getLocator());
+                Log.info(() -> "✅ Clicked " + (button.getIndex() == 0 ? "Deny" : "'" + denyTexts[button.getIndex() - 1] + "'") + " location button");
             }
             
             // Wait for popup to disappear
             SeleniumUtils.waitForElementToDisappear(driver, locationPopupLocator, 10);
         } else {
-            System.out.println("ℹ️ No location popup detected");
+            Log.info("ℹ️ No location popup detected");
         }
     }
     
@@ -157,8 +152,7 @@ public class OffersPage extends BasePage {
      * Returns true if offers are present, false if no data
      */
     public boolean areOffersDisplayed() {
-        return SeleniumUtils.isElementVisible(driver, offerCardsLocator) ||
-               SeleniumUtils.isElementVisible(driver, offersContainerLocator);
+        return memoized("offersDisplayed", () -> isOptionalElementDisplayed(offerCardsLocator, offersContainerLocator));
     }
     
     /**
@@ -166,14 +160,14 @@ public class OffersPage extends BasePage {
      * Critical for validating location-dependent content
      */
     public boolean isNoOffersMessageDisplayed() {
-        return SeleniumUtils.isElementVisible(driver, noOffersLocator);
+        return memoized("noOffersMessage", () -> isOptionalElementDisplayed(noOffersLocator));
     }
     
     /**
      * Check if location required message is displayed
      */
     public boolean isLocationRequiredMessageDisplayed() {
-        return SeleniumUtils.isElementVisible(driver, locationRequiredLocator);
+        return memoized("locationRequiredMessage", () -> isOptionalElementDisplayed(locationRequiredLocator));
     }
     
     /**
@@ -200,7 +194,7 @@ public class OffersPage extends BasePage {
      * Get offers page title
      */
     public String getPageTitle() {
-        if (SeleniumUtils.isElementVisible(driver, offersPageTitleLocator)) {
+        if (isOptionalElementDisplayed(offersPageTitleLocator)) {
             return SeleniumUtils.getTextSafely(driver, offersPageTitleLocator);
         }
         return super.getPageTitle();
@@ -221,7 +215,7 @@ public class OffersPage extends BasePage {
      * Useful when location permission changes
      */
     public void refreshOffersPage() {
-        System.out.println("🔄 Refreshing offers page...");
+        Log.info("🔄 Refreshing offers page...");
         refreshPage();
         
         // Wait for page to reload
@@ -238,25 +232,10 @@ public class OffersPage extends BasePage {
             SeleniumUtils.waitForElementVisible(driver, offersPageTitleLocator, timeoutSeconds);
             
             // Then wait for either offers to appear or no-data message
-            long startTime = System.currentTimeMillis();
-            long timeout = timeoutSeconds * 1000L;
-            
-            while (System.currentTimeMillis() - startTime < timeout) {
-                if (areOffersDisplayed() || isNoOffersMessageDisplayed() || isLocationRequiredMessageDisplayed()) {
-                    return true;
-                }
-                
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-            }
-            
-            return false;
+            return isDisplayedWithin(timeoutSeconds * 1000L,
+                offerCardsLocator, offersContainerLocator, noOffersLocator, locationRequiredLocator);
         } catch (Exception e) {
-            System.out.println("⚠️ Error waiting for offers to load: " + e.getMessage());
+            Log.warn("⚠️ Error waiting for offers to load: " + e.getMessage());
             return false;
         }
     }
@@ -0,0 +1,177 @@
+package pages;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable order from the orders page with exact decimal amounts.
+ * Amounts that are not shown on the page are null.
+ */
+public final class Order {
+
+    private static final Pattern MONEY = Pattern.compile("-?\\$?\\s*(\\d[\\d,]*(?:\\.\\d+)?)");
+
+    private final int index;
+    private final List<Item> items;
+    private final BigDecimal subtotal;
+    private final BigDecimal tax;
+    private final BigDecimal shipping;
+    private final BigDecimal total;
+
+    /**
+     * Line item of an order
+     */
+    public static final class Item {
+
+        private final String label;
+        private final BigDecimal unitPrice;
+        private final int quantity;
+
+        public Item(String label, BigDecimal unitPrice, int quantity) {
+            this.label = label;
+            this.unitPrice = unitPrice;
+            this.quantity = quantity;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public BigDecimal getLineTotal() {
+            return unitPrice.multiply(BigDecimal.valueOf(quantity));
+        }
+
+        @Override
+        public String toString() {
+            return quantity + " x " + label + " @ $" + unitPrice;
+        }
+    }
+
+    public Order(int index, List<Item> items, BigDecimal subtotal, BigDecimal tax, BigDecimal shipping, BigDecimal total) {
+        this.index = index;
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+        this.subtotal = subtotal;
+        this.tax = tax;
+        this.shipping = shipping;
+        this.total = total;
+    }
+
+    /**
+     * Parse the last amount in a text such as "Subtotal: $1,299.00"
+     *
+     * @return the amount, or null if the text holds no amount
+     */
+    public static BigDecimal parseMoney(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = MONEY.matcher(text);
+        BigDecimal amount = null;
+        while (matcher.find()) {
+            BigDecimal value = new BigDecimal(matcher.group(1).replace(",", ""));
+            amount = matcher.group().startsWith("-") ? value.negate() : value;
+        }
+        return amount;
+    }
+
+    /**
+     * Check the order adds up: items = subtotal, subtotal + tax + shipping = total
+     *
+     * @return the problems found, empty if the order reconciles
+     */
+    public List<String> reconcile() {
+        List<String> issues = new ArrayList<>();
+        if (total == null) {
+            issues.add("Order total is missing");
+            return issues;
+        }
+        if (total.signum() == 0) {
+            issues.add("Order total is $0.00 - Calculation error detected");
+        } else if (total.signum() < 0) {
+            issues.add("Negative order total - Calculation error detected");
+        } else if (total.toPlainString().contains("999999") || total.toPlainString().contains("000000")) {
+            issues.add("Suspicious total value pattern - Possible calculation error");
+        }
+
+        BigDecimal itemsTotal = getItemsTotal();
+        if (subtotal != null && itemsTotal != null && !sameAmount(subtotal, itemsTotal)) {
+            issues.add("Items add up to $" + money(itemsTotal) + " but subtotal is $" + money(subtotal));
+        }
+
+        BigDecimal base = subtotal != null ? subtotal : itemsTotal;
+        if (base != null) {
+            BigDecimal expected = base.add(orZero(tax)).add(orZero(shipping));
+            if (!sameAmount(expected, total)) {
+                issues.add("Subtotal $" + money(base) + " + tax $" + money(orZero(tax)) + " + shipping $" + money(orZero(shipping))
+                    + " = $" + money(expected) + " but total is $" + money(total));
+            }
+        }
+        return issues;
+    }
+
+    /**
+     * Sum of all line items, null if the order shows no items
+     */
+    public BigDecimal getItemsTotal() {
+        if (items.isEmpty()) {
+            return null;
+        }
+        return items.stream().map(Item::getLineTotal).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /** Position of the order on the page, starting at 1 */
+    public int getIndex() {
+        return index;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public BigDecimal getTax() {
+        return tax;
+    }
+
+    public BigDecimal getShipping() {
+        return shipping;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "Order " + index + ": " + items.size() + " item(s), subtotal $" + money(subtotal) + ", tax $" + money(tax)
+            + ", shipping $" + money(shipping) + ", total $" + money(total);
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a.setScale(2, RoundingMode.HALF_UP).compareTo(b.setScale(2, RoundingMode.HALF_UP)) == 0;
+    }
+
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    private static String money(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).toPlainString() : "-";
+    }
+}
@@ -2,12 +2,20 @@ package pages;
 
 import base.BasePage;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
+import utils.JsLocator;
+import utils.LayoutAudit;
+import utils.LocatorRegistry;
+import utils.Log;
 import utils.SeleniumUtils;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object for Orders functionality
@@ -36,21 +44,54 @@ public class OrdersPage extends BasePage {
     private List<WebElement> orderDetails;
     
     // Locators using By selectors
-    private final By ordersPageTitleLocator = By.xpath("//h1[contains(text(), 'Orders') or contains(text(), 'Order History') or contains(text(), 'My Orders')] | //div[contains(@class, 'page-title') and (contains(text(), 'Orders') or contains(text(), 'Order History'))]");
-    private final By ordersContainerLocator = By.xpath("//div[contains(@class, 'orders-container') or contains(@class, 'order-list') or contains(@class, 'orders-history')]");
-    private final By orderItemsLocator = By.xpath("//div[contains(@class, 'order-item') or contains(@class, 'order-card') or contains(@class, 'order-row')] | //tr[contains(@class, 'order')] | //div[contains(@class, 'order-summary')]");
-    private final By noOrdersLocator = By.xpath("//div[contains(text(), 'No orders') or contains(text(), 'No order history') or contains(text(), 'Empty') or contains(text(), 'order history is empty')] | //div[contains(@class, 'empty-state')] | //div[contains(@class, 'no-content')]");
+    private final By ordersPageTitleLocator = LocatorRegistry.compile(By.xpath("//h1[contains(text(), 'Orders') or contains(text(), 'Order History') or contains(text(), 'My Orders')] | //div[contains(@class, 'page-title') and (contains(text(), 'Orders') or contains(text(), 'Order History'))]"));
+    private final By ordersContainerLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'orders-container') or contains(@class, 'order-list') or contains(@class, 'orders-history')]"));
+    private final By orderItemsLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'order-item') or contains(@class, 'order-card') or contains(@class, 'order-row')] | //tr[contains(@class, 'order')] | //div[contains(@class, 'order-summary')]"));
+    private final By noOrdersLocator = LocatorRegistry.compile(By.xpath("//div[contains(text(), 'No orders') or contains(text(), 'No order history') or contains(text(), 'Empty') or contains(text(), 'order history is empty')] | //div[contains(@class, 'empty-state')] | //div[contains(@class, 'no-content')]"));
     
     // Order validation locators - for checking totals and indentation issues
-    private final By orderTotalLocator = By.xpath("//div[contains(@class, 'order-total') or contains(@class, 'total-amount') or contains(@class, 'order-price')] | //span[contains(@class, 'total')] | //*[contains(text(), '$') and (contains(@class, 'total') or contains(@class, 'amount'))]");
-    private final By orderItemPriceLocator = By.xpath("//div[contains(@class, 'item-price') or contains(@class, 'product-price')] | //span[contains(@class, 'price')] | //*[contains(text(), '$') and contains(@class, 'price')]");
-    private final By orderSubtotalLocator = By.xpath("//div[contains(@class, 'subtotal') or contains(text(), 'Subtotal')] | //span[contains(text(), 'Subtotal')]");
-    private final By orderTaxLocator = By.xpath("//div[contains(@class, 'tax') or contains(text(), 'Tax')] | //span[contains(text(), 'Tax')]");
-    private final By orderShippingLocator = By.xpath("//div[contains(@class, 'shipping') or contains(text(), 'Shipping')] | //span[contains(text(), 'Shipping')]");
+    private final By orderTotalLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'order-total') or contains(@class, 'total-amount') or contains(@class, 'order-price')] | //span[contains(@class, 'total')] | //*[contains(text(), '$') and (contains(@class, 'total') or contains(@class, 'amount'))]"));
+    private final By orderItemPriceLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'item-price') or contains(@class, 'product-price')] | //span[contains(@class, 'price')] | //*[contains(text(), '$') and contains(@class, 'price')]"));
+    private final By orderSubtotalLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'subtotal') or contains(text(), 'Subtotal')] | //span[contains(text(), 'Subtotal')]"));
+    private final By orderTaxLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'tax') or contains(text(), 'Tax')] | //span[contains(text(), 'Tax')]"));
+    private final By orderShippingLocator = LocatorRegistry.compile(By.xpath("//div[contains(@class, 'shipping') or contains(text(), 'Shipping')] | //span[contains(text(), 'Shipping')]"));
     
-    // CSS alignment and indentation issue detectors
-    private final By misalignedElementsLocator = By.xpath("//*[contains(@style, 'margin-left') or contains(@style, 'text-indent') or contains(@style, 'padding-left')]");
-    private final By indentationIssuesLocator = By.xpath("//div[contains(@class, 'indent') or contains(@style, 'margin-left: -') or contains(@style, 'text-indent: -')]");
+    /**
+     * Resolves each locator once for the whole page and assigns the matches to the order card containing them.
+     * Amount locators take the innermost match per card, the last one if several; total candidates exclude
+     * elements matched as subtotal, tax or shipping (class "subtotal" also contains "total"), and item prices
+     * exclude elements matched as amounts.
+     */
+    private static final String EXTRACT_ORDERS_SCRIPT = JsLocator.FIND_FUNCTION +
+        "var d = arguments[0];" +
+        "var cards = __find(d[0][0], d[0][1]).filter(function (card, i, all) {" +
+        "  return !all.some(function (other) { return other !== card && other.contains(card); });" +
+        "});" +
+        "var prices = __find(d[1][0], d[1][1]), amounts = {};" +
+        "['subtotal', 'tax', 'shipping', 'total'].forEach(function (name, i) { amounts[name] = __find(d[i + 2][0], d[i + 2][1]); });" +
+        "var parts = [].concat(amounts.subtotal, amounts.tax, amounts.shipping);" +
+        "amounts.total = amounts.total.filter(function (el) {" +
+        "  return !parts.some(function (part) { return part === el || part.contains(el) || el.contains(part); });" +
+        "});" +
+        "var amountElements = parts.concat(amounts.total);" +
+        "function text(el) { return (el.innerText || el.textContent || '').trim(); }" +
+        "return cards.map(function (card) {" +
+        "  var order = { items: [] };" +
+        "  Object.keys(amounts).forEach(function (name) {" +
+        "    var inCard = amounts[name].filter(function (el) { return card.contains(el); });" +
+        "    var innermost = inCard.filter(function (el) { return !inCard.some(function (other) { return other !== el && el.contains(other); }); });" +
+        "    order[name] = innermost.length ? text(innermost[innermost.length - 1]) : null;" +
+        "  });" +
+        "  prices.forEach(function (price) {" +
+        "    if (!card.contains(price) || amountElements.some(function (a) { return a === price || price.contains(a); })) return;" +
+        "    if (prices.some(function (other) { return other !== price && price.contains(other); })) return;" +
+        "    var row = price;" +
+        "    while (row.parentElement && row.parentElement !== card) row = row.parentElement;" +
+        "    var rowText = text(row), quantity = /(?:qty|quantity)\\D*(\\d+)/i.exec(rowText);" +
+        "    order.items.push([rowText.split('\\n')[0], text(price), quantity ? parseInt(quantity[1], 10) : 1]);" +
+        "  });" +
+        "  return order;" +
+        "});";
     
     public OrdersPage(WebDriver driver) {
         super(driver);
@@ -75,14 +116,16 @@ public class OrdersPage extends BasePage {
      * Returns true if order items are present, false if no data
      */
     public boolean areOrdersDisplayed() {
-        return verifyElementDisplayed(orderItemsLocator);
+        // Wait for either outcome so an empty order history does not sit out the full timeout
+        return memoized("ordersDisplayed", () ->
+            isDisplayedWithin(10000, orderItemsLocator, noOrdersLocator) && isDisplayedNow(orderItemsLocator));
     }
     
     /**
      * Check if "no orders" message is displayed
      */
     public boolean isNoOrdersMessageDisplayed() {
-        return SeleniumUtils.isElementVisible(driver, noOrdersLocator);
+        return memoized("noOrdersMessage", () -> isOptionalElementDisplayed(noOrdersLocator));
     }
     
     /**
@@ -99,7 +142,7 @@ public class OrdersPage extends BasePage {
      * Get orders page title
      */
     public String getPageTitle() {
-        if (SeleniumUtils.isElementVisible(driver, ordersPageTitleLocator)) {
+        if (isOptionalElementDisplayed(ordersPageTitleLocator)) {
             return SeleniumUtils.getTextSafely(driver, ordersPageTitleLocator);
         }
         return super.getPageTitle();
@@ -117,129 +160,105 @@ public class OrdersPage extends BasePage {
     
     /**
      * Validate order totals calculation
-     * Checks if order totals are mathematically correct
+     * Reconciles every order: items add up to the subtotal, subtotal + tax + shipping equals the total
      */
     public boolean validateOrderTotalsCalculation() {
-        System.out.println("🧮 Validating order totals calculation...");
+        Log.info("🧮 Validating order totals calculation...");
         
         try {
-            List<WebElement> orderCards = driver.findElements(orderItemsLocator);
-            if (orderCards.isEmpty()) {
-                System.out.println("⚠️ No order cards found for total validation");
+            List<Order> orders = extractOrders();
+            if (orders.isEmpty()) {
+                Log.warn("⚠️ No order cards found for total validation");
                 return false;
             }
             
-            boolean totalValidationIssuesFound = false;
-            
-            for (int i = 0; i < Math.min(orderCards.size(), 3); i++) { // Check first 3 orders
-                WebElement orderCard = orderCards.get(i);
-                System.out.println("📋 Checking order " + (i + 1) + " total calculation...");
-                
-                // Look for total within this order card
-                try {
-                    List<WebElement> totalsInOrder = orderCard.findElements(orderTotalLocator);
-                    List<WebElement> itemPricesInOrder = orderCard.findElements(orderItemPriceLocator);
-                    
-                    if (!totalsInOrder.isEmpty() && !itemPricesInOrder.isEmpty()) {
-                        String totalText = totalsInOrder.get(0).getText();
-                        System.out.println("   💰 Order total: " + totalText);
-                        
-                        // Extract numeric value from total
-                        String numericTotal = totalText.replaceAll("[^0-9.]", "");
-                        if (!numericTotal.isEmpty()) {
-                            try {
-                                double total = Double.parseDouble(numericTotal);
-                                
-                                // Check for suspicious totals (common calculation errors)
-                                if (total == 0.0) {
-                                    System.out.println("   ❌ ISSUE: Order total is $0.00 - Calculation error detected");
-                                    totalValidationIssuesFound = true;
-                                } else if (total < 0) {
-                                    System.out.println("   ❌ ISSUE: Negative order total - Calculation error detected");
-                                    totalValidationIssuesFound = true;
-                                } else if (String.valueOf(total).contains("999999") || String.valueOf(total).contains("000000")) {
-                                    System.out.println("   ❌ ISSUE: Suspicious total value pattern - Possible calculation error");
-                                    totalValidationIssuesFound = true;
-                                } else {
-                                    System.out.println("   ✅ Order total appears valid: $" + total);
-                                }
-                            } catch (NumberFormatException e) {
-                                System.out.println("   ⚠️ Could not parse total as number: " + totalText);
-                            }
-                        }
+            int ordersWithIssues = 0;
+            for (Order order : orders) {
+                List<String> issues = order.reconcile();
+                if (issues.isEmpty()) {
+                    Log.info(() -> "   ✅ " + order);
+                } else {
+                    ordersWithIssues++;
+                    Log.warn("   ❌ " + order);
+                    for (String issue : issues) {
+                        Log.warn("      ❌ ISSUE: " + issue);
                     }
-                } catch (Exception e) {
-                    System.out.println("   ⚠️ Error checking order " + (i + 1) + ": " + e.getMessage());
                 }
             }
             
-            return !totalValidationIssuesFound;
+            Log.info("📋 Reconciled " + orders.size() + " orders, " + ordersWithIssues + " with calculation issues");
+            return ordersWithIssues == 0;
             
         } catch (Exception e) {
-            System.out.println("❌ Error during order total validation: " + e.getMessage());
+            Log.error("❌ Error during order total validation: " + e.getMessage());
             return false;
         }
     }
     
+    /**
+     * Extract all orders with their items and amounts in one call, however many orders the page shows
+     */
+    @SuppressWarnings("unchecked")
+    public List<Order> extractOrders() {
+        List<List<String>> descriptors = JsLocator.toDescriptors(orderItemsLocator, orderItemPriceLocator,
+            orderSubtotalLocator, orderTaxLocator, orderShippingLocator, orderTotalLocator);
+        if (descriptors == null) {
+            return new ArrayList<>();
+        }
+        
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+            .executeScript(EXTRACT_ORDERS_SCRIPT, descriptors);
+        
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Map<String, Object> row = rows.get(i);
+            List<Order.Item> items = new ArrayList<>();
+            for (List<Object> item : (List<List<Object>>) row.get("items")) {
+                BigDecimal unitPrice = Order.parseMoney((String) item.get(1));
+                if (unitPrice != null) {
+                    items.add(new Order.Item((String) item.get(0), unitPrice, ((Number) item.get(2)).intValue()));
+                }
+            }
+            orders.add(new Order(i + 1, items, Order.parseMoney((String) row.get("subtotal")),
+                Order.parseMoney((String) row.get("tax")), Order.parseMoney((String) row.get("shipping")),
+                Order.parseMoney((String) row.get("total"))));
+        }
+        return orders;
+    }
+    
     /**
      * Validate CSS indentation and alignment issues
-     * Checks for visual layout problems on the orders page
+     * Audits the rendered geometry of all order cards and their content in one pass
      */
     public boolean validateOrdersPageIndentation() {
-        System.out.println("📐 Validating orders page indentation and alignment...");
+        Log.info("📐 Validating orders page indentation and alignment...");
         
         try {
-            boolean indentationIssuesFound = false;
-            
-            // Check for elements with negative margins or indentation issues
-            List<WebElement> misalignedElements = driver.findElements(misalignedElementsLocator);
-            List<WebElement> indentationIssues = driver.findElements(indentationIssuesLocator);
-            
-            if (!misalignedElements.isEmpty()) {
-                System.out.println("⚠️ Found " + misalignedElements.size() + " potentially misaligned elements");
-                for (int i = 0; i < Math.min(misalignedElements.size(), 3); i++) {
-                    WebElement element = misalignedElements.get(i);
-                    String style = element.getAttribute("style");
-                    System.out.println("   📍 Misaligned element " + (i + 1) + " style: " + style);
-                }
+            LayoutAudit.Result audit = LayoutAudit.audit(driver, orderItemsLocator);
+            if (audit == null || audit.getContainerCount() == 0) {
+                Log.warn("⚠️ No order cards found for layout validation");
+                return true;
             }
             
-            if (!indentationIssues.isEmpty()) {
-                System.out.println("❌ ISSUE: Found " + indentationIssues.size() + " elements with indentation problems");
-                indentationIssuesFound = true;
-                
-                for (int i = 0; i < Math.min(indentationIssues.size(), 3); i++) {
-                    WebElement element = indentationIssues.get(i);
-                    String tagName = element.getTagName();
-                    String className = element.getAttribute("class");
-                    String style = element.getAttribute("style");
-                    System.out.println("   ❌ Indentation issue " + (i + 1) + ": " + tagName + 
-                                     " (class: " + className + ", style: " + style + ")");
-                }
+            if (audit.isClean()) {
+                Log.info(() -> "✅ No indentation or alignment issues in " + audit.getContainerCount() + " order cards");
+                return true;
             }
             
-            // Additional visual checks for orders layout
-            if (areOrdersDisplayed()) {
-                List<WebElement> orderCards = driver.findElements(orderItemsLocator);
-                for (int i = 0; i < Math.min(orderCards.size(), 2); i++) {
-                    WebElement orderCard = orderCards.get(i);
-                    
-                    // Check if order card content appears properly aligned
-                    String cardClasses = orderCard.getAttribute("class");
-                    if (cardClasses != null && (cardClasses.contains("indent-") || cardClasses.contains("offset-"))) {
-                        System.out.println("⚠️ Order card " + (i + 1) + " has potential indentation class: " + cardClasses);
-                    }
-                }
+            // Indentation problems inside a card fail the check; card placement, overlap and overflow are findings
+            int indentationIssues = audit.getCount(LayoutAudit.Kind.NEGATIVE_INDENT) + audit.getCount(LayoutAudit.Kind.MISALIGNED);
+            Log.warn((indentationIssues > 0 ? "❌ ISSUE: Indentation problems in order cards - " : "⚠️ Layout findings in order cards - ") + audit);
+            for (LayoutAudit.Issue issue : audit.getIssues()) {
+                boolean indentation = issue.getKind() == LayoutAudit.Kind.NEGATIVE_INDENT || issue.getKind() == LayoutAudit.Kind.MISALIGNED;
+                Log.warn((indentation ? "   ❌ " : "   ⚠️ ") + issue);
             }
-            
-            if (!indentationIssuesFound && misalignedElements.isEmpty()) {
-                System.out.println("✅ No obvious indentation or alignment issues detected");
+            if (audit.getTotalCount() > audit.getIssues().size()) {
+                Log.warn("   ... and " + (audit.getTotalCount() - audit.getIssues().size()) + " more");
             }
-            
-            return !indentationIssuesFound;
+            return indentationIssues == 0;
             
         } catch (Exception e) {
-            System.out.println("❌ Error during indentation validation: " + e.getMessage());
+            Log.error("❌ Error during indentation validation: " + e.getMessage());
             return false;
         }
     }
@@ -272,7 +291,7 @@ public class OrdersPage extends BasePage {
             
             return false;
         } catch (Exception e) {
-            System.out.println("⚠️ Error waiting for orders to load: " + e.getMessage());
+            Log.warn("⚠️ Error waiting for orders to load: " + e.getMessage());
             return false;
         }
     }
@@ -313,59 +332,59 @@ public class OrdersPage extends BasePage {
      * This is a comprehensive test for existing_orders_user capabilities including validation of issues
      */
     public boolean validateExistingOrdersUserFunctionality() {
-        System.out.println("🔍 Validating existing_orders_user specific functionality...");
+        Log.info("🔍 Validating existing_orders_user specific functionality...");
         
         // Wait for page to load
         if (!waitForOrdersToLoad(10)) {
-            System.out.println("❌ Orders page failed to load within timeout");
+            Log.warn("❌ Orders page failed to load within timeout");
             return false;
         }
         
         // Check if user has access to orders functionality
         if (!isOrdersFunctionalityAccessible()) {
-            System.out.println("❌ Orders functionality not accessible");
+            Log.warn("❌ Orders functionality not accessible");
             return false;
         }
         
         // Log current state
-        System.out.println(validateOrdersPageState());
+        Log.info(validateOrdersPageState());
         
         boolean validationPassed = true;
         
         // Validate based on what's found
         if (areOrdersDisplayed()) {
-            System.out.println("✅ existing_orders_user has existing orders - functionality confirmed");
+            Log.info("✅ existing_orders_user has existing orders - functionality confirmed");
             
             // Perform specific validations for order issues
-            System.out.println("🔍 Running order-specific validations...");
+            Log.info("🔍 Running order-specific validations...");
             
             // 1. Validate order totals calculation
             boolean totalCalculationValid = validateOrderTotalsCalculation();
             if (!totalCalculationValid) {
-                System.out.println("❌ Order total calculation issues detected");
+                Log.warn("❌ Order total calculation issues detected");
                 validationPassed = false;
             }
             
             // 2. Validate page indentation and alignment
             boolean indentationValid = validateOrdersPageIndentation();
             if (!indentationValid) {
-                System.out.println("❌ Order page indentation/alignment issues detected");
+                Log.warn("❌ Order page indentation/alignment issues detected");
                 validationPassed = false;
             }
             
             if (validationPassed) {
-                System.out.println("✅ All order validations passed - No issues detected");
+                Log.info("✅ All order validations passed - No issues detected");
             } else {
-                System.out.println("⚠️ Order validation completed with issues found");
+                Log.warn("⚠️ Order validation completed with issues found");
             }
             
             return true; // Page functionality works, even if there are validation issues
             
         } else if (isNoOrdersMessageDisplayed()) {
-            System.out.println("✅ existing_orders_user can access orders page (currently empty) - functionality confirmed");
+            Log.info("✅ existing_orders_user can access orders page (currently empty) - functionality confirmed");
             return true;
         } else {
-            System.out.println("⚠️ Unexpected state - no orders or empty message found");
+            Log.warn("⚠️ Unexpected state - no orders or empty message found");
             return false;
         }
     }
@@ -0,0 +1,378 @@
+package pages;
+
+import config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.AuthSessionCache;
+import utils.Log;
+import utils.WaitContext;
+import utils.WebDriverFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable catalog of the products on the StackDemo shelf.
+ * All .shelf-item entries are extracted in one script call, so lookups by name, sku and vendor are in-memory.
+ * Catalogs are shared read-only per platform, logged-in user and filter state (vendor checkboxes, sort order)
+ * for catalog.cache.ttl.seconds: a changed filter selects another catalog, so it is extracted again. The
+ * checkbox state changes as soon as a filter is clicked, while the shelf re-renders later, so after
+ * {@link #beforeFilterChange} the extraction waits up to catalog.filter.settle.seconds for the shelf to differ
+ * from the one before the click; a shelf that is still the same is taken as a filter that changed nothing.
+ * Element handles are not shared: they are kept per thread for the session that extracted the catalog;
+ * other sessions re-locate elements by sku.
+ */
+public final class ProductCatalog {
+
+    /** Title fragments of products whose vendor does not appear in the title, e.g. "iPhone:Apple" */
+    private static final Map<String, String> VENDOR_ALIASES = parseAliases(
+        ConfigManager.getProperty("catalog.vendor.aliases", "iPhone:Apple,Galaxy:Samsung,Pixel:Google,One Plus:OnePlus"));
+
+    private static final String STATE_SCRIPT =
+        "var checked = Array.prototype.map.call(document.querySelectorAll('input[type=checkbox]:checked'), function (c) { return c.value; });" +
+        "var sort = Array.prototype.map.call(document.querySelectorAll('select'), function (s) { return s.value; });" +
+        "return location.pathname + ' | ' + checked.sort().join(',') + ' | ' + sort.join(',');";
+
+    private static final long TTL_MILLIS = ConfigManager.getIntProperty("catalog.cache.ttl.seconds", 300) * 1000L;
+    private static final int FILTER_SETTLE_SECONDS = ConfigManager.getIntProperty("catalog.filter.settle.seconds", 2);
+
+    /** JavaScript function {@code __shelfFingerprint()}: the "N Product(s) found" label and the shelf's skus and titles */
+    private static final String FINGERPRINT_FUNCTION =
+        "function __shelfFingerprint() {" +
+        "  var found = document.querySelector('.products-found');" +
+        "  return (found ? (found.textContent || '').trim() : '') + ' | ' + Array.prototype.map.call(document.querySelectorAll('.shelf-item')," +
+        "    function (item) { var t = item.querySelector('.shelf-item__title'); return (item.getAttribute('data-sku') || item.id || '') + ':' + (t ? t.textContent : ''); }).join(',');" +
+        "}";
+
+    /**
+     * Returns null until the shelf is rendered, agrees with the "N Product(s) found" count and differs from
+     * the fingerprint in arguments[0], the shelf before a filter change
+     */
+    private static final String EXTRACT_SCRIPT = FINGERPRINT_FUNCTION +
+        "var items = document.querySelectorAll('.shelf-item');" +
+        "var found = document.querySelector('.products-found'), foundCount = -1;" +
+        "if (found) { var m = /(\\d+)/.exec(found.textContent || ''); if (m) foundCount = parseInt(m[1], 10); }" +
+        "if (items.length === 0 && foundCount !== 0) return null;" +
+        "if (foundCount >= 0 && foundCount !== items.length) return null;" +
+        "if (arguments[0] && arguments[0] === __shelfFingerprint()) return null;" +
+        "var vendors = Array.prototype.map.call(document.querySelectorAll('input[type=checkbox]'), function (c) { return c.value; });" +
+        "function text(root, css) { var el = root.querySelector(css); return el ? (el.textContent || '').trim() : ''; }" +
+        "var products = Array.prototype.map.call(items, function (item) {" +
+        "  var title = text(item, '.shelf-item__title'), image = item.querySelector('img');" +
+        "  var vendor = item.getAttribute('data-vendor') || item.getAttribute('data-brand') || '';" +
+        "  if (!vendor) {" +
+        "    var compact = title.replace(/\\s+/g, '').toLowerCase();" +
+        "    vendors.forEach(function (v) { if (!vendor && compact.indexOf(v.replace(/\\s+/g, '').toLowerCase()) >= 0) vendor = v; });" +
+        "  }" +
+        "  return [title, item.getAttribute('data-sku') || item.id || '', text(item, '.shelf-item__price .val b'), text(item, '.shelf-item__price .val')," +
+        "          vendor, image ? image.getAttribute('src') || '' : '', item.querySelector('.shelf-item__title'), item.querySelector('.shelf-item__buy-btn')];" +
+        "});" +
+        "return [foundCount, products];";
+
+    private static final Map<String, ProductCatalog> shared = new ConcurrentHashMap<>();
+    /** Shelf fingerprint before the last filter change of the thread, until a catalog was extracted after it */
+    private static final ThreadLocal<String> staleShelf = new ThreadLocal<>();
+    /** Element handles of the catalog the thread extracted last */
+    private static final ThreadLocal<Handles> handles = new ThreadLocal<>();
+    private static final AtomicInteger extractionCount = new AtomicInteger();
+    private static final AtomicInteger reuseCount = new AtomicInteger();
+    private static final AtomicInteger unchangedShelfCount = new AtomicInteger();
+
+    private final String state;
+    private final int foundCount;
+    private final List<Product> products;
+    private final long extractedAt = System.currentTimeMillis();
+
+    /**
+     * Title and buy button elements of one extraction, valid only in the session that extracted them
+     */
+    private static final class Handles {
+
+        private final ProductCatalog catalog;
+        private final String sessionId;
+        private final List<WebElement> titles;
+        private final List<WebElement> buyButtons;
+
+        Handles(ProductCatalog catalog, String sessionId, List<WebElement> titles, List<WebElement> buyButtons) {
+            this.catalog = catalog;
+            this.sessionId = sessionId;
+            this.titles = titles;
+            this.buyButtons = buyButtons;
+        }
+    }
+
+    /**
+     * One product on the shelf
+     */
+    public static final class Product {
+
+        private final int index;
+        private final String title;
+        private final String sku;
+        private final String priceText;
+        private final BigDecimal price;
+        private final String vendor;
+        private final String imageSrc;
+
+        Product(int index, String title, String sku, String priceText, BigDecimal price, String vendor, String imageSrc) {
+            this.index = index;
+            this.title = title;
+            this.sku = sku;
+            this.priceText = priceText;
+            this.price = price;
+            this.vendor = vendor;
+            this.imageSrc = imageSrc;
+        }
+
+        /** Position on the shelf */
+        public int getIndex() {
+            return index;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        /** Whole price as displayed in bold, e.g. "799" */
+        public String getPriceText() {
+            return priceText;
+        }
+
+        /** Full price including cents, null if it could not be parsed */
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        /** Vendor from the item or its title, empty if unknown */
+        public String getVendor() {
+            return vendor;
+        }
+
+        public String getImageSrc() {
+            return imageSrc;
+        }
+
+        @Override
+        public String toString() {
+            return title + " (sku " + sku + ", " + vendor + ", $" + price + ")";
+        }
+    }
+
+    private ProductCatalog(String state, int foundCount, List<Product> products) {
+        this.state = state;
+        this.foundCount = foundCount;
+        this.products = Collections.unmodifiableList(products);
+    }
+
+    /**
+     * Remember the shelf before clicking a filter, so the next catalog is not read from the old shelf
+     */
+    public static void beforeFilterChange(WebDriver driver) {
+        try {
+            staleShelf.set((String) ((JavascriptExecutor) driver).executeScript(FINGERPRINT_FUNCTION + "return __shelfFingerprint();"));
+        } catch (WebDriverException e) {
+            staleShelf.remove();
+        }
+    }
+
+    /**
+     * Get the catalog for the current filter state, shared with other tests of the same user on the same platform
+     *
+     * @return the catalog, or null if the shelf did not render within the timeout
+     */
+    public static ProductCatalog forPage(WebDriver driver, int timeoutSeconds) {
+        String state;
+        try {
+            state = (String) ((JavascriptExecutor) driver).executeScript(STATE_SCRIPT);
+        } catch (WebDriverException e) {
+            return extract(driver, timeoutSeconds, null, null);
+        }
+        // Products differ per user, e.g. image_not_loading_user gets broken image sources
+        String user = AuthSessionCache.getCurrentUser();
+        String key = WebDriverFactory.getCurrentPlatform() + " | " + (user != null ? user : "anonymous") + " | " + state;
+        ProductCatalog catalog = shared.get(key);
+        if (catalog != null && System.currentTimeMillis() - catalog.extractedAt < TTL_MILLIS) {
+            reuseCount.incrementAndGet();
+            return catalog;
+        }
+
+        String stale = staleShelf.get();
+        staleShelf.remove();
+        catalog = extract(driver, stale != null ? Math.min(FILTER_SETTLE_SECONDS, timeoutSeconds) : timeoutSeconds, state, stale);
+        if (catalog == null && stale != null) {
+            // The filter did not change the shelf, e.g. all products match: read it as it is, but do not share it
+            unchangedShelfCount.incrementAndGet();
+            return extract(driver, timeoutSeconds, state, null);
+        }
+        if (catalog != null) {
+            shared.put(key, catalog);
+        }
+        return catalog;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProductCatalog extract(WebDriver driver, int timeoutSeconds, String state, String staleFingerprint) {
+        List<Object> result;
+        try {
+            result = WaitContext.run(staleFingerprint != null ? "catalog change" : "catalog", ".shelf-item", timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(webDriver ->
+                    (List<Object>) ((JavascriptExecutor) webDriver).executeScript(EXTRACT_SCRIPT, staleFingerprint))));
+        } catch (TimeoutException e) {
+            if (staleFingerprint != null) {
+                Log.info(() -> "Product shelf unchanged " + timeoutSeconds + " seconds after the filter change");
+            } else {
+                Log.warn("❌ Product shelf did not render within " + timeoutSeconds + " seconds");
+            }
+            return null;
+        }
+        extractionCount.incrementAndGet();
+
+        int foundCount = ((Number) result.get(0)).intValue();
+        List<Product> products = new ArrayList<>();
+        List<WebElement> titleHandles = new ArrayList<>();
+        List<WebElement> buyButtonHandles = new ArrayList<>();
+        List<List<Object>> rows = (List<List<Object>>) result.get(1);
+        for (int i = 0; i < rows.size(); i++) {
+            List<Object> row = rows.get(i);
+            String title = (String) row.get(0);
+            products.add(new Product(i, title, (String) row.get(1), (String) row.get(2), parsePrice((String) row.get(3)),
+                vendorOf(title, (String) row.get(4)), (String) row.get(5)));
+            titleHandles.add((WebElement) row.get(6));
+            buyButtonHandles.add((WebElement) row.get(7));
+        }
+        Log.info(() -> "🛒 Extracted product catalog: " + products.size() + " products" + (state != null ? " for " + state : ""));
+        ProductCatalog catalog = new ProductCatalog(state, foundCount, products);
+        handles.set(new Handles(catalog, sessionId(driver), titleHandles, buyButtonHandles));
+        return catalog;
+    }
+
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * Count from the "N Product(s) found" label, -1 if the page has no label
+     */
+    public int getFoundCount() {
+        return foundCount;
+    }
+
+    /**
+     * Filter state the catalog was extracted for: path | checked vendors | sort order
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * Find the first product whose title contains the name
+     */
+    public Optional<Product> findByName(String name) {
+        return products.stream().filter(p -> p.getTitle().contains(name)).findFirst();
+    }
+
+    public Optional<Product> findBySku(String sku) {
+        return products.stream().filter(p -> p.getSku().equals(sku)).findFirst();
+    }
+
+    public List<Product> findByVendor(String vendor) {
+        return products.stream().filter(p -> p.getVendor().equalsIgnoreCase(vendor)).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the title element of a product, only available to the session that extracted the catalog
+     */
+    public WebElement getTitleHandle(Product product, WebDriver driver) {
+        Handles current = handlesFor(driver);
+        return current != null ? current.titles.get(product.getIndex()) : null;
+    }
+
+    /**
+     * Get the buy button of a product, only available to the session that extracted the catalog
+     */
+    public WebElement getBuyButtonHandle(Product product, WebDriver driver) {
+        Handles current = handlesFor(driver);
+        return current != null ? current.buyButtons.get(product.getIndex()) : null;
+    }
+
+    private Handles handlesFor(WebDriver driver) {
+        Handles current = handles.get();
+        if (current == null) {
+            return null;
+        }
+        String sessionId = sessionId(driver);
+        if (sessionId == null || !sessionId.equals(current.sessionId)) {
+            // Another session on this thread, the handles belong to a session that may be gone
+            handles.remove();
+            return null;
+        }
+        return current.catalog == this ? current : null;
+    }
+
+    private static String sessionId(WebDriver driver) {
+        return driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() != null
+            ? ((RemoteWebDriver) driver).getSessionId().toString() : null;
+    }
+
+    /**
+     * Get catalog statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Product catalog: extractions=%d, shared reuses=%d, filter changes without shelf change=%d",
+            extractionCount.get(), reuseCount.get(), unchangedShelfCount.get());
+    }
+
+    private static BigDecimal parsePrice(String text) {
+        String digits = text.replaceAll("[^0-9.]", "");
+        try {
+            return digits.isEmpty() ? null : new BigDecimal(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String vendorOf(String title, String extracted) {
+        if (!extracted.isEmpty()) {
+            return extracted;
+        }
+        String lowerTitle = title.toLowerCase(Locale.ROOT);
+        return VENDOR_ALIASES.entrySet().stream()
+            .filter(alias -> lowerTitle.contains(alias.getKey()))
+            .map(Map.Entry::getValue)
+            .findFirst()
+            .orElse("");
+    }
+
+    private static Map<String, String> parseAliases(String value) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length == 2) {
+                aliases.put(parts[0].trim().toLowerCase(Locale.ROOT), parts[1].trim());
+            }
+        }
+        return aliases;
+    }
+}
@@ -0,0 +1,194 @@
+package utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-locator timeouts learned from previous runs.
+ * Records how long each wait took per (page, locator, platform) and derives the timeout of later waits
+ * as a multiple of the p99 time-to-condition, clamped between a floor and the requested timeout. A wait that
+ * timed out gets the requested timeout again until min.samples waits have succeeded since, so a locator that
+ * became slower is not held to the timeout learned on a faster run. History is kept in a local JSON file and saved at the end of the suite.
+ */
+public class AdaptiveTimeouts {
+
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("wait.adaptive.enabled", true);
+    private static final String HISTORY_FILE = ConfigManager.getProperty("wait.adaptive.history.file",
+        "test-output/locator-history/wait-timings.json");
+    private static final int MIN_SAMPLES = ConfigManager.getIntProperty("wait.adaptive.min.samples", 20);
+    private static final int MAX_SAMPLES = ConfigManager.getIntProperty("wait.adaptive.max.samples", 200);
+    private static final int MULTIPLIER = ConfigManager.getIntProperty("wait.adaptive.multiplier", 3);
+    private static final long FLOOR_MILLIS = ConfigManager.getIntProperty("wait.adaptive.floor.seconds", 5) * 1000L;
+    private static final long CEILING_MILLIS = ConfigManager.getIntProperty("wait.adaptive.ceiling.seconds", 60) * 1000L;
+
+    private static final long DEFAULT_POLLING_MILLIS = 500;
+    private static final long MIN_POLLING_MILLIS = 50;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final Map<String, History> histories = new ConcurrentHashMap<>(load());
+
+    private static final AtomicInteger tightenedCount = new AtomicInteger();
+    private static final AtomicInteger timeoutCount = new AtomicInteger();
+
+    /**
+     * Timings of one wait key. Public fields for JSON (de)serialization.
+     */
+    public static class History {
+        /** Most recent successful wait durations in milliseconds, oldest first */
+        public List<Long> samples = new ArrayList<>();
+        public int timeouts;
+        /** Successful waits since the last timeout */
+        public int successesSinceTimeout;
+
+        synchronized void add(long elapsedMillis) {
+            successesSinceTimeout++;
+            samples.add(elapsedMillis);
+            if (samples.size() > MAX_SAMPLES) {
+                samples.remove(0);
+            }
+        }
+
+        synchronized void addTimeout() {
+            timeouts++;
+            successesSinceTimeout = 0;
+        }
+
+        /** True if the wait timed out within the last min.samples waits */
+        synchronized boolean timedOutRecently() {
+            return timeouts > 0 && successesSinceTimeout < MIN_SAMPLES;
+        }
+
+        synchronized List<Long> sortedSamples() {
+            List<Long> sorted = new ArrayList<>(samples);
+            Collections.sort(sorted);
+            return sorted;
+        }
+
+        synchronized History copy() {
+            History copy = new History();
+            copy.samples = new ArrayList<>(samples);
+            copy.timeouts = timeouts;
+            copy.successesSinceTimeout = successesSinceTimeout;
+            return copy;
+        }
+    }
+
+    /**
+     * Get the timeout for a wait; falls back to the requested timeout until enough history exists and after
+     * recent timeouts
+     */
+    public static Duration timeoutFor(WaitContext context, Duration requested) {
+        if (!ENABLED) {
+            return requested;
+        }
+        History history = histories.get(context.getKey());
+        if (history == null) {
+            return requested;
+        }
+        List<Long> sorted = history.sortedSamples();
+        if (sorted.size() < MIN_SAMPLES || history.timedOutRecently()) {
+            return requested;
+        }
+
+        long upper = Math.min(CEILING_MILLIS, requested.toMillis());
+        long derived = Math.max(FLOOR_MILLIS, percentile(sorted, 99) * MULTIPLIER);
+        if (derived >= upper) {
+            return requested;
+        }
+        tightenedCount.incrementAndGet();
+        return Duration.ofMillis(derived);
+    }
+
+    /**
+     * Get the polling interval for a wait: a quarter of the median time-to-condition, at most the default 500 ms
+     */
+    public static Duration pollingFor(WaitContext context) {
+        History history = ENABLED ? histories.get(context.getKey()) : null;
+        if (history == null) {
+            return Duration.ofMillis(DEFAULT_POLLING_MILLIS);
+        }
+        List<Long> sorted = history.sortedSamples();
+        if (sorted.size() < MIN_SAMPLES) {
+            return Duration.ofMillis(DEFAULT_POLLING_MILLIS);
+        }
+        long polling = percentile(sorted, 50) / 4;
+        return Duration.ofMillis(Math.max(MIN_POLLING_MILLIS, Math.min(DEFAULT_POLLING_MILLIS, polling)));
+    }
+
+    /**
+     * Record the outcome of a wait
+     */
+    public static void record(WaitContext context, long elapsedMillis, boolean success) {
+        if (!ENABLED) {
+            return;
+        }
+        History history = histories.computeIfAbsent(context.getKey(), key -> new History());
+        if (success) {
+            history.add(elapsedMillis);
+        } else {
+            history.addTimeout();
+            timeoutCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Write the history file, called at the end of the suite
+     */
+    public static void save() {
+        if (!ENABLED) {
+            return;
+        }
+        Map<String, History> snapshot = new TreeMap<>();
+        histories.forEach((key, history) -> snapshot.put(key, history.copy()));
+        try {
+            File file = new File(HISTORY_FILE);
+            file.getParentFile().mkdirs();
+            MAPPER.writeValue(file, snapshot);
+            Log.info(() -> "💾 Saved wait timings for " + snapshot.size() + " locators to " + file.getPath());
+        } catch (IOException e) {
+            Log.warn("⚠️ Could not save wait timings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get adaptive timeout statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Adaptive timeouts: tracked locators=%d, tightened waits=%d, timeouts=%d",
+            histories.size(), tightenedCount.get(), timeoutCount.get());
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    private static Map<String, History> load() {
+        File file = new File(HISTORY_FILE);
+        if (!ENABLED || !file.exists()) {
+            return Collections.emptyMap();
+        }
+        try {
+            Map<String, History> loaded = MAPPER.readValue(file, new TypeReference<Map<String, History>>() {});
+            Log.info(() -> "📂 Loaded wait timings for " + loaded.size() + " locators from " + file.getPath());
+            return loaded;
+        } catch (IOException e) {
+            Log.warn("⚠️ Could not load wait timings, starting fresh: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of authenticated browser state per platform and test user.
+ * The UI login runs once per platform and user; later sessions get the captured cookies and
+ * web storage injected so they start already logged in.
+ */
+public class AuthSessionCache {
+
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("auth.cache.enabled", true);
+    private static final long MAX_AGE_MILLIS = ConfigManager.getIntProperty("auth.cache.max.age.seconds", 1800) * 1000L;
+
+    private static final Map<String, AuthSnapshot> snapshots = new ConcurrentHashMap<>();
+    /** User the session of the current thread is logged in as */
+    private static final ThreadLocal<String> currentUser = new ThreadLocal<>();
+
+    private static final AtomicInteger restoreCount = new AtomicInteger();
+    private static final AtomicInteger missCount = new AtomicInteger();
+    private static final AtomicInteger expiredCount = new AtomicInteger();
+
+    private static final String READ_STORAGE_SCRIPT =
+        "function dump(storage) {" +
+        "  var result = {};" +
+        "  try { for (var i = 0; i < storage.length; i++) { var k = storage.key(i); result[k] = storage.getItem(k); } } catch (e) {}" +
+        "  return result;" +
+        "}" +
+        "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+        "var local = arguments[0], session = arguments[1];" +
+        "Object.keys(local).forEach(function(k) { window.localStorage.setItem(k, local[k]); });" +
+        "Object.keys(session).forEach(function(k) { window.sessionStorage.setItem(k, session[k]); });";
+
+    /**
+     * Capture the authenticated state of the current session for the given user
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String platformKey, String username) {
+        if (!ENABLED) {
+            return;
+        }
+        try {
+            Set<Cookie> cookies = new HashSet<>(driver.manage().getCookies());
+            Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+
+            AuthSnapshot snapshot = new AuthSnapshot(
+                cookies,
+                toStringMap((Map<String, Object>) storage.get("local")),
+                toStringMap((Map<String, Object>) storage.get("session")));
+            snapshots.put(cacheKey(platformKey, username), snapshot);
+
+            Log.info(() -> "🔑 Cached authenticated session for " + username + " (" + cookies.size() + " cookies, " +
+                snapshot.localStorage.size() + " localStorage, " + snapshot.sessionStorage.size() + " sessionStorage entries)");
+        } catch (Exception e) {
+            Log.warn("⚠️ Could not capture authenticated session for " + username + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inject the cached state for the given user into the current session and reload the application.
+     * The driver must be on the application origin.
+     *
+     * @return true if a valid snapshot was injected; callers should still verify the user is logged in
+     */
+    public static boolean restore(WebDriver driver, String platformKey, String username) {
+        if (!ENABLED) {
+            return false;
+        }
+
+        String key = cacheKey(platformKey, username);
+        AuthSnapshot snapshot = snapshots.get(key);
+        if (snapshot == null) {
+            missCount.incrementAndGet();
+            return false;
+        }
+        if (snapshot.isExpired()) {
+            expiredCount.incrementAndGet();
+            snapshots.remove(key, snapshot);
+            Log.info(() -> "⌛ Cached session for " + username + " has expired");
+            return false;
+        }
+
+        try {
+            for (Cookie cookie : snapshot.cookies) {
+                try {
+                    driver.manage().addCookie(cookie);
+                } catch (Exception e) {
+                    Log.warn("⚠️ Could not restore cookie " + cookie.getName() + ": " + e.getMessage());
+                }
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, snapshot.localStorage, snapshot.sessionStorage);
+
+            driver.navigate().refresh();
+            SeleniumUtils.waitForPageLoad(driver);
+
+            restoreCount.incrementAndGet();
+            currentUser.set(username);
+            Log.info(() -> "🔑 Restored cached session for " + username);
+            return true;
+        } catch (Exception e) {
+            Log.warn("⚠️ Could not restore cached session for " + username + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Drop the cached state for a user, e.g. when a restored session turned out to be logged out
+     */
+    public static void invalidate(String platformKey, String username) {
+        if (snapshots.remove(cacheKey(platformKey, username)) != null) {
+            expiredCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Remember the user the session of the current thread logged in as
+     */
+    public static void recordLogin(String username) {
+        currentUser.set(username);
+    }
+
+    /**
+     * Forget the user of the current thread, e.g. after a logout or when the session goes back to the pool
+     */
+    public static void recordLogout() {
+        currentUser.remove();
+    }
+
+    /**
+     * Get the user the session of the current thread is logged in as, null if none
+     */
+    public static String getCurrentUser() {
+        return currentUser.get();
+    }
+
+    /**
+     * Get cache statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Auth session cache: restored=%d, misses=%d, expired=%d, cached users=%d",
+            restoreCount.get(), missCount.get(), expiredCount.get(), snapshots.size());
+    }
+
+    private static String cacheKey(String platformKey, String username) {
+        return platformKey + "#" + username;
+    }
+
+    private static Map<String, String> toStringMap(Map<String, Object> values) {
+        Map<String, String> result = new HashMap<>();
+        if (values != null) {
+            values.forEach((k, v) -> result.put(k, v != null ? v.toString() : null));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Cookies and web storage of an authenticated session
+     */
+    private static final class AuthSnapshot {
+
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final long capturedAt = System.currentTimeMillis();
+
+        AuthSnapshot(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage) {
+            this.cookies = Collections.unmodifiableSet(cookies);
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+        }
+
+        boolean isExpired() {
+            if (System.currentTimeMillis() - capturedAt > MAX_AGE_MILLIS) {
+                return true;
+            }
+            Date now = new Date();
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
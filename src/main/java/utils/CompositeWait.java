@@ -0,0 +1,187 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Waits on a set of locators in a single polling loop.
+ * Each poll checks every locator in one executeScript call, so the timeout applies to the whole set
+ * instead of to each locator in turn. Locators that cannot be resolved in the page fall back to
+ * findElements with the implicit wait disabled.
+ */
+public class CompositeWait {
+
+    private static final Duration POLLING_INTERVAL = Duration.ofMillis(250);
+
+    private static final String CHECK_SCRIPT = JsLocator.FIND_FUNCTION +
+        "var descriptors = arguments[0], condition = arguments[1], all = arguments[2];" +
+        "function matches(el) {" +
+        "  if (condition === 'PRESENT') return true;" +
+        "  return __visible(el) && (condition !== 'CLICKABLE' || __enabled(el));" +
+        "}" +
+        "var found = [];" +
+        "for (var i = 0; i < descriptors.length; i++) {" +
+        "  var elements = __find(descriptors[i][0], descriptors[i][1]), hit = null;" +
+        "  for (var j = 0; j < elements.length; j++) { if (matches(elements[j])) { hit = elements[j]; break; } }" +
+        "  if (hit && !all) return [i, hit];" +
+        "  if (!hit && all) return null;" +
+        "  found.push(hit);" +
+        "}" +
+        "return all ? found : null;";
+
+    /**
+     * State an element must be in to satisfy the wait
+     */
+    public enum Condition {
+        PRESENT,
+        VISIBLE,
+        /** Visible and enabled */
+        CLICKABLE
+    }
+
+    /**
+     * Element found for one of the locators of a composite wait
+     */
+    public static final class Match {
+
+        private final By locator;
+        private final int index;
+        private final WebElement element;
+
+        Match(By locator, int index, WebElement element) {
+            this.locator = locator;
+            this.index = index;
+            this.element = element;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        /** Position of the matching locator in the argument list */
+        public int getIndex() {
+            return index;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + index + " " + locator;
+        }
+    }
+
+    /**
+     * Wait until any of the locators matches the condition
+     *
+     * @return the first matching locator in argument order, or null on timeout
+     */
+    public static Match waitForAny(WebDriver driver, Duration timeout, Condition condition, By... locators) {
+        List<Match> matches = poll(driver, timeout, condition, false, locators);
+        return matches != null ? matches.get(0) : null;
+    }
+
+    /**
+     * Wait until all of the locators match the condition
+     *
+     * @return one match per locator in argument order, or null on timeout
+     */
+    public static List<Match> waitForAll(WebDriver driver, Duration timeout, Condition condition, By... locators) {
+        return poll(driver, timeout, condition, true, locators);
+    }
+
+    private static List<Match> poll(WebDriver driver, Duration timeout, Condition condition, boolean all, By... locators) {
+        if (locators.length == 0) {
+            return all ? Collections.emptyList() : null;
+        }
+
+        List<List<String>> descriptors = JsLocator.toDescriptors(locators);
+        boolean[] inPage = {descriptors != null};
+
+        WebDriverWait wait = new WebDriverWait(driver, timeout, POLLING_INTERVAL);
+        wait.ignoring(StaleElementReferenceException.class);
+        try {
+            return wait.until(webDriver -> {
+                WaitContext.countPoll();
+                if (inPage[0]) {
+                    try {
+                        return checkInPage(webDriver, descriptors, condition, all, locators);
+                    } catch (JavascriptException e) {
+                        Log.warn("⚠️ Composite wait falling back to WebDriver lookups: " + e.getMessage());
+                        inPage[0] = false;
+                    }
+                }
+                return SeleniumUtils.withImplicitWaitDisabled(webDriver,
+                    () -> checkWithFindElements(webDriver, condition, all, locators));
+            });
+        } catch (TimeoutException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Match> checkInPage(WebDriver driver, List<List<String>> descriptors, Condition condition,
+                                           boolean all, By... locators) {
+        Object result = ((JavascriptExecutor) driver).executeScript(CHECK_SCRIPT, descriptors, condition.name(), all);
+        if (result == null) {
+            return null;
+        }
+
+        List<Object> values = (List<Object>) result;
+        List<Match> matches = new ArrayList<>();
+        if (all) {
+            for (int i = 0; i < values.size(); i++) {
+                matches.add(new Match(locators[i], i, (WebElement) values.get(i)));
+            }
+        } else {
+            int index = ((Number) values.get(0)).intValue();
+            matches.add(new Match(locators[index], index, (WebElement) values.get(1)));
+        }
+        return matches;
+    }
+
+    private static List<Match> checkWithFindElements(WebDriver driver, Condition condition, boolean all, By... locators) {
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < locators.length; i++) {
+            WebElement hit = null;
+            for (WebElement element : driver.findElements(locators[i])) {
+                if (matches(element, condition)) {
+                    hit = element;
+                    break;
+                }
+            }
+            if (hit != null && !all) {
+                return Collections.singletonList(new Match(locators[i], i, hit));
+            }
+            if (hit == null && all) {
+                return null;
+            }
+            matches.add(new Match(locators[i], i, hit));
+        }
+        return all ? matches : null;
+    }
+
+    private static boolean matches(WebElement element, Condition condition) {
+        switch (condition) {
+            case PRESENT:
+                return true;
+            case VISIBLE:
+                return element.isDisplayed();
+            default:
+                return element.isDisplayed() && element.isEnabled();
+        }
+    }
+}
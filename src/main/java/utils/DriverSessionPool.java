@@ -0,0 +1,561 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-platform pool of browser sessions.
+ * Sessions are leased to tests, reset on return (cookies, web storage, extra windows, back to app.url)
+ * and reused by the next test on the same platform instead of starting a new remote session.
+ * Sessions can also be pre-warmed in the background so the first test of each platform does not start cold.
+ */
+public class DriverSessionPool {
+
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("session.pool.enabled", true);
+    private static final long MAX_AGE_MILLIS = ConfigManager.getIntProperty("session.pool.max.age.seconds", 900) * 1000L;
+    private static final long MAX_IDLE_MILLIS = ConfigManager.getIntProperty("session.pool.max.idle.seconds", 75) * 1000L;
+    private static final int MAX_IDLE_PER_PLATFORM = ConfigManager.getIntProperty("session.pool.max.idle.per.platform", 2);
+    private static final int MAX_SESSIONS = ConfigManager.getIntProperty("session.pool.max.sessions", 5);
+    private static final long LEASE_TIMEOUT_MILLIS = ConfigManager.getIntProperty("session.pool.lease.timeout.seconds", 300) * 1000L;
+
+    private static final Map<String, Deque<PooledSession>> idleSessions = new HashMap<>();
+    private static final Set<PooledSession> openSessions = ConcurrentHashMap.newKeySet();
+    private static final Map<String, Deque<Future<PooledSession>>> pendingSessions = new HashMap<>();
+    private static final AtomicInteger pendingCount = new AtomicInteger();
+    /** Guards the session limit; notified whenever a session is closed or becomes idle */
+    private static final Object capacity = new Object();
+    /** Sessions being created by lease, guarded by capacity */
+    private static int creatingCount;
+    private static ExecutorService prewarmExecutor;
+
+    private static final AtomicInteger leaseCount = new AtomicInteger();
+    private static final AtomicInteger reuseCount = new AtomicInteger();
+    private static final AtomicInteger createdCount = new AtomicInteger();
+    private static final AtomicInteger evictionCount = new AtomicInteger();
+    private static final AtomicInteger resetFailureCount = new AtomicInteger();
+    private static final AtomicLong totalCreationMillis = new AtomicLong();
+    private static final AtomicInteger prewarmedCount = new AtomicInteger();
+    private static final AtomicInteger prewarmConsumedCount = new AtomicInteger();
+    private static final AtomicLong prewarmSavedMillis = new AtomicLong();
+
+    /**
+     * Build the key that identifies sessions which are interchangeable
+     */
+    public static String platformKey(String browser, String os, String osVersion, String device, String browserVersion) {
+        return String.join("|",
+            normalize(browser), normalize(browserVersion), normalize(os), normalize(osVersion), normalize(device));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase();
+    }
+
+    /**
+     * Lease a session for the given platform, reusing an idle one when possible
+     */
+    public static PooledSession lease(String browser, String os, String osVersion, String device, String browserVersion) {
+        String key = platformKey(browser, os, osVersion, device, browserVersion);
+        leaseCount.incrementAndGet();
+
+        PooledSession session;
+        while ((session = pollIdle(key)) != null) {
+            String expiry = expiryReason(session);
+            if (expiry != null) {
+                evict(session, expiry);
+                continue;
+            }
+            reuseCount.incrementAndGet();
+            session.markLeased();
+            Log.info("♻️ Reusing pooled session for " + key + " (use #" + session.getUseCount() + ")");
+            return session;
+        }
+
+        session = takePrewarmed(key);
+        if (session != null) {
+            return session;
+        }
+
+        reserveNewSession(key);
+        long start = System.currentTimeMillis();
+        try {
+            WebDriver driver = WebDriverFactory.newDriver(browser, os, osVersion, device, browserVersion);
+            long creationMillis = System.currentTimeMillis() - start;
+
+            createdCount.incrementAndGet();
+            totalCreationMillis.addAndGet(creationMillis);
+
+            session = new PooledSession(key, driver, creationMillis);
+            openSessions.add(session);
+        } finally {
+            synchronized (capacity) {
+                creatingCount--;
+                capacity.notifyAll();
+            }
+        }
+        long creationMillis = session.getCreationMillis();
+        session.markLeased();
+        Log.info(() -> "🆕 Created session for " + key + " in " + creationMillis + " ms");
+        return session;
+    }
+
+    /**
+     * Return a session to the pool. The session is reset before it becomes available again
+     * and is evicted instead if the reset fails or the session is too old.
+     */
+    public static void release(PooledSession session) {
+        if (session == null || session.isClosed()) {
+            return;
+        }
+
+        if (!ENABLED) {
+            evict(session, "session pool disabled");
+            return;
+        }
+
+        String expiry = expiryReason(session);
+        if (expiry != null) {
+            evict(session, expiry);
+            return;
+        }
+
+        if (!resetSession(session.getDriver())) {
+            resetFailureCount.incrementAndGet();
+            evict(session, "reset failed");
+            return;
+        }
+
+        boolean pooled;
+        synchronized (idleSessions) {
+            Deque<PooledSession> idle = idleSessions.computeIfAbsent(session.getPlatformKey(), k -> new ArrayDeque<>());
+            pooled = idle.size() < MAX_IDLE_PER_PLATFORM;
+            if (pooled) {
+                session.markIdle();
+                idle.push(session);
+            }
+        }
+
+        if (!pooled) {
+            evict(session, "idle limit reached for platform");
+            return;
+        }
+        // A lease waiting for the session limit may evict the idle session for its own platform
+        synchronized (capacity) {
+            capacity.notifyAll();
+        }
+    }
+
+    /**
+     * Start creating sessions for a platform in the background.
+     * Tests leasing that platform block only if their pre-warmed session is not ready yet.
+     *
+     * @return number of sessions actually scheduled (limited by the session limit)
+     */
+    public static int prewarm(String browser, String os, String osVersion, String device, String browserVersion, int count) {
+        if (!ENABLED || count <= 0) {
+            return 0;
+        }
+
+        String key = platformKey(browser, os, osVersion, device, browserVersion);
+        int scheduled = 0;
+
+        synchronized (pendingSessions) {
+            if (prewarmExecutor == null) {
+                prewarmExecutor = Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "session-prewarm");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+
+            Deque<Future<PooledSession>> pending = pendingSessions.computeIfAbsent(key, k -> new ArrayDeque<>());
+            for (int i = 0; i < count; i++) {
+                synchronized (capacity) {
+                    if (!hasRoom()) {
+                        break;
+                    }
+                    pendingCount.incrementAndGet();
+                }
+                pending.add(prewarmExecutor.submit(() -> {
+                    long start = System.currentTimeMillis();
+                    WebDriver driver = WebDriverFactory.newDriver(browser, os, osVersion, device, browserVersion);
+                    long creationMillis = System.currentTimeMillis() - start;
+
+                    createdCount.incrementAndGet();
+                    prewarmedCount.incrementAndGet();
+                    totalCreationMillis.addAndGet(creationMillis);
+
+                    PooledSession session = new PooledSession(key, driver, creationMillis);
+                    // Idle time counts from creation for sessions nobody has leased yet
+                    session.markIdle();
+                    // Counted as pending until leased, it joins the open sessions in takePrewarmed
+                    Log.info(() -> "🔥 Pre-warmed session for " + key + " in " + creationMillis + " ms");
+                    return session;
+                }));
+                scheduled++;
+            }
+        }
+
+        if (scheduled > 0) {
+            Log.info("🔥 Pre-warming " + scheduled + " session(s) for " + key);
+        }
+        return scheduled;
+    }
+
+    /**
+     * Take the oldest pre-warmed session of a platform, waiting for it if it is still starting
+     */
+    private static PooledSession takePrewarmed(String key) {
+        while (true) {
+            Future<PooledSession> future;
+            synchronized (pendingSessions) {
+                Deque<Future<PooledSession>> pending = pendingSessions.get(key);
+                future = pending != null ? pending.poll() : null;
+            }
+            if (future == null) {
+                return null;
+            }
+
+            long waitStart = System.currentTimeMillis();
+            try {
+                PooledSession session = future.get();
+                long waitedMillis = System.currentTimeMillis() - waitStart;
+                openSessions.add(session);
+
+                String expiry = expiryReason(session);
+                if (expiry != null) {
+                    evict(session, expiry);
+                    continue;
+                }
+
+                prewarmConsumedCount.incrementAndGet();
+                prewarmSavedMillis.addAndGet(Math.max(0, session.getCreationMillis() - waitedMillis));
+                session.markLeased();
+                Log.info(() -> "🔥 Using pre-warmed session for " + key + " (waited " + waitedMillis + " ms)");
+                return session;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                Log.warn("⚠️ Pre-warming a session failed: " + e.getCause().getMessage());
+            } finally {
+                synchronized (capacity) {
+                    pendingCount.decrementAndGet();
+                    capacity.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Quit every session owned by the pool and print pool statistics
+     */
+    public static void shutdown() {
+        List<Future<PooledSession>> unused = new ArrayList<>();
+        synchronized (pendingSessions) {
+            pendingSessions.values().forEach(unused::addAll);
+            pendingSessions.clear();
+            if (prewarmExecutor != null) {
+                prewarmExecutor.shutdown();
+                prewarmExecutor = null;
+            }
+        }
+        for (Future<PooledSession> future : unused) {
+            try {
+                quit(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Session never started, nothing to quit
+            } finally {
+                pendingCount.decrementAndGet();
+            }
+        }
+
+        synchronized (idleSessions) {
+            idleSessions.clear();
+        }
+        for (PooledSession session : new ArrayList<>(openSessions)) {
+            quit(session);
+        }
+        Log.info(() -> getStatistics());
+    }
+
+    /**
+     * Reset cookies, web storage and windows so the next test starts from a clean application state
+     *
+     * @return false if the session could not be reset
+     */
+    public static boolean resetSession(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            if (handles.isEmpty()) {
+                return false;
+            }
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+
+            String appUrl = ConfigManager.getAppUrl();
+            String currentUrl = driver.getCurrentUrl();
+            if (currentUrl == null || !currentUrl.startsWith(appUrl)) {
+                // Web storage can only be cleared from the application origin
+                driver.get(appUrl);
+            }
+
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); } catch (e) {}" +
+                "try { window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getImplicitWait()));
+
+            driver.get(appUrl);
+            return true;
+        } catch (Exception e) {
+            Log.warn("⚠️ Could not reset pooled session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static PooledSession pollIdle(String key) {
+        synchronized (idleSessions) {
+            Deque<PooledSession> idle = idleSessions.get(key);
+            return idle != null ? idle.poll() : null;
+        }
+    }
+
+    /**
+     * Reserve room for a new session under session.pool.max.sessions. Idle sessions of other platforms are
+     * evicted, least recently used first; when all sessions are leased, wait until one is released.
+     *
+     * @throws IllegalStateException if no session became available within session.pool.lease.timeout.seconds
+     */
+    private static void reserveNewSession(String key) {
+        long deadline = System.currentTimeMillis() + LEASE_TIMEOUT_MILLIS;
+        boolean waited = false;
+        while (true) {
+            synchronized (capacity) {
+                if (hasRoom()) {
+                    creatingCount++;
+                    if (waited) {
+                        Log.info(() -> "⏳ Session limit freed up for " + key);
+                    }
+                    return;
+                }
+                if (!hasIdleSession()) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        throw new IllegalStateException("No browser session available for " + key + ": all " + MAX_SESSIONS
+                            + " sessions (session.pool.max.sessions) stayed leased for " + LEASE_TIMEOUT_MILLIS / 1000 + " s");
+                    }
+                    if (!waited) {
+                        Log.info(() -> "⏳ Session limit of " + MAX_SESSIONS + " reached, waiting for a session to be released for " + key);
+                        waited = true;
+                    }
+                    try {
+                        capacity.wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while waiting for a browser session for " + key, e);
+                    }
+                    continue;
+                }
+            }
+            evictOldestIdle();
+        }
+    }
+
+    /** Called with the capacity lock held */
+    private static boolean hasRoom() {
+        return MAX_SESSIONS <= 0 || openSessions.size() + pendingCount.get() + creatingCount < MAX_SESSIONS;
+    }
+
+    private static boolean hasIdleSession() {
+        synchronized (idleSessions) {
+            return idleSessions.values().stream().anyMatch(idle -> !idle.isEmpty());
+        }
+    }
+
+    /**
+     * Evict the least recently used idle session of any platform
+     */
+    private static void evictOldestIdle() {
+        PooledSession oldest = null;
+        synchronized (idleSessions) {
+            Deque<PooledSession> oldestDeque = null;
+            for (Deque<PooledSession> idle : idleSessions.values()) {
+                for (PooledSession candidate : idle) {
+                    if (oldest == null || candidate.getLastReleasedAt() < oldest.getLastReleasedAt()) {
+                        oldest = candidate;
+                        oldestDeque = idle;
+                    }
+                }
+            }
+            if (oldest != null) {
+                oldestDeque.remove(oldest);
+            }
+        }
+
+        if (oldest != null) {
+            evict(oldest, "session limit of " + MAX_SESSIONS + " reached");
+        }
+    }
+
+    private static String expiryReason(PooledSession session) {
+        long now = System.currentTimeMillis();
+        if (now - session.getCreatedAt() > MAX_AGE_MILLIS) {
+            return "max age exceeded";
+        }
+        if (session.getLastReleasedAt() > 0 && now - session.getLastReleasedAt() > MAX_IDLE_MILLIS) {
+            return "idle too long";
+        }
+        return null;
+    }
+
+    private static void evict(PooledSession session, String reason) {
+        evictionCount.incrementAndGet();
+        Log.info(() -> "🗑️ Evicting session for " + session.getPlatformKey() + ": " + reason);
+        quit(session);
+    }
+
+    private static void quit(PooledSession session) {
+        session.markClosed();
+        try {
+            session.getDriver().quit();
+        } catch (Exception e) {
+            Log.warn("⚠️ Error while quitting session: " + e.getMessage());
+        } finally {
+            synchronized (capacity) {
+                openSessions.remove(session);
+                capacity.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Fraction of leases served by an already running session
+     */
+    public static double getHitRate() {
+        int leases = leaseCount.get();
+        return leases == 0 ? 0.0 : (double) reuseCount.get() / leases;
+    }
+
+    /**
+     * Estimated session start time avoided by reusing sessions
+     */
+    public static long getTimeSavedMillis() {
+        int created = createdCount.get();
+        if (created == 0) {
+            return 0;
+        }
+        long averageCreation = totalCreationMillis.get() / created;
+        return averageCreation * reuseCount.get();
+    }
+
+    /**
+     * Session start time hidden behind suite setup by pre-warming
+     */
+    public static long getPrewarmSavedMillis() {
+        return prewarmSavedMillis.get();
+    }
+
+    /**
+     * Get pool statistics as a printable summary
+     */
+    public static String getStatistics() {
+        int created = createdCount.get();
+        long averageCreation = created == 0 ? 0 : totalCreationMillis.get() / created;
+        return String.format(
+            "📊 Session pool: leases=%d, reused=%d, created=%d, hit rate=%.1f%%, evicted=%d (reset failures=%d), " +
+            "avg creation=%d ms, est. time saved=%.1f s, pre-warmed=%d (used=%d, startup hidden=%.1f s)",
+            leaseCount.get(), reuseCount.get(), created, getHitRate() * 100, evictionCount.get(),
+            resetFailureCount.get(), averageCreation, getTimeSavedMillis() / 1000.0,
+            prewarmedCount.get(), prewarmConsumedCount.get(), getPrewarmSavedMillis() / 1000.0);
+    }
+
+    /**
+     * A browser session owned by the pool
+     */
+    public static final class PooledSession {
+
+        private final String platformKey;
+        private final WebDriver driver;
+        private final long creationMillis;
+        private final long createdAt;
+        private volatile long lastReleasedAt;
+        private volatile int useCount;
+        private volatile boolean closed;
+
+        PooledSession(String platformKey, WebDriver driver, long creationMillis) {
+            this.platformKey = platformKey;
+            this.driver = driver;
+            this.creationMillis = creationMillis;
+            this.createdAt = System.currentTimeMillis();
+        }
+
+        public String getPlatformKey() {
+            return platformKey;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public long getCreationMillis() {
+            return creationMillis;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public long getLastReleasedAt() {
+            return lastReleasedAt;
+        }
+
+        public int getUseCount() {
+            return useCount;
+        }
+
+        /**
+         * True when the session already served a previous test and has been reset since
+         */
+        public boolean isReused() {
+            return useCount > 1;
+        }
+
+        public boolean isClosed() {
+            return closed;
+        }
+
+        void markLeased() {
+            useCount++;
+        }
+
+        void markIdle() {
+            lastReleasedAt = System.currentTimeMillis();
+        }
+
+        void markClosed() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fast checks for optional elements.
+ * Answers "is it there right now / within N ms" for several locators at once without paying the
+ * implicit wait or a multi-second explicit wait when the answer is no.
+ */
+public class ElementProbe {
+
+    private static final String PROBE_SCRIPT = JsLocator.FIND_FUNCTION +
+        "return arguments[0].map(function(d) { return __find(d[0], d[1]).some(__visible); });";
+
+    /**
+     * Check which of the locators currently match a visible element, in one round trip where possible
+     *
+     * @return one flag per locator in argument order
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Boolean> visibility(WebDriver driver, By... locators) {
+        List<List<String>> descriptors = JsLocator.toDescriptors(locators);
+        if (descriptors != null) {
+            try {
+                return (List<Boolean>) ((JavascriptExecutor) driver).executeScript(PROBE_SCRIPT, descriptors);
+            } catch (JavascriptException e) {
+                // Fall back to WebDriver lookups
+            }
+        }
+        return SeleniumUtils.withImplicitWaitDisabled(driver, () -> {
+            List<Boolean> result = new ArrayList<>();
+            for (By locator : locators) {
+                result.add(isAnyDisplayed(driver.findElements(locator)));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Check if any of the locators matches a visible element right now
+     */
+    public static boolean isVisibleNow(WebDriver driver, By... locators) {
+        return firstVisible(driver, locators) >= 0;
+    }
+
+    /**
+     * Get the position of the first locator that matches a visible element right now
+     *
+     * @return the index in argument order, or -1 if none is visible
+     */
+    public static int firstVisible(WebDriver driver, By... locators) {
+        return visibility(driver, locators).indexOf(Boolean.TRUE);
+    }
+
+    /**
+     * Check if any of the locators matches a visible element within the given time
+     */
+    public static boolean isAnyVisibleWithin(WebDriver driver, long millis, By... locators) {
+        return CompositeWait.waitForAny(driver, Duration.ofMillis(millis), CompositeWait.Condition.VISIBLE, locators) != null;
+    }
+
+    private static boolean isAnyDisplayed(List<WebElement> elements) {
+        for (WebElement element : elements) {
+            try {
+                if (element.isDisplayed()) {
+                    return true;
+                }
+            } catch (StaleElementReferenceException e) {
+                // Element replaced while probing, check the next one
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,260 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable state of one element, captured together with all other matches of a locator.
+ * {@link #capture} reads the requested properties of every matching element in a single executeScript call
+ * instead of one WebElement call per element and property.
+ */
+public final class ElementSnapshot {
+
+    private static final String CAPTURE_SCRIPT = JsLocator.FIND_FUNCTION +
+        "var elements = __find(arguments[0], arguments[1]), properties = arguments[2];" +
+        "function text(el) { return __visible(el) ? (el.innerText || '').trim() : ''; }" +
+        "return elements.map(function(el) {" +
+        "  var result = { attributes: {}, css: {}, descendantText: {} };" +
+        "  properties.forEach(function(p) {" +
+        "    var kind = p[0], name = p[1];" +
+        "    if (kind === 'TEXT') result.text = text(el);" +
+        "    else if (kind === 'TAG_NAME') result.tagName = el.tagName.toLowerCase();" +
+        "    else if (kind === 'ATTRIBUTE') result.attributes[name] = el.getAttribute(name);" +
+        "    else if (kind === 'CSS') result.css[name] = window.getComputedStyle(el).getPropertyValue(name);" +
+        "    else if (kind === 'DISPLAYED') result.displayed = __visible(el);" +
+        "    else if (kind === 'ENABLED') result.enabled = __enabled(el);" +
+        "    else if (kind === 'RECT') {" +
+        "      var r = el.getBoundingClientRect();" +
+        "      result.rect = [Math.round(r.left + window.scrollX), Math.round(r.top + window.scrollY), Math.round(r.width), Math.round(r.height)];" +
+        "    } else if (kind === 'DESCENDANT_TEXT') {" +
+        "      var child = el.querySelector(name);" +
+        "      result.descendantText[name] = child ? text(child) : null;" +
+        "    }" +
+        "  });" +
+        "  return result;" +
+        "});";
+
+    /**
+     * Element property to capture
+     */
+    public static final class Property {
+
+        enum Kind { TEXT, TAG_NAME, ATTRIBUTE, CSS, RECT, DISPLAYED, ENABLED, DESCENDANT_TEXT }
+
+        private final Kind kind;
+        private final String name;
+
+        private Property(Kind kind, String name) {
+            this.kind = kind;
+            this.name = name;
+        }
+
+        /** Visible text, as {@link WebElement#getText()} */
+        public static Property text() {
+            return new Property(Kind.TEXT, null);
+        }
+
+        public static Property tagName() {
+            return new Property(Kind.TAG_NAME, null);
+        }
+
+        public static Property attribute(String name) {
+            return new Property(Kind.ATTRIBUTE, name);
+        }
+
+        /** Computed style value */
+        public static Property css(String name) {
+            return new Property(Kind.CSS, name);
+        }
+
+        /** Position relative to the document and size */
+        public static Property rect() {
+            return new Property(Kind.RECT, null);
+        }
+
+        public static Property displayed() {
+            return new Property(Kind.DISPLAYED, null);
+        }
+
+        public static Property enabled() {
+            return new Property(Kind.ENABLED, null);
+        }
+
+        /** Visible text of the first descendant matching a CSS selector, null if there is none */
+        public static Property descendantText(String cssSelector) {
+            return new Property(Kind.DESCENDANT_TEXT, cssSelector);
+        }
+
+        List<String> toDescriptor() {
+            return Arrays.asList(kind.name(), name);
+        }
+    }
+
+    private final int index;
+    private final String tagName;
+    private final String text;
+    private final Map<String, String> attributes;
+    private final Map<String, String> cssValues;
+    private final Map<String, String> descendantTexts;
+    private final Rectangle rect;
+    private final boolean displayed;
+    private final boolean enabled;
+
+    private ElementSnapshot(int index, String tagName, String text, Map<String, String> attributes,
+                            Map<String, String> cssValues, Map<String, String> descendantTexts,
+                            Rectangle rect, boolean displayed, boolean enabled) {
+        this.index = index;
+        this.tagName = tagName;
+        this.text = text;
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.cssValues = Collections.unmodifiableMap(cssValues);
+        this.descendantTexts = Collections.unmodifiableMap(descendantTexts);
+        this.rect = rect;
+        this.displayed = displayed;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Capture the given properties of all elements matching the locator
+     *
+     * @return one snapshot per matching element in document order; properties not requested are null/false
+     */
+    public static List<ElementSnapshot> capture(WebDriver driver, By locator, Property... properties) {
+        List<String> descriptor = JsLocator.toDescriptor(locator);
+        if (descriptor != null) {
+            List<List<String>> propertyDescriptors = new ArrayList<>();
+            for (Property property : properties) {
+                propertyDescriptors.add(property.toDescriptor());
+            }
+            try {
+                Object result = ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT,
+                    descriptor.get(0), descriptor.get(1), propertyDescriptors);
+                return fromScriptResult(result);
+            } catch (JavascriptException e) {
+                // Fall back to WebElement calls
+            }
+        }
+        return captureWithWebElements(driver, locator, properties);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public String getCssValue(String name) {
+        return cssValues.get(name);
+    }
+
+    public String getDescendantText(String cssSelector) {
+        return descendantTexts.get(cssSelector);
+    }
+
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    public boolean isDisplayed() {
+        return displayed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementSnapshot{#" + index + " " + tagName + ", text=" + text + ", attributes=" + attributes + "}";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ElementSnapshot> fromScriptResult(Object result) {
+        List<ElementSnapshot> snapshots = new ArrayList<>();
+        List<Map<String, Object>> values = (List<Map<String, Object>>) result;
+        for (int i = 0; i < values.size(); i++) {
+            Map<String, Object> value = values.get(i);
+            List<Number> rect = (List<Number>) value.get("rect");
+            snapshots.add(new ElementSnapshot(i,
+                (String) value.get("tagName"),
+                (String) value.get("text"),
+                toStringMap(value.get("attributes")),
+                toStringMap(value.get("css")),
+                toStringMap(value.get("descendantText")),
+                rect != null ? new Rectangle(rect.get(0).intValue(), rect.get(1).intValue(),
+                    rect.get(3).intValue(), rect.get(2).intValue()) : null,
+                Boolean.TRUE.equals(value.get("displayed")),
+                Boolean.TRUE.equals(value.get("enabled"))));
+        }
+        return snapshots;
+    }
+
+    private static List<ElementSnapshot> captureWithWebElements(WebDriver driver, By locator, Property... properties) {
+        List<WebElement> elements = SeleniumUtils.withImplicitWaitDisabled(driver, () -> driver.findElements(locator));
+        List<ElementSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < elements.size(); i++) {
+            WebElement element = elements.get(i);
+            String tagName = null;
+            String text = null;
+            Map<String, String> attributes = new HashMap<>();
+            Map<String, String> cssValues = new HashMap<>();
+            Map<String, String> descendantTexts = new HashMap<>();
+            Rectangle rect = null;
+            boolean displayed = false;
+            boolean enabled = false;
+
+            for (Property property : properties) {
+                switch (property.kind) {
+                    case TEXT: text = element.getText().trim(); break;
+                    case TAG_NAME: tagName = element.getTagName(); break;
+                    case ATTRIBUTE: attributes.put(property.name, element.getAttribute(property.name)); break;
+                    case CSS: cssValues.put(property.name, element.getCssValue(property.name)); break;
+                    case RECT: rect = element.getRect(); break;
+                    case DISPLAYED: displayed = element.isDisplayed(); break;
+                    case ENABLED: enabled = element.isEnabled(); break;
+                    case DESCENDANT_TEXT:
+                        try {
+                            descendantTexts.put(property.name, element.findElement(By.cssSelector(property.name)).getText().trim());
+                        } catch (NoSuchElementException e) {
+                            descendantTexts.put(property.name, null);
+                        }
+                        break;
+                    default: break;
+                }
+            }
+            snapshots.add(new ElementSnapshot(i, tagName, text, attributes, cssValues, descendantTexts, rect, displayed, enabled));
+        }
+        return snapshots;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> toStringMap(Object value) {
+        Map<String, String> result = new HashMap<>();
+        if (value instanceof Map) {
+            ((Map<String, Object>) value).forEach((k, v) -> result.put(k, v != null ? v.toString() : null));
+        }
+        return result;
+    }
+}
@@ -1,24 +1,33 @@
 package utils;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import config.ConfigManager;
+import org.testng.IExecutionListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
 import java.io.File;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * ExtentReports listener for enhanced reporting
+ * ExtentReports listener for enhanced reporting.
+ * Events are recorded into a {@link ReportEventLog} shared by all test threads and the HTML report is
+ * rendered from that log periodically while events come in and once when the TestNG run ends; the
+ * shutdown hook of the log only renders if the run was cut short.
  */
-public class ExtentReportListener implements ITestListener {
+public class ExtentReportListener implements ITestListener, IExecutionListener {
     
-    private static ExtentReports extent;
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    /** ITestResult attribute holding the report id of the test */
+    private static final String TEST_ID_ATTRIBUTE = "report.test.id";
+    private static final Duration SCREENSHOT_WRITE_TIMEOUT = Duration.ofSeconds(10);
+    
+    private static ReportEventLog eventLog;
+    private static final AtomicLong testIds = new AtomicLong();
     
     @Override
     public void onStart(org.testng.ITestContext context) {
@@ -27,8 +36,23 @@ public class ExtentReportListener implements ITestListener {
     
     @Override
     public void onFinish(org.testng.ITestContext context) {
-        if (extent != null) {
-            extent.flush();
+        if (eventLog != null) {
+            // Rendering re-reads the whole event log; the periodic and final renders cover this test tag
+            eventLog.flushQuietly();
+        }
+    }
+    
+    @Override
+    public void onExecutionFinish() {
+        // Under the scheduler every work item is a TestNG run of its own; the report is closed after the last item
+        if (!TestScheduler.deferSuiteTeardown("extent-report", ExtentReportListener::closeReport)) {
+            closeReport();
+        }
+    }
+    
+    private static synchronized void closeReport() {
+        if (eventLog != null) {
+            eventLog.close();
         }
     }
     
@@ -37,55 +61,82 @@ public class ExtentReportListener implements ITestListener {
         String testName = result.getMethod().getMethodName();
         String testDescription = result.getMethod().getDescription();
         
-        ExtentTest extentTest = extent.createTest(testName, testDescription);
-        test.set(extentTest);
+        String id = String.valueOf(testIds.incrementAndGet());
+        result.setAttribute(TEST_ID_ATTRIBUTE, id);
         
         // Add browser and OS information
         String browser = System.getProperty("browser", "Chrome");
         String os = System.getProperty("os", "Windows");
         String osVersion = System.getProperty("osVersion", "11");
         
-        extentTest.assignCategory(browser);
-        extentTest.assignCategory(os);
-        extentTest.info("Browser: " + browser);
-        extentTest.info("OS: " + os + " " + osVersion);
-        extentTest.info("Test started at: " + getCurrentTimestamp());
+        eventLog.record("start", "id", id, "name", testName, "description", testDescription,
+            "categories", Arrays.asList(browser, os));
+        log(id, Status.INFO, "Browser: " + browser);
+        log(id, Status.INFO, "OS: " + os + " " + osVersion);
+        log(id, Status.INFO, "Test started at: " + getCurrentTimestamp());
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        test.get().log(Status.PASS, "Test passed successfully");
-        test.get().info("Test completed at: " + getCurrentTimestamp());
-        test.get().info("Execution time: " + (result.getEndMillis() - result.getStartMillis()) + " ms");
+        String id = testId(result);
+        log(id, Status.PASS, "Test passed successfully");
+        log(id, Status.INFO, "Test completed at: " + getCurrentTimestamp());
+        log(id, Status.INFO, "Execution time: " + (result.getEndMillis() - result.getStartMillis()) + " ms");
+        end(id);
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        test.get().log(Status.FAIL, "Test failed: " + result.getThrowable().getMessage());
+        String id = testId(result);
+        log(id, Status.FAIL, "Test failed: " + result.getThrowable().getMessage());
         
         // Attach screenshot if available
-        String screenshotPath = System.getProperty("screenshot.path");
-        if (screenshotPath != null) {
-            try {
-                test.get().addScreenCaptureFromPath(screenshotPath);
-            } catch (Exception e) {
-                test.get().info("Could not attach screenshot: " + e.getMessage());
+        Object screenshot = result.getAttribute(ScreenshotService.RESULT_ATTRIBUTE);
+        if (screenshot instanceof ScreenshotService.Artifact) {
+            String screenshotPath = ((ScreenshotService.Artifact) screenshot).getPath(SCREENSHOT_WRITE_TIMEOUT);
+            if (screenshotPath != null) {
+                eventLog.record("screenshot", "id", id, "path", screenshotPath);
+            } else {
+                log(id, Status.INFO, "Screenshot could not be written");
             }
         }
         
-        test.get().info("Test failed at: " + getCurrentTimestamp());
+        log(id, Status.INFO, "Test failed at: " + getCurrentTimestamp());
+        end(id);
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
-        test.get().log(Status.SKIP, "Test skipped: " + 
-                      (result.getThrowable() != null ? result.getThrowable().getMessage() : "No reason provided"));
-        test.get().info("Test skipped at: " + getCurrentTimestamp());
+        String id = testId(result);
+        if (id == null) {
+            // Skipped before it started, e.g. a failed dependency
+            onTestStart(result);
+            id = testId(result);
+        }
+        log(id, Status.SKIP, "Test skipped: " + 
+            (result.getThrowable() != null ? result.getThrowable().getMessage() : "No reason provided"));
+        log(id, Status.INFO, "Test skipped at: " + getCurrentTimestamp());
+        end(id);
     }
     
-    private void initializeExtentReports() {
+    private static void log(String id, Status status, String message) {
+        eventLog.record("log", "id", id, "status", status.name(), "message", message);
+    }
+    
+    private static void end(String id) {
+        eventLog.record("end", "id", id);
+    }
+    
+    private static String testId(ITestResult result) {
+        Object id = result.getAttribute(TEST_ID_ATTRIBUTE);
+        return id != null ? id.toString() : null;
+    }
+    
+    private static synchronized void initializeExtentReports() {
+        if (eventLog != null) {
+            return;
+        }
         String reportPath = ConfigManager.getProperty("extent.report.path", "test-output/extent-reports/");
-        String reportName = ConfigManager.getProperty("extent.report.name", "Test Execution Report");
         
         // Create reports directory if it doesn't exist
         File reportsDir = new File(reportPath);
@@ -96,32 +147,28 @@ public class ExtentReportListener implements ITestListener {
         // Generate report file name with timestamp
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
         String reportFileName = reportPath + "ExtentReport_" + timestamp + ".html";
+        String eventFileName = reportPath + "ExtentReport_" + timestamp + ".events.jsonl";
         
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFileName);
-        sparkReporter.config().setDocumentTitle(reportName);
-        sparkReporter.config().setReportName("Selenium BrowserStack Automation Report");
-        sparkReporter.config().setTheme(com.aventstack.extentreports.reporter.configuration.Theme.STANDARD);
-        
-        extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
+        eventLog = new ReportEventLog(Paths.get(eventFileName), Paths.get(reportFileName));
         
         // Set system information
-        extent.setSystemInfo("Framework", ConfigManager.getProperty("framework.name", "Selenium BrowserStack Framework"));
-        extent.setSystemInfo("Version", ConfigManager.getProperty("framework.version", "1.0.0"));
-        extent.setSystemInfo("Java Version", System.getProperty("java.version"));
-        extent.setSystemInfo("OS", System.getProperty("os.name"));
-        extent.setSystemInfo("Environment", System.getProperty("environment", "BrowserStack"));
-        extent.setSystemInfo("Executed By", System.getProperty("user.name"));
-        extent.setSystemInfo("Execution Date", getCurrentTimestamp());
+        systemInfo("Framework", ConfigManager.getProperty("framework.name", "Selenium BrowserStack Framework"));
+        systemInfo("Version", ConfigManager.getProperty("framework.version", "1.0.0"));
+        systemInfo("Java Version", System.getProperty("java.version"));
+        systemInfo("OS", System.getProperty("os.name"));
+        systemInfo("Environment", System.getProperty("environment", "BrowserStack"));
+        systemInfo("Executed By", System.getProperty("user.name"));
+        systemInfo("Execution Date", getCurrentTimestamp());
         
-        System.out.println("ExtentReports initialized. Report will be generated at: " + reportFileName);
+        Log.info(() -> "ExtentReports initialized. Report will be generated at: " + reportFileName);
+        Log.info(() -> "Report events are written to: " + eventFileName);
     }
     
-    private String getCurrentTimestamp() {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    private static void systemInfo(String key, String value) {
+        eventLog.record("system", "key", key, "value", value);
     }
     
-    public static ExtentTest getTest() {
-        return test.get();
+    private static String getCurrentTimestamp() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
     }
 }
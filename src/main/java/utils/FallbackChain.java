@@ -0,0 +1,235 @@
+package utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ordered list of alternative locators for the same element that learns which alternative works.
+ * Wins are counted per (page, chain, platform) by the alternative's position, so chains built from
+ * parameterized locators share their history. All alternatives are checked in one composite wait,
+ * historically winning ones first, so a stale leading alternative no longer costs a timeout of its own.
+ * History is kept in a local JSON file and saved at the end of the suite.
+ */
+public final class FallbackChain {
+
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("fallback.chain.enabled", true);
+    private static final String HISTORY_FILE = ConfigManager.getProperty("fallback.chain.history.file",
+        "test-output/locator-history/fallback-chains.json");
+    private static final int REPORT_MIN_ATTEMPTS = ConfigManager.getIntProperty("fallback.chain.report.min.attempts", 5);
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final Map<String, History> histories = new ConcurrentHashMap<>(load());
+
+    private final String page;
+    private final String name;
+    private final By[] alternatives;
+
+    /**
+     * Outcomes of one chain. Public fields for JSON (de)serialization.
+     */
+    public static class History {
+        /** Last seen alternatives, for reading the history file */
+        public List<String> alternatives = new ArrayList<>();
+        /** Wins per alternative position */
+        public List<Integer> wins = new ArrayList<>();
+        public int misses;
+
+        synchronized void recordWin(By[] chain, int index) {
+            alternatives = new ArrayList<>();
+            for (By alternative : chain) {
+                alternatives.add(alternative.toString());
+            }
+            while (wins.size() < chain.length) {
+                wins.add(0);
+            }
+            wins.set(index, wins.get(index) + 1);
+        }
+
+        synchronized void recordMiss() {
+            misses++;
+        }
+
+        synchronized int winsOf(int index) {
+            return index < wins.size() ? wins.get(index) : 0;
+        }
+
+        synchronized History copy() {
+            History copy = new History();
+            copy.alternatives = new ArrayList<>(alternatives);
+            copy.wins = new ArrayList<>(wins);
+            copy.misses = misses;
+            return copy;
+        }
+    }
+
+    private FallbackChain(String page, String name, By[] alternatives) {
+        this.page = page;
+        this.name = name;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Create a chain for the calling page object
+     *
+     * @param name identifies the chain within the page, e.g. "productCount"
+     * @param alternatives locators in declared order, preferred first until history exists
+     */
+    public static FallbackChain of(String name, By... alternatives) {
+        return new FallbackChain(STACK_WALKER.getCallerClass().getSimpleName(), name, alternatives);
+    }
+
+    /**
+     * Wait until any alternative is visible, see {@link #find(WebDriver, int, CompositeWait.Condition)}
+     */
+    public CompositeWait.Match findVisible(WebDriver driver, int timeoutSeconds) {
+        return find(driver, timeoutSeconds, CompositeWait.Condition.VISIBLE);
+    }
+
+    /**
+     * Wait until any alternative matches the condition and record which one won
+     *
+     * @return the winning alternative with its declared position, or null if none matched in time
+     */
+    public CompositeWait.Match find(WebDriver driver, int timeoutSeconds, CompositeWait.Condition condition) {
+        int[] order = rankedOrder();
+        By[] ranked = new By[order.length];
+        for (int i = 0; i < order.length; i++) {
+            ranked[i] = alternatives[order[i]];
+        }
+
+        CompositeWait.Match match = WaitContext.run("chain " + name, alternatives, timeoutSeconds, (timeout, polling) ->
+            CompositeWait.waitForAny(driver, timeout, condition, ranked));
+
+        History history = ENABLED ? histories.computeIfAbsent(getKey(), key -> new History()) : new History();
+        if (match == null) {
+            history.recordMiss();
+            return null;
+        }
+        int declaredIndex = order[match.getIndex()];
+        history.recordWin(alternatives, declaredIndex);
+        return new CompositeWait.Match(match.getLocator(), declaredIndex, match.getElement());
+    }
+
+    /**
+     * Get the alternatives in the order they are tried, most wins first
+     */
+    public By[] getRankedAlternatives() {
+        return Arrays.stream(rankedOrder()).mapToObj(i -> alternatives[i]).toArray(By[]::new);
+    }
+
+    /**
+     * Key identifying the chain across runs
+     */
+    public String getKey() {
+        return page + " | " + name + " | " + WebDriverFactory.getCurrentPlatform();
+    }
+
+    /**
+     * Declared positions ordered by wins, ties keep the declared order
+     */
+    private int[] rankedOrder() {
+        History history = ENABLED ? histories.get(getKey()) : null;
+        Integer[] order = new Integer[alternatives.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        if (history != null) {
+            Arrays.sort(order, Comparator.comparingInt((Integer i) -> history.winsOf(i)).reversed());
+        }
+        return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Describe chains whose leading alternatives never matched in at least the configured number of attempts
+     */
+    public static List<String> getDeadLeadingAlternatives() {
+        List<String> report = new ArrayList<>();
+        new TreeMap<>(histories).forEach((key, live) -> {
+            History history = live.copy();
+            int wins = history.wins.stream().mapToInt(Integer::intValue).sum();
+            if (wins + history.misses < REPORT_MIN_ATTEMPTS) {
+                return;
+            }
+            int dead = 0;
+            while (dead < history.alternatives.size() && history.winsOf(dead) == 0) {
+                dead++;
+            }
+            if (dead > 0) {
+                report.add(String.format("%s: %d leading alternative(s) never matched in %d attempts: %s",
+                    key, dead, wins + history.misses, history.alternatives.subList(0, dead)));
+            }
+        });
+        return report;
+    }
+
+    /**
+     * Write the history file and report dead leading alternatives, called at the end of the suite
+     */
+    public static void save() {
+        if (!ENABLED) {
+            return;
+        }
+        for (String line : getDeadLeadingAlternatives()) {
+            Log.warn("⚠️ Fallback chain " + line);
+        }
+        Map<String, History> snapshot = new TreeMap<>();
+        histories.forEach((key, history) -> snapshot.put(key, history.copy()));
+        try {
+            File file = new File(HISTORY_FILE);
+            file.getParentFile().mkdirs();
+            MAPPER.writeValue(file, snapshot);
+            Log.info(() -> "💾 Saved fallback chain history for " + snapshot.size() + " chains to " + file.getPath());
+        } catch (IOException e) {
+            Log.warn("⚠️ Could not save fallback chain history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get fallback chain statistics as a printable summary
+     */
+    public static String getStatistics() {
+        int wins = 0;
+        int leaderWins = 0;
+        int misses = 0;
+        for (History live : histories.values()) {
+            History history = live.copy();
+            wins += history.wins.stream().mapToInt(Integer::intValue).sum();
+            leaderWins += history.wins.stream().mapToInt(Integer::intValue).max().orElse(0);
+            misses += history.misses;
+        }
+        return String.format("📊 Fallback chains: tracked=%d, matches=%d (by most frequent alternative=%d), misses=%d",
+            histories.size(), wins, leaderWins, misses);
+    }
+
+    private static Map<String, History> load() {
+        File file = new File(HISTORY_FILE);
+        if (!ENABLED || !file.exists()) {
+            return Collections.emptyMap();
+        }
+        try {
+            Map<String, History> loaded = MAPPER.readValue(file, new TypeReference<Map<String, History>>() {});
+            Log.info(() -> "📂 Loaded fallback chain history for " + loaded.size() + " chains from " + file.getPath());
+            return loaded;
+        } catch (IOException e) {
+            Log.warn("⚠️ Could not load fallback chain history, starting fresh: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lazy element proxy that heals stale references.
+ * The element is looked up on first use and the handle is cached; when a call fails with a
+ * StaleElementReferenceException the handle is dropped, the element is looked up again and the call
+ * is repeated. A stale element never executed the call, so repeating it is safe for actions too.
+ */
+public final class HealingWebElement implements InvocationHandler {
+
+    private static final int MAX_HEALS = 2;
+
+    /** Element methods that change the page and invalidate memoized page probes */
+    private static final Set<String> ACTIONS = new HashSet<>(Arrays.asList("click", "submit", "sendKeys", "clear"));
+
+    private static final AtomicInteger lookupCount = new AtomicInteger();
+    private static final AtomicInteger healCount = new AtomicInteger();
+
+    private final SearchContext context;
+    private final By locator;
+    private WebElement element;
+
+    private HealingWebElement(SearchContext context, By locator) {
+        this.context = context;
+        this.locator = locator;
+    }
+
+    /**
+     * Create a lazy, self-healing element for the locator
+     */
+    public static WebElement create(SearchContext context, By locator) {
+        return (WebElement) Proxy.newProxyInstance(HealingWebElement.class.getClassLoader(),
+            new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class},
+            new HealingWebElement(context, locator));
+    }
+
+    /**
+     * Create a list that looks up its elements again on every use, like PageFactory lists
+     */
+    @SuppressWarnings("unchecked")
+    public static List<WebElement> createList(SearchContext context, By locator) {
+        return (List<WebElement>) Proxy.newProxyInstance(HealingWebElement.class.getClassLoader(),
+            new Class<?>[] {List.class},
+            (proxy, method, args) -> {
+                if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+                    return "Element list for " + locator;
+                }
+                lookupCount.incrementAndGet();
+                return invoke(method, context.findElements(locator), args);
+            });
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if ("toString".equals(method.getName()) && method.getParameterCount() == 0) {
+            return "Healing element for " + locator;
+        }
+        if ("getWrappedElement".equals(method.getName())) {
+            return resolve();
+        }
+
+        if (ACTIONS.contains(method.getName())) {
+            PageState.markAction();
+        }
+
+        for (int heals = 0; ; heals++) {
+            WebElement target = resolve();
+            try {
+                return invoke(method, target, args);
+            } catch (StaleElementReferenceException e) {
+                if (heals >= MAX_HEALS) {
+                    throw e;
+                }
+                synchronized (this) {
+                    if (element == target) {
+                        element = null;
+                    }
+                }
+                healCount.incrementAndGet();
+            }
+        }
+    }
+
+    private synchronized WebElement resolve() {
+        if (element == null) {
+            lookupCount.incrementAndGet();
+            element = context.findElement(locator);
+        }
+        return element;
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Get lookup statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Page elements: lookups=%d, healed stale references=%d", lookupCount.get(), healCount.get());
+    }
+}
@@ -0,0 +1,332 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.ResponseData;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v138.network.model.ResourceType;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Network-level image capture.
+ * Records status code, size and duration of every image request from browser network events, WebDriver
+ * BiDi where the session has it and Chrome DevTools otherwise, so broken and slow images are reported
+ * from the responses instead of being inferred from the DOM afterwards. Off by default, enabled with
+ * {@code image.capture.enabled=true}; {@link #start} returns null when the browser offers neither protocol.
+ */
+public final class ImageNetworkCapture implements AutoCloseable {
+
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("image.capture.enabled", false);
+    private static final long SLOW_MILLIS = ConfigManager.getIntProperty("image.capture.slow.ms", 1000);
+
+    /** BiDi events carry no resource type, so image requests are recognised by URL or response mime type */
+    private static final Pattern IMAGE_URL = Pattern.compile("\\.(png|jpe?g|gif|webp|avif|svg|ico|bmp)([?#]|$)", Pattern.CASE_INSENSITIVE);
+
+    private static final AtomicInteger captureCount = new AtomicInteger();
+    private static final AtomicInteger brokenCount = new AtomicInteger();
+    private static final AtomicInteger slowCount = new AtomicInteger();
+
+    private final String protocol;
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, Request> requests = new ConcurrentHashMap<>();
+    private final List<Request> finished = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean active = true;
+    private Runnable detach;
+
+    /**
+     * One image request
+     */
+    public static final class Request {
+
+        private final String url;
+        private final long startedAt = System.currentTimeMillis();
+        private int status;
+        private String mimeType = "";
+        private long bytes;
+        private long durationMillis = -1;
+        private String error;
+
+        Request(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        /** HTTP status, 0 if no response was received */
+        public int getStatus() {
+            return status;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+
+        /** Bytes received over the network, 0 for cached responses */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /** Time from the request until the body finished loading, -1 if unknown */
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /** Network error, e.g. net::ERR_NAME_NOT_RESOLVED, null if the request completed */
+        public String getError() {
+            return error;
+        }
+
+        public boolean isBroken() {
+            return error != null || status >= 400 || (status > 0 && !mimeType.isEmpty() && !mimeType.startsWith("image/"));
+        }
+
+        public boolean isSlow() {
+            return !isBroken() && durationMillis >= SLOW_MILLIS;
+        }
+
+        @Override
+        public String toString() {
+            return (error != null ? error : String.valueOf(status)) + " " + url + " (" + bytes + " bytes, " + durationMillis + " ms)";
+        }
+    }
+
+    /**
+     * Image requests seen during a capture
+     */
+    public static final class Report {
+
+        private final String protocol;
+        private final List<Request> requests;
+
+        Report(String protocol, List<Request> requests) {
+            this.protocol = protocol;
+            this.requests = Collections.unmodifiableList(requests);
+        }
+
+        /** "bidi" or "cdp" */
+        public String getProtocol() {
+            return protocol;
+        }
+
+        public List<Request> getRequests() {
+            return requests;
+        }
+
+        /** Failed requests, error statuses and responses that are not images */
+        public List<Request> getBroken() {
+            return requests.stream().filter(Request::isBroken).collect(Collectors.toList());
+        }
+
+        /** Successful requests slower than image.capture.slow.ms, a performance finding rather than a failure */
+        public List<Request> getSlow() {
+            return requests.stream().filter(Request::isSlow).collect(Collectors.toList());
+        }
+
+        public long getTotalBytes() {
+            return requests.stream().mapToLong(Request::getBytes).sum();
+        }
+
+        @Override
+        public String toString() {
+            return requests.size() + " image requests via " + protocol + ", " + getBroken().size() + " broken, "
+                + getSlow().size() + " slower than " + SLOW_MILLIS + " ms, " + getTotalBytes() + " bytes";
+        }
+    }
+
+    private ImageNetworkCapture(String protocol) {
+        this.protocol = protocol;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Start recording image requests; start before the navigation to cover the page load
+     *
+     * @return the capture, or null if capture is disabled or not supported by the browser
+     */
+    public static ImageNetworkCapture start(WebDriver driver) {
+        if (!ENABLED) {
+            return null;
+        }
+        try {
+            if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+                return startBiDi(driver);
+            }
+            if (driver instanceof HasDevTools) {
+                return startDevTools(((HasDevTools) driver).getDevTools(), false);
+            }
+            if (driver instanceof RemoteWebDriver) {
+                // The augmented driver opens its own DevTools connection, which the capture closes when it stops
+                WebDriver augmented = new Augmenter().augment(driver);
+                if (augmented instanceof HasDevTools) {
+                    return startDevTools(((HasDevTools) augmented).getDevTools(), true);
+                }
+            }
+        } catch (Exception e) {
+            Log.warn("⚠️ Image network capture not available: " + e.getMessage());
+            return null;
+        }
+        Log.warn("⚠️ Image network capture not available: browser supports neither BiDi nor DevTools");
+        return null;
+    }
+
+    private static ImageNetworkCapture startBiDi(WebDriver driver) {
+        ImageNetworkCapture capture = new ImageNetworkCapture("bidi");
+        Network network = new Network(driver);
+        network.onBeforeRequestSent(event -> {
+            if (capture.active) {
+                String requestId = event.getRequest().getRequestId();
+                capture.started.put(requestId, event.getTimestamp());
+                if (IMAGE_URL.matcher(event.getRequest().getUrl()).find()) {
+                    capture.requests.put(requestId, new Request(event.getRequest().getUrl()));
+                }
+            }
+        });
+        network.onResponseCompleted(event -> {
+            capture.requests.remove(event.getRequest().getRequestId());
+            Long start = capture.started.remove(event.getRequest().getRequestId());
+            ResponseData response = event.getResponseData();
+            String mimeType = response.getMimeType() != null ? response.getMimeType() : "";
+            if (!capture.active || !(mimeType.startsWith("image/") || IMAGE_URL.matcher(response.getUrl()).find())) {
+                return;
+            }
+            Request request = new Request(response.getUrl());
+            request.status = response.getStatus();
+            request.mimeType = mimeType;
+            request.bytes = response.getBytesReceived();
+            request.durationMillis = start != null ? event.getTimestamp() - start : -1;
+            capture.finished.add(request);
+        });
+        network.onFetchError(event -> {
+            capture.requests.remove(event.getRequest().getRequestId());
+            Long start = capture.started.remove(event.getRequest().getRequestId());
+            String url = event.getRequest().getUrl();
+            if (!capture.active || !IMAGE_URL.matcher(url).find()) {
+                return;
+            }
+            Request request = new Request(url);
+            request.error = event.getErrorText();
+            request.durationMillis = start != null ? event.getTimestamp() - start : -1;
+            capture.finished.add(request);
+        });
+        capture.detach = network::close;
+        return capture;
+    }
+
+    private static ImageNetworkCapture startDevTools(DevTools devTools, boolean ownConnection) {
+        ImageNetworkCapture capture = new ImageNetworkCapture("cdp");
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(org.openqa.selenium.devtools.v138.network.Network.enable(
+            Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty()));
+        devTools.addListener(org.openqa.selenium.devtools.v138.network.Network.requestWillBeSent(), event -> {
+            if (capture.active && event.getType().orElse(null) == ResourceType.IMAGE) {
+                capture.requests.put(event.getRequestId().toString(), new Request(event.getRequest().getUrl()));
+                capture.started.put(event.getRequestId().toString(), seconds(event.getTimestamp().toJson()));
+            }
+        });
+        devTools.addListener(org.openqa.selenium.devtools.v138.network.Network.responseReceived(), event -> {
+            Request request = capture.requests.get(event.getRequestId().toString());
+            if (request != null) {
+                request.status = event.getResponse().getStatus();
+                request.mimeType = event.getResponse().getMimeType();
+            }
+        });
+        devTools.addListener(org.openqa.selenium.devtools.v138.network.Network.loadingFinished(), event ->
+            capture.complete(event.getRequestId().toString(), seconds(event.getTimestamp().toJson()), null,
+                event.getEncodedDataLength().longValue()));
+        devTools.addListener(org.openqa.selenium.devtools.v138.network.Network.loadingFailed(), event ->
+            capture.complete(event.getRequestId().toString(), seconds(event.getTimestamp().toJson()), event.getErrorText(), 0));
+        capture.detach = () -> {
+            try {
+                devTools.clearListeners();
+                devTools.send(org.openqa.selenium.devtools.v138.network.Network.disable());
+            } finally {
+                if (ownConnection) {
+                    devTools.close();
+                }
+            }
+        };
+        return capture;
+    }
+
+    /** DevTools timestamps are monotonic seconds; kept in milliseconds like BiDi timestamps */
+    private static long seconds(Number timestamp) {
+        return Math.round(timestamp.doubleValue() * 1000);
+    }
+
+    private void complete(String requestId, long timestamp, String error, long bytes) {
+        Request request = requests.remove(requestId);
+        Long start = started.remove(requestId);
+        if (request == null || !active) {
+            return;
+        }
+        request.error = error;
+        request.bytes = bytes;
+        request.durationMillis = start != null ? timestamp - start : -1;
+        finished.add(request);
+    }
+
+    /**
+     * Stop recording and report the image requests seen so far; requests still in flight are reported with
+     * the time they have been running, so a hanging image shows up as slow
+     */
+    public Report stop() {
+        if (active) {
+            active = false;
+            try {
+                detach.run();
+            } catch (Exception e) {
+                // Session gone, listeners went with it
+            }
+        }
+
+        List<Request> all;
+        synchronized (finished) {
+            all = new ArrayList<>(finished);
+        }
+        long now = System.currentTimeMillis();
+        for (Request inFlight : requests.values()) {
+            inFlight.durationMillis = now - inFlight.startedAt;
+            all.add(inFlight);
+        }
+
+        Report report = new Report(protocol, all);
+        captureCount.incrementAndGet();
+        brokenCount.addAndGet(report.getBroken().size());
+        slowCount.addAndGet(report.getSlow().size());
+        return report;
+    }
+
+    @Override
+    public void close() {
+        if (active) {
+            stop();
+        }
+    }
+
+    /**
+     * Get image capture statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Image network capture: captures=%d, broken images=%d, slow images=%d",
+            captureCount.get(), brokenCount.get(), slowCount.get());
+    }
+}
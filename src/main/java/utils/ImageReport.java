@@ -0,0 +1,212 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable load state of all images on the page or in a container.
+ * Attributes and load state of every image are read in one script call. The last report of each thread is
+ * reused while the page state token (see {@link PageState}) is unchanged and all its images had finished
+ * loading: a finished image only changes through a DOM mutation, which advances the token. The same script
+ * call checks the token, so a reused report costs one round trip as well.
+ */
+public final class ImageReport {
+
+    /**
+     * Returns [token] when the token equals arguments[2], otherwise [token, images] with one row
+     * [src, currentSrc, alt, title, loading, complete, naturalWidth, naturalHeight] per image
+     */
+    private static final String CAPTURE_SCRIPT = JsLocator.FIND_FUNCTION + PageState.TOKEN_FUNCTION +
+        "var token = __pageToken();" +
+        "if (token === arguments[2]) return [token];" +
+        "var root = arguments[0] ? __find(arguments[0], arguments[1])[0] : null;" +
+        "var images = root ? root.querySelectorAll('img') : document.images;" +
+        "return [token, Array.prototype.map.call(images, function (img) {" +
+        "  return [img.getAttribute('src'), img.currentSrc || '', img.getAttribute('alt'), img.getAttribute('title')," +
+        "          img.getAttribute('loading') || '', img.complete, img.naturalWidth || 0, img.naturalHeight || 0];" +
+        "})];";
+
+    private static final String DOCUMENT_SCOPE = "document";
+
+    private static final ThreadLocal<ImageReport> lastReport = new ThreadLocal<>();
+    private static final AtomicInteger captureCount = new AtomicInteger();
+    private static final AtomicInteger reuseCount = new AtomicInteger();
+
+    private final String scope;
+    private final String token;
+    private final List<Image> images;
+
+    /**
+     * Attributes and load state of one image
+     */
+    public static final class Image {
+
+        private final String src;
+        private final String currentSrc;
+        private final String alt;
+        private final String title;
+        private final String loading;
+        private final boolean complete;
+        private final int naturalWidth;
+        private final int naturalHeight;
+
+        Image(String src, String currentSrc, String alt, String title, String loading,
+              boolean complete, int naturalWidth, int naturalHeight) {
+            this.src = src;
+            this.currentSrc = currentSrc;
+            this.alt = alt;
+            this.title = title;
+            this.loading = loading;
+            this.complete = complete;
+            this.naturalWidth = naturalWidth;
+            this.naturalHeight = naturalHeight;
+        }
+
+        /** The src attribute, null if absent */
+        public String getSrc() {
+            return src;
+        }
+
+        /** URL the browser actually selected, e.g. from srcset; empty before loading starts */
+        public String getCurrentSrc() {
+            return currentSrc;
+        }
+
+        public String getAlt() {
+            return alt;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        /** The loading attribute, e.g. "lazy", empty if absent */
+        public String getLoading() {
+            return loading;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        public int getNaturalWidth() {
+            return naturalWidth;
+        }
+
+        public int getNaturalHeight() {
+            return naturalHeight;
+        }
+
+        /** Finished loading with image data */
+        public boolean isLoaded() {
+            return complete && naturalHeight > 0;
+        }
+
+        /** Finished loading without image data, e.g. a 404 or undecodable src */
+        public boolean isBroken() {
+            return complete && naturalHeight == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Image Details - src: %s, alt: %s, title: %s, naturalWidth: %s, naturalHeight: %s, complete: %s",
+                src, alt, title, naturalWidth, naturalHeight, complete);
+        }
+    }
+
+    private ImageReport(String scope, String token, List<Image> images) {
+        this.scope = scope;
+        this.token = token;
+        this.images = Collections.unmodifiableList(images);
+    }
+
+    /**
+     * Get the report for all images on the page
+     */
+    public static ImageReport capture(WebDriver driver) {
+        return capture(driver, null, DOCUMENT_SCOPE);
+    }
+
+    /**
+     * Get the report for the images in the first container matching the locator, falling back to all
+     * images on the page when the container is not found
+     */
+    public static ImageReport capture(WebDriver driver, By container) {
+        List<String> descriptor = JsLocator.toDescriptor(container);
+        return capture(driver, descriptor, descriptor != null ? String.join(":", descriptor) : DOCUMENT_SCOPE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ImageReport capture(WebDriver driver, List<String> descriptor, String scope) {
+        ImageReport cached = lastReport.get();
+        String knownToken = cached != null && cached.scope.equals(scope) && cached.isSettled() ? cached.token : null;
+
+        List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT,
+            descriptor != null ? descriptor.get(0) : null, descriptor != null ? descriptor.get(1) : null, knownToken);
+        if (result.size() == 1) {
+            reuseCount.incrementAndGet();
+            return cached;
+        }
+        captureCount.incrementAndGet();
+
+        List<Image> images = new ArrayList<>();
+        for (List<Object> row : (List<List<Object>>) result.get(1)) {
+            images.add(new Image((String) row.get(0), (String) row.get(1), (String) row.get(2), (String) row.get(3),
+                (String) row.get(4), Boolean.TRUE.equals(row.get(5)),
+                ((Number) row.get(6)).intValue(), ((Number) row.get(7)).intValue()));
+        }
+        ImageReport report = new ImageReport(scope, (String) result.get(0), images);
+        lastReport.set(report);
+        return report;
+    }
+
+    public List<Image> getImages() {
+        return images;
+    }
+
+    public int getTotal() {
+        return images.size();
+    }
+
+    public List<Image> getBroken() {
+        return images.stream().filter(Image::isBroken).collect(Collectors.toList());
+    }
+
+    public int getBrokenCount() {
+        return (int) images.stream().filter(Image::isBroken).count();
+    }
+
+    /** Images still loading, e.g. lazy images outside the viewport */
+    public List<Image> getPending() {
+        return images.stream().filter(image -> !image.isComplete()).collect(Collectors.toList());
+    }
+
+    /** No image is broken */
+    public boolean allLoaded() {
+        return getBrokenCount() == 0;
+    }
+
+    /** All images finished loading, successfully or not */
+    public boolean isSettled() {
+        return images.stream().allMatch(Image::isComplete);
+    }
+
+    @Override
+    public String toString() {
+        return images.size() + " images, " + getBrokenCount() + " broken, " + getPending().size() + " pending";
+    }
+
+    /**
+     * Get image report statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Image reports: captures=%d, reused=%d", captureCount.get(), reuseCount.get());
+    }
+}
@@ -0,0 +1,271 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Event-driven wait for images to settle.
+ * An async script attaches load/error listeners to every pending image, picks up images added or
+ * re-pointed during the wait through a MutationObserver, and resolves as soon as every image has either
+ * loaded or failed. A page with a broken image therefore returns at once instead of waiting out the
+ * timeout. Lazy images outside the viewport are not waited for, as the browser does not load them, and
+ * images removed from the page during the wait are dropped.
+ */
+public class ImageSettleWait {
+
+    /** Poll interval of the fallback when async scripts are unavailable */
+    private static final long POLL_INTERVAL_MILLIS = 500;
+    /** Part of the session script timeout left to the page-side timer, so it fires before WebDriver aborts the script */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 2000;
+
+    private static volatile boolean asyncUnavailable = false;
+
+    private static final AtomicInteger waitCount = new AtomicInteger();
+    private static final AtomicInteger timedOutCount = new AtomicInteger();
+    private static final AtomicInteger fallbackCount = new AtomicInteger();
+    private static final AtomicLong totalWaitMillis = new AtomicLong();
+
+    /**
+     * Resolves with one row [src, state, millis] per image once no image is pending, or on timeout.
+     * millis is the time from the start of the wait until the image settled, 0 if it had settled before.
+     */
+    private static final String SETTLE_SCRIPT =
+        "var timeoutMs = arguments[0], done = arguments[arguments.length - 1];" +
+        "var start = performance.now(), tracked = [], pending = 0, finished = false, observer, timer;" +
+        "function outcome(img) { return img.naturalHeight > 0 ? 'LOADED' : 'FAILED'; }" +
+        "function offscreen(img) { var r = img.getBoundingClientRect(); return r.top > 2 * innerHeight || r.bottom < -innerHeight; }" +
+        "function finish() {" +
+        "  if (finished) return;" +
+        "  finished = true;" +
+        "  observer.disconnect(); clearTimeout(timer);" +
+        "  done(tracked.map(function (t) {" +
+        "    return [t.img.currentSrc || t.img.getAttribute('src') || '', t.state || (t.lazy ? 'DEFERRED' : 'PENDING'), t.ms];" +
+        "  }));" +
+        "}" +
+        "function settle(t) {" +
+        "  if (t.state) return;" +
+        "  t.state = outcome(t.img); t.ms = Math.round(performance.now() - start);" +
+        "  if (t.lazy) return;" +
+        "  pending--;" +
+        "  if (pending === 0) finish();" +
+        "}" +
+        "function wait(t) {" +
+        "  t.state = null;" +
+        "  t.lazy = t.img.loading === 'lazy' && offscreen(t.img);" +
+        "  if (!t.lazy) pending++;" +
+        "}" +
+        "function track(img) {" +
+        "  for (var i = 0; i < tracked.length; i++) {" +
+        "    var known = tracked[i];" +
+        "    if (known.img === img) { if (known.state && !img.complete) wait(known); return; }" +
+        "  }" +
+        "  var t = { img: img, state: null, lazy: false, ms: 0 };" +
+        "  tracked.push(t);" +
+        "  img.addEventListener('load', function () { settle(t); });" +
+        "  img.addEventListener('error', function () { settle(t); });" +
+        "  if (img.complete) t.state = outcome(img); else wait(t);" +
+        "}" +
+        "function scan() {" +
+        "  tracked = tracked.filter(function (t) {" +
+        "    if (t.img.isConnected) return true;" +
+        "    if (!t.state && !t.lazy) pending--;" +
+        "    return false;" +
+        "  });" +
+        "  Array.prototype.forEach.call(document.images, track);" +
+        "}" +
+        "observer = new MutationObserver(function () { scan(); if (pending === 0) finish(); });" +
+        "observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true, attributeFilter: ['src', 'srcset'] });" +
+        "timer = setTimeout(finish, timeoutMs);" +
+        "scan();" +
+        "if (pending === 0) finish();";
+
+    /**
+     * How an image ended up by the end of the wait
+     */
+    public enum State {
+        LOADED,
+        FAILED,
+        /** Still loading when the wait timed out */
+        PENDING,
+        /** Lazy image outside the viewport, not requested by the browser yet */
+        DEFERRED
+    }
+
+    /**
+     * Outcome of one image
+     */
+    public static final class Outcome {
+
+        private final String src;
+        private final State state;
+        private final long settleMillis;
+
+        Outcome(String src, State state, long settleMillis) {
+            this.src = src;
+            this.state = state;
+            this.settleMillis = settleMillis;
+        }
+
+        public String getSrc() {
+            return src;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        /** Time from the start of the wait until the image settled, 0 if it had settled before, -1 if unknown */
+        public long getSettleMillis() {
+            return settleMillis;
+        }
+
+        @Override
+        public String toString() {
+            return state + " " + src + (settleMillis > 0 ? " after " + settleMillis + " ms" : "");
+        }
+    }
+
+    /**
+     * Outcomes of all images on the page
+     */
+    public static final class Result {
+
+        private final List<Outcome> outcomes;
+        private final long elapsedMillis;
+
+        Result(List<Outcome> outcomes, long elapsedMillis) {
+            this.outcomes = Collections.unmodifiableList(outcomes);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public List<Outcome> getOutcomes() {
+            return outcomes;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public List<Outcome> get(State state) {
+            return outcomes.stream().filter(o -> o.getState() == state).collect(Collectors.toList());
+        }
+
+        public int count(State state) {
+            return (int) outcomes.stream().filter(o -> o.getState() == state).count();
+        }
+
+        /** No image was still loading when the wait ended */
+        public boolean isSettled() {
+            return count(State.PENDING) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d images in %d ms: %d loaded, %d failed, %d pending, %d deferred", outcomes.size(), elapsedMillis,
+                count(State.LOADED), count(State.FAILED), count(State.PENDING), count(State.DEFERRED));
+        }
+    }
+
+    /**
+     * Wait until every image on the page has loaded or failed
+     *
+     * @return the per-image outcomes; images still loading at the timeout are reported as pending
+     */
+    public static Result await(WebDriver driver, Duration timeout) {
+        long start = System.currentTimeMillis();
+        Result result = asyncUnavailable ? null : awaitInPage(driver, timeout);
+        if (result == null) {
+            fallbackCount.incrementAndGet();
+            result = pollingWait(driver, start + timeout.toMillis());
+        }
+
+        waitCount.incrementAndGet();
+        totalWaitMillis.addAndGet(result.getElapsedMillis());
+        if (!result.isSettled()) {
+            timedOutCount.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * Get image wait statistics as a printable summary
+     */
+    public static String getStatistics() {
+        int waits = waitCount.get();
+        return String.format("📊 Image settle waits: waits=%d, timed out=%d, polling fallbacks=%d, avg=%d ms",
+            waits, timedOutCount.get(), fallbackCount.get(), waits > 0 ? totalWaitMillis.get() / waits : 0);
+    }
+
+    /**
+     * Run the event-driven wait in the page
+     *
+     * @return the result, or null if the caller should fall back to polling
+     */
+    @SuppressWarnings("unchecked")
+    private static Result awaitInPage(WebDriver driver, Duration timeout) {
+        // The session script timeout is set once in WebDriverFactory; a longer wait polls for the rest
+        long inPageMillis = Math.min(timeout.toMillis(), WebDriverFactory.getScriptTimeout().toMillis() - SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        if (inPageMillis <= 0) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            WaitContext.countPoll();
+            List<List<Object>> rows = (List<List<Object>>) ((JavascriptExecutor) driver).executeAsyncScript(SETTLE_SCRIPT,
+                inPageMillis);
+
+            List<Outcome> outcomes = new ArrayList<>();
+            for (List<Object> row : rows) {
+                outcomes.add(new Outcome((String) row.get(0), State.valueOf((String) row.get(1)), ((Number) row.get(2)).longValue()));
+            }
+            Result result = new Result(outcomes, System.currentTimeMillis() - start);
+            // Not settled within the capped in-page wait: poll for the rest of the timeout
+            return result.isSettled() || inPageMillis == timeout.toMillis() ? result : null;
+        } catch (UnsupportedCommandException e) {
+            asyncUnavailable = true;
+            Log.warn("⚠️ Async scripts not supported, polling for images: " + e.getMessage());
+            return null;
+        } catch (Exception e) {
+            // Typically the document was replaced by a navigation while the script was waiting
+            return null;
+        }
+    }
+
+    /**
+     * Poll the image report until no image is pending or the deadline passes
+     */
+    private static Result pollingWait(WebDriver driver, long deadline) {
+        long start = System.currentTimeMillis();
+        try {
+            ImageReport report = ImageReport.capture(driver);
+            while (!report.isSettled() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+                WaitContext.countPoll();
+                report = ImageReport.capture(driver);
+            }
+
+            List<Outcome> outcomes = new ArrayList<>();
+            for (ImageReport.Image image : report.getImages()) {
+                State state = image.isLoaded() ? State.LOADED : image.isBroken() ? State.FAILED
+                    : "lazy".equals(image.getLoading()) ? State.DEFERRED : State.PENDING;
+                outcomes.add(new Outcome(image.getCurrentSrc().isEmpty() ? image.getSrc() : image.getCurrentSrc(), state, -1));
+            }
+            return new Result(outcomes, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(Collections.emptyList(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            Log.warn("Error waiting for images to load: " + e.getMessage());
+            return new Result(Collections.emptyList(), System.currentTimeMillis() - start);
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -29,7 +31,7 @@ public class ImageValidationUtils {
                 
             return isComplete != null && isComplete;
         } catch (Exception e) {
-            System.out.println("Error checking image load status: " + e.getMessage());
+            Log.warn("Error checking image load status: " + e.getMessage());
             return false;
         }
     }
@@ -52,7 +54,7 @@ public class ImageValidationUtils {
                 
             return isBroken != null && isBroken;
         } catch (Exception e) {
-            System.out.println("Error checking if image is broken: " + e.getMessage());
+            Log.warn("Error checking if image is broken: " + e.getMessage());
             return true; // Assume broken if we can't check
         }
     }
@@ -77,7 +79,7 @@ public class ImageValidationUtils {
             WebElement container = driver.findElement(containerLocator);
             return container.findElements(By.tagName("img"));
         } catch (Exception e) {
-            System.out.println("Error finding images in container: " + e.getMessage());
+            Log.warn("Error finding images in container: " + e.getMessage());
             return driver.findElements(By.tagName("img")); // Fallback to all images
         }
     }
@@ -88,19 +90,19 @@ public class ImageValidationUtils {
      * @return Number of broken images found
      */
     public static int countBrokenImages(WebDriver driver) {
-        List<WebElement> images = getAllImages(driver);
-        int brokenCount = 0;
-        
-        for (WebElement image : images) {
-            if (isImageBroken(driver, image)) {
-                brokenCount++;
-                String src = image.getAttribute("src");
-                String alt = image.getAttribute("alt");
-                System.out.println("Broken image found - src: " + src + ", alt: " + alt);
-            }
+        return countBrokenImages(ImageReport.capture(driver));
+    }
+    
+    /**
+     * Count broken images in an image report
+     * @param report Image report of the page or a container
+     * @return Number of broken images found
+     */
+    public static int countBrokenImages(ImageReport report) {
+        for (ImageReport.Image image : report.getBroken()) {
+            Log.info(() -> "Broken image found - src: " + image.getSrc() + ", alt: " + image.getAlt());
         }
-        
-        return brokenCount;
+        return report.getBrokenCount();
     }
     
     /**
@@ -110,60 +112,65 @@ public class ImageValidationUtils {
      * @return true if all images are loaded, false if any are broken
      */
     public static boolean validateAllImagesLoaded(WebDriver driver, String pageName) {
-        List<WebElement> images = getAllImages(driver);
-        int totalImages = images.size();
-        int brokenImages = 0;
-        
-        System.out.println("🖼️ Validating " + totalImages + " images on " + pageName);
+        return validateAllImagesLoaded(ImageReport.capture(driver), pageName);
+    }
+    
+    /**
+     * Validate that all images in an image report are loaded
+     * @param report Image report of the page or a container
+     * @param pageName Name of the page for reporting
+     * @return true if all images are loaded, false if any are broken
+     */
+    public static boolean validateAllImagesLoaded(ImageReport report, String pageName) {
+        int totalImages = report.getTotal();
+        Log.info(() -> "🖼️ Validating " + totalImages + " images on " + pageName);
         
-        for (WebElement image : images) {
-            if (isImageBroken(driver, image)) {
-                brokenImages++;
-                String src = image.getAttribute("src");
-                String alt = image.getAttribute("alt");
-                System.out.println("❌ Broken image found - src: " + src + ", alt: " + alt);
-            }
+        List<ImageReport.Image> brokenImages = report.getBroken();
+        for (ImageReport.Image image : brokenImages) {
+            Log.warn("❌ Broken image found - src: " + image.getSrc() + ", alt: " + image.getAlt());
         }
         
-        if (brokenImages > 0) {
-            System.out.println("❌ " + brokenImages + " out of " + totalImages + " images failed to load on " + pageName);
+        if (!brokenImages.isEmpty()) {
+            Log.warn("❌ " + brokenImages.size() + " out of " + totalImages + " images failed to load on " + pageName);
             return false;
         } else {
-            System.out.println("✅ All " + totalImages + " images loaded successfully on " + pageName);
+            Log.info(() -> "✅ All " + totalImages + " images loaded successfully on " + pageName);
             return true;
         }
     }
     
     /**
-     * Wait for images to load on the page
+     * Validate image responses recorded from network events
+     * @param report Image requests recorded by {@link ImageNetworkCapture}
+     * @param pageName Name of the page for reporting
+     * @return true if no image request failed, slow images are reported but do not fail the validation
+     */
+    public static boolean validateImageResponses(ImageNetworkCapture.Report report, String pageName) {
+        Log.info(() -> "🌐 Image requests on " + pageName + ": " + report);
+        
+        for (ImageNetworkCapture.Request request : report.getBroken()) {
+            Log.warn("❌ Broken image response - " + request);
+        }
+        for (ImageNetworkCapture.Request request : report.getSlow()) {
+            Log.info(() -> "🐢 Slow image response - " + request);
+        }
+        return report.getBroken().isEmpty();
+    }
+    
+    /**
+     * Wait for images to load on the page, returning as soon as every image has loaded or failed
      * @param driver WebDriver instance
      * @param timeoutSeconds Maximum time to wait
+     * @return Per-image outcomes with the time each image took to settle
      */
-    public static void waitForImagesToLoad(WebDriver driver, int timeoutSeconds) {
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            
-            long startTime = System.currentTimeMillis();
-            long timeout = timeoutSeconds * 1000;
-            
-            while (System.currentTimeMillis() - startTime < timeout) {
-                Boolean imagesLoaded = (Boolean) js.executeScript(
-                    "var images = document.images;" +
-                    "for (var i = 0; i < images.length; i++) {" +
-                    "  if (!images[i].complete) return false;" +
-                    "}" +
-                    "return true;"
-                );
-                
-                if (imagesLoaded != null && imagesLoaded) {
-                    break;
-                }
-                
-                Thread.sleep(500);
-            }
-        } catch (Exception e) {
-            System.out.println("Error waiting for images to load: " + e.getMessage());
+    public static ImageSettleWait.Result waitForImagesToLoad(WebDriver driver, int timeoutSeconds) {
+        ImageSettleWait.Result result = ImageSettleWait.await(driver, Duration.ofSeconds(timeoutSeconds));
+        if (result.isSettled()) {
+            Log.info(() -> "🖼️ Images settled: " + result);
+        } else {
+            Log.warn("⚠️ Images still loading after " + timeoutSeconds + " seconds: " + result);
         }
+        return result;
     }
     
     /**
@@ -176,16 +183,15 @@ public class ImageValidationUtils {
         try {
             JavascriptExecutor js = (JavascriptExecutor) driver;
             
-            String src = imageElement.getAttribute("src");
-            String alt = imageElement.getAttribute("alt");
-            String title = imageElement.getAttribute("title");
-            
-            Object naturalWidth = js.executeScript("return arguments[0].naturalWidth", imageElement);
-            Object naturalHeight = js.executeScript("return arguments[0].naturalHeight", imageElement);
-            Boolean complete = (Boolean) js.executeScript("return arguments[0].complete", imageElement);
+            // One call for all attributes instead of one per attribute
+            @SuppressWarnings("unchecked")
+            List<Object> details = (List<Object>) js.executeScript(
+                "var img = arguments[0];" +
+                "return [img.getAttribute('src'), img.getAttribute('alt'), img.getAttribute('title'), " +
+                "img.naturalWidth, img.naturalHeight, img.complete];", imageElement);
             
             return String.format("Image Details - src: %s, alt: %s, title: %s, naturalWidth: %s, naturalHeight: %s, complete: %s",
-                src, alt, title, naturalWidth, naturalHeight, complete);
+                details.get(0), details.get(1), details.get(2), details.get(3), details.get(4), details.get(5));
                 
         } catch (Exception e) {
             return "Error getting image details: " + e.getMessage();
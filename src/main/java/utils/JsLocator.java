@@ -0,0 +1,87 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Translates Selenium locators into descriptors that can be resolved inside the page,
+ * so several locators can be checked in a single executeScript call.
+ */
+public class JsLocator {
+
+    private static final List<String> SUPPORTED_TYPES = Arrays.asList(
+        "id", "name", "className", "tagName", "cssSelector", "xpath", "linkText", "partialLinkText");
+
+    /**
+     * JavaScript function {@code __find(type, value)} returning the elements matching a descriptor.
+     * Prepend it to scripts that resolve descriptors.
+     */
+    public static final String FIND_FUNCTION =
+        "function __find(type, value) {" +
+        "  switch (type) {" +
+        "    case 'id': return Array.prototype.slice.call(document.querySelectorAll('#' + CSS.escape(value)));" +
+        "    case 'name': return Array.prototype.slice.call(document.getElementsByName(value));" +
+        "    case 'className': return Array.prototype.slice.call(document.getElementsByClassName(value));" +
+        "    case 'tagName': return Array.prototype.slice.call(document.getElementsByTagName(value));" +
+        "    case 'cssSelector': return Array.prototype.slice.call(document.querySelectorAll(value));" +
+        "    case 'xpath':" +
+        "      var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      var nodes = [];" +
+        "      for (var i = 0; i < snapshot.snapshotLength; i++) { if (snapshot.snapshotItem(i).nodeType === 1) nodes.push(snapshot.snapshotItem(i)); }" +
+        "      return nodes;" +
+        "    case 'linkText':" +
+        "    case 'partialLinkText':" +
+        "      return Array.prototype.filter.call(document.getElementsByTagName('a'), function(a) {" +
+        "        var text = (a.innerText || a.textContent || '').trim();" +
+        "        return type === 'linkText' ? text === value : text.indexOf(value) >= 0;" +
+        "      });" +
+        "  }" +
+        "  return [];" +
+        "}" +
+        "function __visible(el) {" +
+        "  if (!el.isConnected) return false;" +
+        "  var style = window.getComputedStyle(el);" +
+        "  if (style.visibility === 'hidden' || style.visibility === 'collapse' || style.display === 'none') return false;" +
+        "  var rect = el.getBoundingClientRect();" +
+        "  return rect.width > 0 && rect.height > 0;" +
+        "}" +
+        "function __enabled(el) { return !el.disabled && el.getAttribute('aria-disabled') !== 'true'; }";
+
+    /**
+     * Convert a locator to a {type, value} descriptor
+     *
+     * @return the descriptor, or null if the locator type cannot be resolved in the page
+     */
+    public static List<String> toDescriptor(By locator) {
+        String text = locator.toString();
+        int separator = text.indexOf(": ");
+        if (!text.startsWith("By.") || separator < 0) {
+            return null;
+        }
+        String type = text.substring(3, separator);
+        if (!SUPPORTED_TYPES.contains(type)) {
+            return null;
+        }
+        return Arrays.asList(type, text.substring(separator + 2));
+    }
+
+    /**
+     * Convert all locators to descriptors
+     *
+     * @return the descriptors, or null if any locator cannot be resolved in the page
+     */
+    public static List<List<String>> toDescriptors(By... locators) {
+        List<List<String>> descriptors = new ArrayList<>();
+        for (By locator : locators) {
+            List<String> descriptor = toDescriptor(locator);
+            if (descriptor == null) {
+                return null;
+            }
+            descriptors.add(descriptor);
+        }
+        return descriptors;
+    }
+}
@@ -0,0 +1,217 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Geometry based layout audit of a list of containers, such as order cards.
+ * Bounding rects and computed styles of all containers and their visible children are evaluated in one
+ * script, so the audit costs one round trip however large the page is. Layout coming from CSS classes is
+ * covered as well as inline styles, because only the rendered geometry is compared.
+ */
+public class LayoutAudit {
+
+    private static final int ALIGN_TOLERANCE_PX = ConfigManager.getIntProperty("layout.audit.align.tolerance.px", 4);
+    private static final int OVERLAP_TOLERANCE_PX = ConfigManager.getIntProperty("layout.audit.overlap.tolerance.px", 2);
+    private static final int OVERFLOW_TOLERANCE_PX = ConfigManager.getIntProperty("layout.audit.overflow.tolerance.px", 2);
+    private static final int MAX_ISSUES = ConfigManager.getIntProperty("layout.audit.max.issues", 20);
+
+    /**
+     * Returns [containerCount, [[kind, container, description], ...]] with at most maxIssues issues listed,
+     * plus the total count per kind
+     */
+    private static final String AUDIT_SCRIPT = JsLocator.FIND_FUNCTION +
+        "var containers = __find(arguments[0], arguments[1]).filter(__visible);" +
+        "var align = arguments[2], overlap = arguments[3], overflow = arguments[4], maxIssues = arguments[5];" +
+        "containers = containers.filter(function (c) { return !containers.some(function (o) { return o !== c && o.contains(c); }); });" +
+        "var issues = [], counts = { MISALIGNED: 0, MISALIGNED_CARD: 0, OVERLAP: 0, OVERFLOW: 0, NEGATIVE_INDENT: 0 };" +
+        "function px(value) { return parseFloat(value) || 0; }" +
+        "function describe(el) {" +
+        "  var name = el.tagName.toLowerCase(), cls = (el.getAttribute('class') || '').trim().split(/\\s+/)[0];" +
+        "  return cls ? name + '.' + cls : name;" +
+        "}" +
+        "function report(kind, index, text) {" +
+        "  counts[kind]++;" +
+        "  if (issues.length < maxIssues) issues.push([kind, index, text]);" +
+        "}" +
+        "function mode(values) {" +
+        "  var best = null, bestCount = 0;" +
+        "  values.forEach(function (v) {" +
+        "    var n = values.filter(function (o) { return Math.abs(o - v) <= align; }).length;" +
+        "    if (n > bestCount) { best = v; bestCount = n; }" +
+        "  });" +
+        "  return best;" +
+        "}" +
+        "var rects = containers.map(function (c) { return c.getBoundingClientRect(); });" +
+        // Cards whose vertical ranges overlap form a row; the k-th card of each row is in column k
+        "var order = rects.map(function (r, i) { return i; }).sort(function (a, b) { return rects[a].top - rects[b].top || rects[a].left - rects[b].left; });" +
+        "var rows = [];" +
+        "order.forEach(function (i) {" +
+        "  var row = rows[rows.length - 1];" +
+        "  if (row && rects[i].top < Math.min.apply(null, row.map(function (k) { return rects[k].bottom; })) - overlap) row.push(i); else rows.push([i]);" +
+        "});" +
+        "var columns = [];" +
+        "rows.forEach(function (row) {" +
+        "  row.sort(function (a, b) { return rects[a].left - rects[b].left; });" +
+        "  row.forEach(function (i, k) { (columns[k] = columns[k] || []).push(i); });" +
+        "});" +
+        "columns.forEach(function (column) {" +
+        "  var columnLeft = mode(column.map(function (i) { return rects[i].left; }));" +
+        "  column.forEach(function (i) {" +
+        "    if (Math.abs(rects[i].left - columnLeft) > align) report('MISALIGNED_CARD', i, describe(containers[i]) + ' starts at x=' + Math.round(rects[i].left) + ', other cards in its column at x=' + Math.round(columnLeft));" +
+        "  });" +
+        "});" +
+        "rects.forEach(function (r, i) {" +
+        "  for (var j = i + 1; j < rects.length; j++) {" +
+        "    var o = rects[j];" +
+        "    var w = Math.min(r.right, o.right) - Math.max(r.left, o.left), h = Math.min(r.bottom, o.bottom) - Math.max(r.top, o.top);" +
+        "    if (w > overlap && h > overlap) report('OVERLAP', i, describe(containers[i]) + ' overlaps card ' + (j + 1) + ' by ' + Math.round(w) + 'x' + Math.round(h) + ' px');" +
+        "  }" +
+        "});" +
+        "containers.forEach(function (card, i) {" +
+        "  var r = rects[i], style = getComputedStyle(card);" +
+        "  var contentLeft = r.left + px(style.borderLeftWidth) + px(style.paddingLeft);" +
+        "  var flow = style.display.indexOf('flex') < 0 && style.display.indexOf('grid') < 0;" +
+        "  var blockLefts = [], blocks = [];" +
+        "  Array.prototype.forEach.call(card.querySelectorAll('*'), function (child) {" +
+        "    if (!__visible(child)) return;" +
+        "    var c = child.getBoundingClientRect(), cs = getComputedStyle(child);" +
+        "    if (c.left < contentLeft - align || px(cs.textIndent) < -align)" +
+        "      report('NEGATIVE_INDENT', i, describe(child) + (c.left < contentLeft - align" +
+        "        ? ' starts ' + Math.round(contentLeft - c.left) + ' px left of the card content' : ' has text-indent ' + cs.textIndent));" +
+        "    if (c.right > r.right + overflow || c.bottom > r.bottom + overflow)" +
+        "      report('OVERFLOW', i, describe(child) + ' extends ' + Math.round(Math.max(c.right - r.right, c.bottom - r.bottom)) + ' px outside the card');" +
+        "    if (flow && child.parentElement === card && cs.display === 'block' && cs.float === 'none' && cs.position === 'static') {" +
+        "      blockLefts.push(c.left); blocks.push(child);" +
+        "    }" +
+        "  });" +
+        "  var childLeft = mode(blockLefts);" +
+        "  blockLefts.forEach(function (left, k) {" +
+        "    if (Math.abs(left - childLeft) > align) report('MISALIGNED', i, describe(blocks[k]) + ' starts at x=' + Math.round(left) + ', siblings at x=' + Math.round(childLeft));" +
+        "  });" +
+        "});" +
+        "return [containers.length, issues, counts];";
+
+    /**
+     * Kind of layout problem
+     */
+    public enum Kind {
+        /** Left edge of a block differs from its sibling blocks in the card */
+        MISALIGNED,
+        /** Left edge of a card differs from the other cards in its column */
+        MISALIGNED_CARD,
+        /** Two cards cover each other */
+        OVERLAP,
+        /** Child extends past the right or bottom edge of its card */
+        OVERFLOW,
+        /** Child starts left of the card content, e.g. negative margin or text-indent */
+        NEGATIVE_INDENT
+    }
+
+    /**
+     * Layout problem found in one container
+     */
+    public static final class Issue {
+
+        private final Kind kind;
+        private final int container;
+        private final String description;
+
+        Issue(Kind kind, int container, String description) {
+            this.kind = kind;
+            this.container = container;
+            this.description = description;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        /** Position of the container, starting at 0 */
+        public int getContainer() {
+            return container;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String toString() {
+            return kind + " in card " + (container + 1) + ": " + description;
+        }
+    }
+
+    /**
+     * Compact audit result: counts per kind and the first issues found
+     */
+    public static final class Result {
+
+        private final int containerCount;
+        private final List<Issue> issues;
+        private final Map<Kind, Integer> counts;
+
+        Result(int containerCount, List<Issue> issues, Map<Kind, Integer> counts) {
+            this.containerCount = containerCount;
+            this.issues = Collections.unmodifiableList(issues);
+            this.counts = Collections.unmodifiableMap(counts);
+        }
+
+        public int getContainerCount() {
+            return containerCount;
+        }
+
+        /** First issues found, at most layout.audit.max.issues */
+        public List<Issue> getIssues() {
+            return issues;
+        }
+
+        public int getCount(Kind kind) {
+            return counts.getOrDefault(kind, 0);
+        }
+
+        public int getTotalCount() {
+            return counts.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        public boolean isClean() {
+            return getTotalCount() == 0;
+        }
+
+        @Override
+        public String toString() {
+            return containerCount + " containers audited, issues " + counts;
+        }
+    }
+
+    /**
+     * Audit the containers matching the locator and their visible descendants
+     *
+     * @return the result, or null if the locator cannot be resolved in the page
+     */
+    @SuppressWarnings("unchecked")
+    public static Result audit(WebDriver driver, By containers) {
+        List<String> descriptor = JsLocator.toDescriptor(containers);
+        if (descriptor == null) {
+            return null;
+        }
+        List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeScript(AUDIT_SCRIPT,
+            descriptor.get(0), descriptor.get(1), ALIGN_TOLERANCE_PX, OVERLAP_TOLERANCE_PX, OVERFLOW_TOLERANCE_PX, MAX_ISSUES);
+
+        List<Issue> issues = new ArrayList<>();
+        for (List<Object> issue : (List<List<Object>>) result.get(1)) {
+            issues.add(new Issue(Kind.valueOf((String) issue.get(0)), ((Number) issue.get(1)).intValue(), (String) issue.get(2)));
+        }
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        ((Map<String, Object>) result.get(2)).forEach((kind, count) -> counts.put(Kind.valueOf(kind), ((Number) count).intValue()));
+        return new Result(((Number) result.get(0)).intValue(), issues, counts);
+    }
+}
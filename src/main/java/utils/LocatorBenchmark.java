@@ -0,0 +1,191 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the evaluation cost of the locators registered in {@link LocatorRegistry} on saved page DOMs.
+ * DOMs are saved per page object while tests run, then parsed into a detached document in the browser
+ * (no scripts, no network) where each XPath and its CSS rewrite are evaluated repeatedly. The report
+ * shows the per-page speedup, checks that each rewrite matches the same elements and flags slow locators.
+ */
+public class LocatorBenchmark {
+
+    private static final String OUTPUT_DIR = ConfigManager.getProperty("locator.benchmark.dir", "test-output/locator-benchmark");
+    private static final int ITERATIONS = ConfigManager.getIntProperty("locator.benchmark.iterations", 50);
+    private static final int SLOW_MICROS = ConfigManager.getIntProperty("locator.benchmark.slow.micros", 200);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Parses the DOM and times each locator; returns [xpathMicros, xpathMatches, cssMicros, cssMatches, sameElements]
+     * per locator, with the CSS values null when the locator has no rewrite
+     */
+    private static final String BENCHMARK_SCRIPT =
+        "var html = arguments[0], locators = arguments[1], iterations = arguments[2];" +
+        "var doc = new DOMParser().parseFromString(html, 'text/html');" +
+        "function byXpath(expression) {" +
+        "  var snapshot = doc.evaluate(expression, doc, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), nodes = [];" +
+        "  for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));" +
+        "  return nodes;" +
+        "}" +
+        "function byCss(expression) { return Array.prototype.slice.call(doc.querySelectorAll(expression)); }" +
+        "function time(find, expression) {" +
+        "  var nodes = find(expression), start = performance.now();" +
+        "  for (var i = 0; i < iterations; i++) find(expression);" +
+        "  return [(performance.now() - start) * 1000 / iterations, nodes];" +
+        "}" +
+        "return locators.map(function (locator) {" +
+        "  var xpath = time(byXpath, locator[0]);" +
+        "  if (!locator[1]) return [xpath[0], xpath[1].length, null, null, null];" +
+        "  var css = time(byCss, locator[1]);" +
+        "  var same = css[1].length === xpath[1].length && css[1].every(function (node) { return xpath[1].indexOf(node) >= 0; });" +
+        "  return [xpath[0], xpath[1].length, css[0], css[1].length, same];" +
+        "});";
+
+    /**
+     * Save the current DOM for a page object, e.g. saveDom(driver, "OrdersPage")
+     */
+    public static void saveDom(WebDriver driver, String page) {
+        try {
+            String html = (String) ((JavascriptExecutor) driver).executeScript("return document.documentElement.outerHTML;");
+            File file = domFile(page);
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), html.getBytes(StandardCharsets.UTF_8));
+            Log.info(() -> "💾 Saved " + page + " DOM (" + html.length() + " chars) to " + file.getPath());
+        } catch (IOException e) {
+            Log.warn("⚠️ Could not save " + page + " DOM: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Benchmark the registered locators of every page object with a saved DOM and write the JSON report
+     *
+     * @return the number of CSS rewrites that do not match the same elements; slow locators are only reported,
+     *         since their cost depends on the machine and XPath-only locators cannot be rewritten
+     */
+    @SuppressWarnings("unchecked")
+    public static int run(WebDriver driver) {
+        Map<String, Object> pages = new LinkedHashMap<>();
+        int mismatches = 0;
+
+        for (Map.Entry<String, List<LocatorRegistry.Entry>> page : LocatorRegistry.getEntriesByPage().entrySet()) {
+            File dom = domFile(page.getKey());
+            if (!dom.exists()) {
+                continue;
+            }
+
+            List<LocatorRegistry.Entry> entries = new ArrayList<>();
+            List<List<String>> locators = new ArrayList<>();
+            for (LocatorRegistry.Entry entry : page.getValue()) {
+                String xpath = valueOf(entry.getOriginal().toString(), "By.xpath: ");
+                if (xpath != null) {
+                    entries.add(entry);
+                    locators.add(Arrays.asList(xpath,
+                        entry.isRewritten() ? valueOf(entry.getCompiled().toString(), "By.cssSelector: ") : null));
+                }
+            }
+
+            List<List<Object>> results;
+            try {
+                String html = new String(Files.readAllBytes(dom.toPath()), StandardCharsets.UTF_8);
+                results = (List<List<Object>>) ((JavascriptExecutor) driver)
+                    .executeScript(BENCHMARK_SCRIPT, html, locators, ITERATIONS);
+            } catch (IOException | RuntimeException e) {
+                Log.warn("⚠️ Could not benchmark " + page.getKey() + ": " + e.getMessage());
+                continue;
+            }
+
+            double pageXpathMicros = 0;
+            double pageCompiledMicros = 0;
+            List<Map<String, Object>> locatorReports = new ArrayList<>();
+            for (int i = 0; i < results.size(); i++) {
+                List<Object> result = results.get(i);
+                double xpathMicros = ((Number) result.get(0)).doubleValue();
+                boolean rewritten = result.get(2) != null;
+                double compiledMicros = rewritten ? ((Number) result.get(2)).doubleValue() : xpathMicros;
+                boolean sameElements = !rewritten || Boolean.TRUE.equals(result.get(4));
+                boolean slow = compiledMicros > SLOW_MICROS;
+
+                pageXpathMicros += xpathMicros;
+                pageCompiledMicros += compiledMicros;
+                if (!sameElements) {
+                    mismatches++;
+                }
+
+                Map<String, Object> report = new LinkedHashMap<>();
+                report.put("xpath", locators.get(i).get(0));
+                report.put("css", locators.get(i).get(1));
+                report.put("xpathMicros", round(xpathMicros));
+                report.put("xpathMatches", result.get(1));
+                if (rewritten) {
+                    report.put("cssMicros", round(compiledMicros));
+                    report.put("cssMatches", result.get(3));
+                    report.put("speedup", round(xpathMicros / Math.max(compiledMicros, 0.001)));
+                    report.put("sameElements", sameElements);
+                }
+                report.put("slow", slow);
+                locatorReports.add(report);
+
+                if (!sameElements) {
+                    Log.warn("❌ CSS rewrite matches different elements on " + page.getKey() + ": " + entries.get(i).getCompiled());
+                } else if (slow) {
+                    Log.info("🐢 Slow locator on " + page.getKey() + " (" + round(compiledMicros) + " µs): " + entries.get(i).getCompiled());
+                }
+            }
+
+            double speedup = pageXpathMicros / Math.max(pageCompiledMicros, 0.001);
+            Map<String, Object> pageReport = new LinkedHashMap<>();
+            pageReport.put("locators", locatorReports.size());
+            pageReport.put("rewritten", entries.stream().filter(LocatorRegistry.Entry::isRewritten).count());
+            pageReport.put("xpathMicros", round(pageXpathMicros));
+            pageReport.put("compiledMicros", round(pageCompiledMicros));
+            pageReport.put("speedup", round(speedup));
+            pageReport.put("details", locatorReports);
+            pages.put(page.getKey(), pageReport);
+            Log.info(String.format("⚡ %s: %d/%d locators rewritten to CSS, %.1f µs -> %.1f µs per lookup pass (%.1fx)",
+                page.getKey(), (Long) pageReport.get("rewritten"), locatorReports.size(), pageXpathMicros, pageCompiledMicros, speedup));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().toString());
+        report.put("iterations", ITERATIONS);
+        report.put("slowThresholdMicros", SLOW_MICROS);
+        report.put("pages", pages);
+        try {
+            File file = new File(OUTPUT_DIR, "locator-benchmark.json");
+            file.getParentFile().mkdirs();
+            MAPPER.writeValue(file, report);
+            Log.info(() -> "📊 Locator benchmark report: " + file.getPath());
+        } catch (IOException e) {
+            Log.warn("⚠️ Could not write locator benchmark report: " + e.getMessage());
+        }
+        return mismatches;
+    }
+
+    private static File domFile(String page) {
+        return new File(new File(OUTPUT_DIR, "doms"), page + ".html");
+    }
+
+    private static String valueOf(String locator, String prefix) {
+        return locator.startsWith(prefix) ? locator.substring(prefix.length()) : null;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
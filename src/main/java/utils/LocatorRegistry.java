@@ -0,0 +1,414 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of page object locators that rewrites XPaths into CSS selectors where the meaning is identical.
+ * Handles unions, descendant/child steps and predicates built from attribute equality, attribute presence,
+ * contains(@attr, ...) and starts-with(@attr, ...) combined with and/or. XPaths that need text matching,
+ * axes or positions are kept as they are. Compiled locators are memoized and remembered per page object
+ * so {@link LocatorBenchmark} can measure them.
+ */
+public class LocatorRegistry {
+
+    /** Upper limit of selectors an or-expansion may produce before the XPath is kept instead */
+    private static final int MAX_SELECTORS = 24;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private static final Map<String, By> compiled = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, Entry>> entriesByPage = new ConcurrentHashMap<>();
+
+    /**
+     * Original and compiled form of a registered locator
+     */
+    public static final class Entry {
+
+        private final By original;
+        private final By compiled;
+
+        Entry(By original, By compiled) {
+            this.original = original;
+            this.compiled = compiled;
+        }
+
+        public By getOriginal() {
+            return original;
+        }
+
+        public By getCompiled() {
+            return compiled;
+        }
+
+        public boolean isRewritten() {
+            return original != compiled;
+        }
+    }
+
+    /**
+     * Get the fastest equivalent of a locator and register it for the calling page object
+     *
+     * @return a CSS locator if the XPath could be rewritten, otherwise the locator itself
+     */
+    public static By compile(By locator) {
+        String text = locator.toString();
+        By result = locator;
+        if (text.startsWith("By.xpath: ")) {
+            result = compiled.computeIfAbsent(text, key -> {
+                String css = toCss(key.substring("By.xpath: ".length()));
+                return css != null ? By.cssSelector(css) : locator;
+            });
+        }
+
+        String page = STACK_WALKER.getCallerClass().getSimpleName();
+        entriesByPage.computeIfAbsent(page, key -> Collections.synchronizedMap(new LinkedHashMap<>()))
+            .putIfAbsent(text, new Entry(locator, result));
+        return result;
+    }
+
+    /**
+     * Get the locators registered by each page object
+     */
+    public static Map<String, List<Entry>> getEntriesByPage() {
+        Map<String, List<Entry>> result = new LinkedHashMap<>();
+        entriesByPage.forEach((page, entries) -> {
+            synchronized (entries) {
+                result.put(page, new ArrayList<>(entries.values()));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Translate an XPath into an equivalent CSS selector list
+     *
+     * @return the CSS selector, or null if the XPath uses features CSS cannot express
+     */
+    public static String toCss(String xpath) {
+        List<String> selectors = new ArrayList<>();
+        for (String path : splitTopLevel(xpath.trim(), '|')) {
+            List<String> pathSelectors = new PathParser(path.trim()).parse();
+            if (pathSelectors == null) {
+                return null;
+            }
+            selectors.addAll(pathSelectors);
+            if (selectors.size() > MAX_SELECTORS) {
+                return null;
+            }
+        }
+        return selectors.isEmpty() ? null : String.join(", ", selectors);
+    }
+
+    /**
+     * Split on a separator outside brackets, parentheses and string literals
+     */
+    private static List<String> splitTopLevel(String value, char separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '[' || c == '(') {
+                depth++;
+            } else if (c == ']' || c == ')') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                parts.add(value.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(value.substring(start));
+        return parts;
+    }
+
+    /**
+     * Parser for one location path: (// | /) step ... where step = name-test predicate*
+     */
+    private static final class PathParser {
+
+        private final String path;
+        private int pos;
+
+        PathParser(String path) {
+            this.path = path;
+        }
+
+        List<String> parse() {
+            if (!path.startsWith("//")) {
+                return null;
+            }
+            List<String> selectors = Collections.singletonList("");
+            boolean first = true;
+            while (pos < path.length()) {
+                String combinator;
+                if (path.startsWith("//", pos)) {
+                    combinator = first ? "" : " ";
+                    pos += 2;
+                } else if (path.startsWith("/", pos) && !first) {
+                    combinator = " > ";
+                    pos += 1;
+                } else {
+                    return null;
+                }
+                first = false;
+
+                String tag = readNameTest();
+                if (tag == null) {
+                    return null;
+                }
+
+                // Each step is a conjunction of its predicates, expanded into alternatives for or
+                List<List<String>> alternatives = Collections.singletonList(new ArrayList<>());
+                while (pos < path.length() && path.charAt(pos) == '[') {
+                    int end = findClosingBracket(pos);
+                    if (end < 0) {
+                        return null;
+                    }
+                    List<List<String>> predicate = new PredicateParser(path.substring(pos + 1, end)).parse();
+                    if (predicate == null) {
+                        return null;
+                    }
+                    alternatives = and(alternatives, predicate);
+                    if (alternatives.size() > MAX_SELECTORS) {
+                        return null;
+                    }
+                    pos = end + 1;
+                }
+
+                List<String> expanded = new ArrayList<>();
+                for (String prefix : selectors) {
+                    for (List<String> conjunction : alternatives) {
+                        expanded.add(prefix + combinator + ("*".equals(tag) && !conjunction.isEmpty() ? "" : tag)
+                            + String.join("", conjunction));
+                    }
+                }
+                if (expanded.size() > MAX_SELECTORS) {
+                    return null;
+                }
+                selectors = expanded;
+            }
+            return selectors;
+        }
+
+        private String readNameTest() {
+            int start = pos;
+            if (pos < path.length() && path.charAt(pos) == '*') {
+                pos++;
+                return "*";
+            }
+            while (pos < path.length() && (Character.isLetterOrDigit(path.charAt(pos)) || path.charAt(pos) == '-' || path.charAt(pos) == '_')) {
+                pos++;
+            }
+            if (pos == start || !Character.isLetter(path.charAt(start))) {
+                return null;
+            }
+            // Axes (name::) and function steps such as text() are not expressible in CSS
+            if (pos < path.length() && (path.charAt(pos) == ':' || path.charAt(pos) == '(')) {
+                return null;
+            }
+            return path.substring(start, pos);
+        }
+
+        private int findClosingBracket(int open) {
+            int depth = 0;
+            char quote = 0;
+            for (int i = open; i < path.length(); i++) {
+                char c = path.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '[') {
+                    depth++;
+                } else if (c == ']' && --depth == 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Parser for a predicate into disjunctive normal form: a list of alternatives, each a list of CSS attribute selectors
+     */
+    private static final class PredicateParser {
+
+        private final String text;
+        private int pos;
+
+        PredicateParser(String text) {
+            this.text = text;
+        }
+
+        List<List<String>> parse() {
+            List<List<String>> result = orExpression();
+            skipWhitespace();
+            return result != null && pos == text.length() ? result : null;
+        }
+
+        private List<List<String>> orExpression() {
+            List<List<String>> result = andExpression();
+            while (result != null && keyword("or")) {
+                List<List<String>> right = andExpression();
+                if (right == null) {
+                    return null;
+                }
+                result = new ArrayList<>(result);
+                result.addAll(right);
+            }
+            return result;
+        }
+
+        private List<List<String>> andExpression() {
+            List<List<String>> result = factor();
+            while (result != null && keyword("and")) {
+                List<List<String>> right = factor();
+                if (right == null) {
+                    return null;
+                }
+                result = and(result, right);
+            }
+            return result;
+        }
+
+        private List<List<String>> factor() {
+            skipWhitespace();
+            if (consume("(")) {
+                List<List<String>> inner = orExpression();
+                return inner != null && consume(")") ? inner : null;
+            }
+            String atom = atom();
+            if (atom == null) {
+                return null;
+            }
+            List<List<String>> result = new ArrayList<>();
+            result.add(Collections.singletonList(atom));
+            return result;
+        }
+
+        private String atom() {
+            skipWhitespace();
+            String function = null;
+            if (consume("contains(")) {
+                function = "*=";
+            } else if (consume("starts-with(")) {
+                function = "^=";
+            }
+
+            skipWhitespace();
+            if (!consume("@")) {
+                return null;
+            }
+            String attribute = name();
+            if (attribute == null) {
+                return null;
+            }
+
+            if (function != null) {
+                skipWhitespace();
+                String literal = consume(",") ? literal() : null;
+                skipWhitespace();
+                return literal != null && consume(")") ? attributeSelector(attribute, function, literal) : null;
+            }
+
+            skipWhitespace();
+            if (consume("=")) {
+                String literal = literal();
+                return literal != null ? attributeSelector(attribute, "=", literal) : null;
+            }
+            return "[" + attribute + "]";
+        }
+
+        private String name() {
+            int start = pos;
+            while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '-' || text.charAt(pos) == '_')) {
+                pos++;
+            }
+            return pos > start ? text.substring(start, pos) : null;
+        }
+
+        private String literal() {
+            skipWhitespace();
+            if (pos >= text.length() || (text.charAt(pos) != '\'' && text.charAt(pos) != '"')) {
+                return null;
+            }
+            char quote = text.charAt(pos);
+            int end = text.indexOf(quote, pos + 1);
+            if (end < 0) {
+                return null;
+            }
+            String value = text.substring(pos + 1, end);
+            pos = end + 1;
+            return value;
+        }
+
+        private boolean keyword(String keyword) {
+            skipWhitespace();
+            int end = pos + keyword.length();
+            if (text.startsWith(keyword, pos) && end < text.length() && !Character.isLetterOrDigit(text.charAt(end))
+                && text.charAt(end) != '-') {
+                pos = end;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean consume(String token) {
+            if (text.startsWith(token, pos)) {
+                pos += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+
+    private static String attributeSelector(String attribute, String operator, String value) {
+        // contains(@a, '') is true for any element with the attribute, CSS *= '' matches nothing
+        if (value.isEmpty() && !"=".equals(operator)) {
+            return "[" + attribute + "]";
+        }
+        if (value.contains("\\") || value.contains("\n")) {
+            return null;
+        }
+        // A literal never holds its own quote character, so the other one can always delimit it
+        String quoted = value.contains("'") ? "\"" + value + "\"" : "'" + value + "'";
+        return "[" + attribute + operator + quoted + "]";
+    }
+
+    /**
+     * Conjunction of two expressions in disjunctive normal form
+     */
+    private static List<List<String>> and(List<List<String>> left, List<List<String>> right) {
+        List<List<String>> result = new ArrayList<>();
+        for (List<String> l : left) {
+            for (List<String> r : right) {
+                List<String> combined = new ArrayList<>(l);
+                combined.addAll(r);
+                result.add(combined);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,306 @@
+package utils;
+
+import config.ConfigManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Framework logger.
+ * While a test runs, its log entries go to a per-thread ring buffer of the last log.buffer.size entries;
+ * the buffer is written out only if the test fails, so passing tests write almost nothing. Entries at
+ * log.file.level and above are also written right away, and entries outside a test (suite setup and
+ * teardown) go straight to the file. Writing is done by a background appender, so test threads do not
+ * contend on a shared stream; only entries at log.console.level and failure dumps reach the console.
+ * Entries below log.level return before any formatting.
+ */
+public final class Log {
+
+    /**
+     * Severity of a log entry
+     */
+    public enum Level {
+        TRACE, DEBUG, INFO, WARN, ERROR
+    }
+
+    private static final Level LEVEL = level("log.level", Level.INFO);
+    private static final Level FILE_LEVEL = level("log.file.level", Level.WARN);
+    private static final Level CONSOLE_LEVEL = level("log.console.level", Level.WARN);
+    private static final int BUFFER_SIZE = Math.max(1, ConfigManager.getIntProperty("log.buffer.size", 500));
+    private static final Path FILE = Paths.get(ConfigManager.getProperty("log.file", "test-output/logs/framework.log"));
+
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final ThreadLocal<Context> context = ThreadLocal.withInitial(Context::new);
+    private static final Appender appender = new Appender(FILE);
+
+    /**
+     * Test context and ring buffer of one thread
+     */
+    private static final class Context {
+
+        private String test;
+        private String platform;
+        private Supplier<String> session;
+
+        private final long[] times = new long[BUFFER_SIZE];
+        private final Level[] levels = new Level[BUFFER_SIZE];
+        private final String[] messages = new String[BUFFER_SIZE];
+        private int next;
+        private int size;
+
+        void add(long time, Level level, String message) {
+            times[next] = time;
+            levels[next] = level;
+            messages[next] = message;
+            next = (next + 1) % BUFFER_SIZE;
+            size = Math.min(size + 1, BUFFER_SIZE);
+        }
+
+        void clear() {
+            Arrays.fill(messages, null);
+            next = 0;
+            size = 0;
+        }
+
+        String describe() {
+            if (test == null) {
+                return "";
+            }
+            String sessionId = session != null ? session.get() : null;
+            return " [" + test + (platform != null ? " | " + platform : "") + (sessionId != null ? " | " + sessionId : "") + "]";
+        }
+    }
+
+    private Log() {
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(LEVEL) >= 0;
+    }
+
+    public static void trace(String message) {
+        log(Level.TRACE, message);
+    }
+
+    /**
+     * Log a trace message built only when trace logging is enabled
+     */
+    public static void trace(Supplier<String> message) {
+        log(Level.TRACE, message);
+    }
+
+    public static void debug(String message) {
+        log(Level.DEBUG, message);
+    }
+
+    /**
+     * Log a debug message built only when debug logging is enabled
+     */
+    public static void debug(Supplier<String> message) {
+        log(Level.DEBUG, message);
+    }
+
+    public static void info(String message) {
+        log(Level.INFO, message);
+    }
+
+    /**
+     * Log an info message built only when info logging is enabled; use it for messages that concatenate
+     * or format values, so a higher log.level skips building them
+     */
+    public static void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    public static void warn(String message) {
+        log(Level.WARN, message);
+    }
+
+    public static void error(String message) {
+        log(Level.ERROR, message);
+    }
+
+    public static void log(Level level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            log(level, message.get());
+        }
+    }
+
+    public static void log(Level level, String message) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Context ctx = context.get();
+        long now = System.currentTimeMillis();
+        if (ctx.test != null) {
+            ctx.add(now, level, message);
+            if (level.compareTo(FILE_LEVEL) < 0 && level.compareTo(CONSOLE_LEVEL) < 0) {
+                return;
+            }
+        }
+
+        String line = format(now, level, Thread.currentThread().getName(), ctx.describe(), message);
+        if (ctx.test == null || level.compareTo(FILE_LEVEL) >= 0) {
+            appender.append(line);
+        }
+        if (level.compareTo(CONSOLE_LEVEL) >= 0) {
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Start buffering the entries of a test on the current thread
+     *
+     * @param session supplies the browser session id, read when entries are written
+     */
+    public static void startTest(String test, String platform, Supplier<String> session) {
+        Context ctx = context.get();
+        ctx.clear();
+        ctx.test = test;
+        ctx.platform = platform;
+        ctx.session = session;
+    }
+
+    /**
+     * End the test on the current thread; the buffered entries are written to the file and the console
+     * if it failed and discarded otherwise
+     */
+    public static void endTest(boolean failed) {
+        Context ctx = context.get();
+        if (ctx.test == null) {
+            return;
+        }
+        if (failed && ctx.size > 0) {
+            String thread = Thread.currentThread().getName();
+            String describe = ctx.describe();
+            StringBuilder dump = new StringBuilder("---- " + ctx.test + " failed, last " + ctx.size + " log entries" + describe + " ----");
+            int first = (ctx.next - ctx.size + BUFFER_SIZE) % BUFFER_SIZE;
+            for (int i = 0; i < ctx.size; i++) {
+                int index = (first + i) % BUFFER_SIZE;
+                dump.append(System.lineSeparator()).append(format(ctx.times[index], ctx.levels[index], thread, describe, ctx.messages[index]));
+            }
+            dump.append(System.lineSeparator()).append("---- end of ").append(ctx.test).append(" ----");
+            appender.append(dump.toString());
+            System.out.println(dump);
+        }
+        ctx.clear();
+        ctx.test = null;
+        ctx.platform = null;
+        ctx.session = null;
+    }
+
+    /**
+     * Wait until the appender has written all queued entries
+     */
+    public static void flush(long timeoutMillis) {
+        appender.flush(timeoutMillis);
+    }
+
+    private static String format(long time, Level level, String thread, String describe, String message) {
+        return TIME_FORMAT.format(Instant.ofEpochMilli(time)) + " " + String.format("%-5s", level) + " [" + thread + "]" + describe + " " + message;
+    }
+
+    private static Level level(String key, Level defaultLevel) {
+        try {
+            return Level.valueOf(ConfigManager.getProperty(key, defaultLevel.name()).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return defaultLevel;
+        }
+    }
+
+    /**
+     * Background file writer fed through a bounded queue; a full queue makes the logging thread wait
+     */
+    private static final class Appender implements Runnable {
+
+        private final Path file;
+        private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(8192);
+        private final AtomicLong appended = new AtomicLong();
+        private volatile long written;
+
+        Appender(Path file) {
+            this.file = file;
+            Thread thread = new Thread(this, "log-writer");
+            thread.setDaemon(true);
+            thread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(5000), "log-shutdown"));
+        }
+
+        void append(String line) {
+            try {
+                queue.put(line);
+                appended.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void flush(long timeoutMillis) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            long target = appended.get();
+            while (written < target && System.currentTimeMillis() < deadline) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            List<String> batch = new ArrayList<>();
+            while (true) {
+                try {
+                    String first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    write(batch);
+                    written += batch.size();
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+
+        private void write(List<String> lines) {
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (String line : lines) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Failed to write log file " + file + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -25,6 +25,13 @@ public class NetworkErrorHandler {
         "advertisement"
     );
     
+    /**
+     * Get the URL patterns of known failing requests
+     */
+    public static List<String> getIgnoredFailedUrls() {
+        return IGNORED_FAILED_URLS;
+    }
+    
     /**
      * Check if a URL should be ignored when it fails
      */
@@ -45,7 +52,7 @@ public class NetworkErrorHandler {
             driver.manage().logs().get(LogType.BROWSER).getAll();
         } catch (Exception e) {
             // Ignore if logs are not available
-            System.out.println("Console logs not available: " + e.getMessage());
+            Log.warn("Console logs not available: " + e.getMessage());
         }
     }
     
@@ -61,7 +68,7 @@ public class NetworkErrorHandler {
                 
                 // Skip errors from ignored URLs
                 if (shouldIgnoreFailedUrl(message)) {
-                    System.out.println("⚠️ Ignoring known failing request: " + log.getMessage());
+                    Log.warn("⚠️ Ignoring known failing request: " + log.getMessage());
                     continue;
                 }
                 
@@ -70,19 +77,20 @@ public class NetworkErrorHandler {
                     !message.contains("favicon") && 
                     !message.contains("ads") &&
                     !message.contains("analytics")) {
-                    System.out.println("❌ Critical JavaScript error found: " + log.getMessage());
+                    Log.warn("❌ Critical JavaScript error found: " + log.getMessage());
                     return true;
                 }
             }
         } catch (Exception e) {
-            System.out.println("⚠️ Could not check JavaScript errors: " + e.getMessage());
+            Log.warn("⚠️ Could not check JavaScript errors: " + e.getMessage());
         }
         
         return false;
     }
     
     /**
-     * Wait for page to be ready, ignoring network failures from known problematic URLs
+     * Wait for page to be ready, ignoring network failures from known problematic URLs.
+     * Returns once the document is complete and the network has been idle, see {@link NetworkIdleTracker}
      */
     public static void waitForPageReadyIgnoringKnownFailures(WebDriver driver, int timeoutSeconds) {
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
@@ -102,11 +110,12 @@ public class NetworkErrorHandler {
             // Clear console logs to prevent accumulation
             clearConsoleLogs(driver);
             
-            // Additional wait for any dynamic content, but don't fail on network errors
-            Thread.sleep(2000);
+            // Wait for dynamic content until the network is quiet, ignoring known failing requests
+            long settleMillis = NetworkIdleTracker.waitForNetworkIdle(driver, timeoutSeconds * 1000L);
+            Log.info(() -> "🌐 Page settled in " + settleMillis + " ms");
             
         } catch (Exception e) {
-            System.out.println("⚠️ Page ready check completed with warnings: " + e.getMessage());
+            Log.warn("⚠️ Page ready check completed with warnings: " + e.getMessage());
         }
     }
     
@@ -116,7 +125,7 @@ public class NetworkErrorHandler {
     public static boolean navigateWithRetry(WebDriver driver, String url, int maxRetries) {
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
-                System.out.println("🌐 Navigation attempt " + attempt + " to: " + url);
+                Log.info("🌐 Navigation attempt " + attempt + " to: " + url);
                 
                 driver.get(url);
                 
@@ -126,12 +135,12 @@ public class NetworkErrorHandler {
                 // Check if we're on the expected domain (basic validation)
                 String currentUrl = driver.getCurrentUrl();
                 if (currentUrl.contains("testathon.live")) {
-                    System.out.println("✅ Successfully navigated to: " + currentUrl);
+                    Log.info(() -> "✅ Successfully navigated to: " + currentUrl);
                     return true;
                 }
                 
             } catch (Exception e) {
-                System.out.println("⚠️ Navigation attempt " + attempt + " failed: " + e.getMessage());
+                Log.warn("⚠️ Navigation attempt " + attempt + " failed: " + e.getMessage());
                 
                 if (attempt < maxRetries) {
                     try {
@@ -143,7 +152,7 @@ public class NetworkErrorHandler {
             }
         }
         
-        System.out.println("❌ All navigation attempts failed for: " + url);
+        Log.error("❌ All navigation attempts failed for: " + url);
         return false;
     }
     
@@ -165,7 +174,7 @@ public class NetworkErrorHandler {
             return !hasCriticalJavaScriptErrors(driver);
             
         } catch (Exception e) {
-            System.out.println("⚠️ Click action completed with warnings: " + e.getMessage());
+            Log.warn("⚠️ Click action completed with warnings: " + e.getMessage());
             return true; // Don't fail the test for network issues
         }
     }
@@ -203,10 +212,10 @@ public class NetworkErrorHandler {
                 """;
             
             js.executeScript(script);
-            System.out.println("✅ Network error tolerance configured");
+            Log.info("✅ Network error tolerance configured");
             
         } catch (Exception e) {
-            System.out.println("⚠️ Could not configure network error tolerance: " + e.getMessage());
+            Log.warn("⚠️ Could not configure network error tolerance: " + e.getMessage());
         }
     }
 }
@@ -0,0 +1,157 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network-idle readiness check.
+ * Tracks in-flight fetch/XHR requests, resource loads and pending images in the page and returns
+ * as soon as the network has been quiet for a configurable window, with a hard cap.
+ * Requests matching the ignored failure patterns of {@link NetworkErrorHandler} are not waited for.
+ */
+public class NetworkIdleTracker {
+
+    private static final int QUIET_MILLIS = ConfigManager.getIntProperty("network.idle.quiet.ms", 500);
+    private static final int MAX_MILLIS = ConfigManager.getIntProperty("network.idle.max.ms", 5000);
+    private static final int POLL_MILLIS = ConfigManager.getIntProperty("network.idle.poll.ms", 100);
+
+    private static final AtomicInteger settleCount = new AtomicInteger();
+    private static final AtomicInteger cappedCount = new AtomicInteger();
+    private static final AtomicLong totalSettleMillis = new AtomicLong();
+    private static final AtomicLong maxSettleMillis = new AtomicLong();
+
+    /**
+     * Installs the fetch/XHR counters on first use in a document and reports the current network state.
+     * Resource timing only lists requests once they completed, so it moves the quiet window to the last response
+     * but does not cover fetch/XHR requests still in flight when the counters were installed; those are not
+     * waited for. Pending images are checked on every probe.
+     */
+    private static final String PROBE_SCRIPT =
+        "var patterns = arguments[0];" +
+        "function ignored(url) {" +
+        "  url = String(url || '').toLowerCase();" +
+        "  for (var i = 0; i < patterns.length; i++) { if (url.indexOf(patterns[i]) >= 0) return true; }" +
+        "  return false;" +
+        "}" +
+        "var state = window.__networkIdle;" +
+        "if (!state) {" +
+        // Quiet since the document started until a request says otherwise; resource timing below moves it to the last response
+        "  state = window.__networkIdle = { inflight: 0, last: 0 };" +
+        "  var done = function() { state.inflight = Math.max(0, state.inflight - 1); state.last = performance.now(); };" +
+        "  try { performance.setResourceTimingBufferSize(1000); } catch (e) {}" +
+        "  if (window.fetch) {" +
+        "    var originalFetch = window.fetch;" +
+        "    window.fetch = function(input) {" +
+        "      var promise = originalFetch.apply(this, arguments);" +
+        "      if (ignored(input && input.url ? input.url : input)) return promise;" +
+        "      state.inflight++; state.last = performance.now();" +
+        "      return promise.then(function(r) { done(); return r; }, function(e) { done(); throw e; });" +
+        "    };" +
+        "  }" +
+        "  var originalOpen = XMLHttpRequest.prototype.open, originalSend = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.open = function(method, url) { this.__networkIdleUrl = url; return originalOpen.apply(this, arguments); };" +
+        "  XMLHttpRequest.prototype.send = function() {" +
+        "    if (!ignored(this.__networkIdleUrl)) { state.inflight++; state.last = performance.now(); this.addEventListener('loadend', done); }" +
+        "    return originalSend.apply(this, arguments);" +
+        "  };" +
+        "}" +
+        "var last = state.last;" +
+        "var resources = performance.getEntriesByType('resource');" +
+        "for (var r = 0; r < resources.length; r++) {" +
+        "  if (!ignored(resources[r].name) && resources[r].responseEnd > last) last = resources[r].responseEnd;" +
+        "}" +
+        "var pendingImages = 0;" +
+        "for (var m = 0; m < document.images.length; m++) {" +
+        "  var img = document.images[m];" +
+        "  if (!img.complete && img.loading !== 'lazy' && !ignored(img.currentSrc || img.src)) pendingImages++;" +
+        "}" +
+        "return { ready: document.readyState === 'complete', inflight: state.inflight, pendingImages: pendingImages," +
+        "  quietFor: Math.round(performance.now() - last) };";
+
+    /**
+     * Wait until the page network has been quiet for the configured window, capped at the configured maximum
+     *
+     * @return the settle time in milliseconds
+     */
+    public static long waitForNetworkIdle(WebDriver driver) {
+        return waitForNetworkIdle(driver, MAX_MILLIS);
+    }
+
+    /**
+     * Wait until the page network has been quiet for the configured window, capped at the given maximum
+     *
+     * @return the settle time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public static long waitForNetworkIdle(WebDriver driver, long maxMillis) {
+        long start = System.currentTimeMillis();
+        long deadline = start + Math.min(maxMillis, MAX_MILLIS);
+        boolean idle = false;
+
+        while (true) {
+            try {
+                Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(PROBE_SCRIPT, NetworkErrorHandler.getIgnoredFailedUrls());
+                if (isIdle(state)) {
+                    idle = true;
+                    break;
+                }
+            } catch (Exception e) {
+                // Document is being replaced, probe again on the next poll
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                break;
+            }
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        long settleMillis = System.currentTimeMillis() - start;
+        record(settleMillis, idle);
+        if (!idle) {
+            Log.info(() -> "⏳ Network not idle after " + settleMillis + " ms, continuing");
+        }
+        return settleMillis;
+    }
+
+    /**
+     * Get settle time statistics as a printable summary
+     */
+    public static String getStatistics() {
+        int count = settleCount.get();
+        long average = count > 0 ? totalSettleMillis.get() / count : 0;
+        return String.format("📊 Network idle: waits=%d, avg settle=%d ms, max settle=%d ms, capped=%d",
+            count, average, maxSettleMillis.get(), cappedCount.get());
+    }
+
+    private static boolean isIdle(Map<String, Object> state) {
+        return state != null
+            && Boolean.TRUE.equals(state.get("ready"))
+            && toLong(state.get("inflight")) == 0
+            && toLong(state.get("pendingImages")) == 0
+            && toLong(state.get("quietFor")) >= QUIET_MILLIS;
+    }
+
+    private static void record(long settleMillis, boolean idle) {
+        settleCount.incrementAndGet();
+        totalSettleMillis.addAndGet(settleMillis);
+        maxSettleMillis.accumulateAndGet(settleMillis, Math::max);
+        if (!idle) {
+            cappedCount.incrementAndGet();
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,125 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes page probes for as long as the page state is unchanged.
+ * A MutationObserver injected into the document advances an epoch counter on every DOM change, and each
+ * document gets a random id, so "page id:epoch" identifies the page state. A memoized probe is answered
+ * from the cache while the state token and the thread's action count are unchanged; checking the token
+ * is one short script call instead of the probe's wait.
+ */
+public class PageState {
+
+    /**
+     * JavaScript function {@code __pageToken()} returning the "page id:epoch" token, installing the observer
+     * on first use. Prepend it to scripts that report the page state along with their result.
+     */
+    public static final String TOKEN_FUNCTION =
+        "function __pageToken() {" +
+        "  var state = window.__pageEpoch;" +
+        "  if (!state) {" +
+        "    state = window.__pageEpoch = { id: Math.random().toString(36).slice(2), epoch: 0 };" +
+        "    new MutationObserver(function () { state.epoch++; })" +
+        "      .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });" +
+        "  }" +
+        "  return state.id + ':' + state.epoch;" +
+        "}";
+
+    /** Actions (clicks, typing, navigation) of the current thread; any action invalidates all memoized probes */
+    private static final ThreadLocal<int[]> actionCounter = ThreadLocal.withInitial(() -> new int[1]);
+
+    private static final AtomicInteger hitCount = new AtomicInteger();
+    private static final AtomicInteger missCount = new AtomicInteger();
+
+    private final WebDriver driver;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private static final class Entry {
+
+        private final String token;
+        private final int actions;
+        private final Object value;
+
+        Entry(String token, int actions, Object value) {
+            this.token = token;
+            this.actions = actions;
+            this.value = value;
+        }
+    }
+
+    public PageState(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Record an action that may change the page, invalidating memoized probes of the current thread
+     */
+    public static void markAction() {
+        actionCounter.get()[0]++;
+    }
+
+    /**
+     * Get the result of a probe, reusing the last result while the page state is unchanged
+     *
+     * @param key identifies the probe within the page object
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T memoize(String key, Supplier<T> probe) {
+        int actions = actionCounter.get()[0];
+        String token = currentToken();
+        Entry entry = entries.get(key);
+        if (token != null && entry != null && token.equals(entry.token) && actions == entry.actions) {
+            hitCount.incrementAndGet();
+            return (T) entry.value;
+        }
+
+        missCount.incrementAndGet();
+        T value = probe.get();
+        // Only a result from a page that did not change while the probe ran belongs to a single state; a probe
+        // that waited for an element to appear is cached by its next, immediate evaluation
+        String observedToken = currentToken();
+        if (token != null && token.equals(observedToken) && actions == actionCounter.get()[0]) {
+            entries.put(key, new Entry(token, actions, value));
+        } else {
+            entries.remove(key);
+        }
+        return value;
+    }
+
+    /**
+     * Drop all memoized probes of this page object
+     */
+    public void invalidate() {
+        entries.clear();
+    }
+
+    private String currentToken() {
+        return currentToken(driver);
+    }
+
+    /**
+     * Get the current "page id:epoch" token, or null if it cannot be read
+     */
+    public static String currentToken(WebDriver driver) {
+        try {
+            return (String) ((JavascriptExecutor) driver).executeScript(TOKEN_FUNCTION + "return __pageToken();");
+        } catch (WebDriverException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get memoization statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Page state memo: reused probes=%d, evaluated probes=%d", hitCount.get(), missCount.get());
+    }
+}
@@ -0,0 +1,164 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Push-based waits.
+ * Installs a MutationObserver in the page and resolves an async script as soon as the element
+ * matches, so a wait costs one round trip instead of one per poll. Off by default, a run opts in with
+ * {@code -Dwait.strategy=push} or {@code wait.strategy=push} in config.properties;
+ * falls back to WebDriverWait polling when async scripts are unavailable or the page navigates away.
+ */
+public class PushWait {
+
+    private static final boolean ENABLED = "push".equalsIgnoreCase(
+        System.getProperty("wait.strategy", ConfigManager.getProperty("wait.strategy", "poll")));
+    /** Poll interval of WebDriverWait, used to estimate the round trips a push wait saved */
+    private static final long POLL_INTERVAL_MILLIS = 500;
+    /** Part of the session script timeout left to the page-side timer, so it fires before WebDriver aborts the script */
+    private static final long SCRIPT_TIMEOUT_MARGIN_MILLIS = 2000;
+
+    private static volatile boolean asyncUnavailable = false;
+
+    private static final AtomicInteger pushWaitCount = new AtomicInteger();
+    private static final AtomicInteger fallbackCount = new AtomicInteger();
+    private static final AtomicLong roundTripsSaved = new AtomicLong();
+
+    /**
+     * Resolves with the first element matching the locator once it satisfies the condition, or null on timeout.
+     * An interval backstop catches changes that do not show up as mutations (CSS transitions, layout).
+     */
+    private static final String AWAIT_SCRIPT = JsLocator.FIND_FUNCTION +
+        "var type = arguments[0], value = arguments[1], condition = arguments[2], text = arguments[3]," +
+        "    timeoutMs = arguments[4], done = arguments[arguments.length - 1];" +
+        "function check() {" +
+        "  var el = __find(type, value)[0];" +
+        "  if (!el) return null;" +
+        "  if (condition === 'TEXT') return (el.innerText || el.textContent || '').indexOf(text) >= 0 ? el : null;" +
+        "  return __visible(el) ? el : null;" +
+        "}" +
+        "var initial = check();" +
+        "if (initial) { done(initial); return; }" +
+        "var finished = false, observer, interval, timer;" +
+        "function finish(result) {" +
+        "  if (finished) return;" +
+        "  finished = true;" +
+        "  observer.disconnect(); clearInterval(interval); clearTimeout(timer);" +
+        "  done(result);" +
+        "}" +
+        "function recheck() { var el = check(); if (el) finish(el); }" +
+        "observer = new MutationObserver(recheck);" +
+        "observer.observe(document.documentElement, { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "interval = setInterval(recheck, 250);" +
+        "timer = setTimeout(function() { finish(null); }, timeoutMs);";
+
+    /**
+     * Check if push waits are configured
+     */
+    public static boolean isEnabled() {
+        return ENABLED && !asyncUnavailable;
+    }
+
+    /**
+     * Wait for element to be visible, same contract as {@link ExpectedConditions#visibilityOfElementLocated}
+     *
+     * @throws TimeoutException if the element is not visible within the timeout
+     */
+    public static WebElement waitForVisible(WebDriver driver, By locator, Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        WebElement element = await(driver, locator, "VISIBLE", null, timeout);
+        if (element != null) {
+            return element;
+        }
+        return pollingWait(driver, deadline).until(WaitContext.counted(ExpectedConditions.visibilityOfElementLocated(locator)));
+    }
+
+    /**
+     * Wait for text to be present in element, same contract as {@link ExpectedConditions#textToBePresentInElementLocated}
+     *
+     * @throws TimeoutException if the text is not present within the timeout
+     */
+    public static boolean waitForText(WebDriver driver, By locator, String text, Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        if (await(driver, locator, "TEXT", text, timeout) != null) {
+            return true;
+        }
+        return pollingWait(driver, deadline).until(WaitContext.counted(ExpectedConditions.textToBePresentInElementLocated(locator, text)));
+    }
+
+    /**
+     * Get push wait statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Push waits: waits=%d, polling fallbacks=%d, round trips saved≈%d",
+            pushWaitCount.get(), fallbackCount.get(), roundTripsSaved.get());
+    }
+
+    /**
+     * Run the push wait in the page
+     *
+     * @return the matching element, or null if the caller should fall back to polling for the remaining time
+     * @throws TimeoutException if the page reported a timeout
+     */
+    private static WebElement await(WebDriver driver, By locator, String condition, String text, Duration timeout) {
+        List<String> descriptor = JsLocator.toDescriptor(locator);
+        if (descriptor == null || asyncUnavailable) {
+            return null;
+        }
+
+        // The session script timeout is set once in WebDriverFactory; a longer wait polls for the rest
+        long timeoutMillis = timeout.toMillis();
+        long inPageMillis = Math.min(timeoutMillis, WebDriverFactory.getScriptTimeout().toMillis() - SCRIPT_TIMEOUT_MARGIN_MILLIS);
+        if (inPageMillis <= 0) {
+            return null;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            WaitContext.countPoll();
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_SCRIPT,
+                descriptor.get(0), descriptor.get(1), condition, text, inPageMillis);
+
+            // One call instead of one poll per interval and the first check
+            pushWaitCount.incrementAndGet();
+            roundTripsSaved.addAndGet((System.currentTimeMillis() - start) / POLL_INTERVAL_MILLIS);
+            if (result instanceof WebElement) {
+                return (WebElement) result;
+            }
+            if (inPageMillis < timeoutMillis) {
+                fallbackCount.incrementAndGet();
+                return null;
+            }
+            throw new TimeoutException("Expected condition failed: waiting for " + condition.toLowerCase() + " of " + locator
+                + (text != null ? " with text '" + text + "'" : "") + " (tried for " + timeout.toMillis() + " ms)");
+        } catch (UnsupportedCommandException e) {
+            asyncUnavailable = true;
+            fallbackCount.incrementAndGet();
+            Log.warn("⚠️ Async scripts not supported, using polling waits: " + e.getMessage());
+            return null;
+        } catch (TimeoutException e) {
+            throw e;
+        } catch (Exception e) {
+            // Typically the document was replaced by a navigation while the script was waiting
+            fallbackCount.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static WebDriverWait pollingWait(WebDriver driver, long deadline) {
+        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+        return new WebDriverWait(driver, Duration.ofMillis(remaining));
+    }
+}
@@ -0,0 +1,191 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only event log behind the Extent report.
+ * Test threads add report events to their own lock-free queue; a background flusher appends them to a
+ * JSONL file every extent.report.flush.ms and re-renders the HTML report from the file every
+ * extent.report.render.seconds if events were appended since the last render, so memory holds only the
+ * events since the last flush. A render re-reads the whole file, so the periodic render also waits at
+ * least {@value #RENDER_COST_FACTOR} times as long as the last render took, which keeps rendering a small
+ * share of a long run. Appending and rendering take separate locks, so a test thread that flushes its
+ * events never waits for a render. The report is always rendered from the log, which means a killed run
+ * still leaves the events and the last rendered report behind, and {@link ReportRenderer} can render the
+ * log again afterwards.
+ */
+public final class ReportEventLog {
+
+    private static final long FLUSH_MILLIS = ConfigManager.getIntProperty("extent.report.flush.ms", 1000);
+    private static final long RENDER_SECONDS = ConfigManager.getIntProperty("extent.report.render.seconds", 30);
+    /** Queued events above which the recording thread flushes itself instead of waiting for the flusher */
+    private static final int MAX_BUFFERED_EVENTS = ConfigManager.getIntProperty("extent.report.buffer.max.events", 1000);
+    private static final int RENDER_COST_FACTOR = 10;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path eventFile;
+    private final Path reportFile;
+    private final Queue<ThreadBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadBuffer> threadBuffer;
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final ScheduledExecutorService flusher;
+    /** Guards appending to the event file; rendering synchronizes on the log itself */
+    private final Object writeLock = new Object();
+    private final AtomicLong writtenEvents = new AtomicLong();
+    /** Events in the file when the last render started */
+    private long renderedEvents;
+    private long lastRenderEnd;
+    private long lastRenderMillis;
+
+    /**
+     * Events of one thread; only the owning thread adds, only a flush (under the write lock) removes
+     */
+    private static final class ThreadBuffer {
+
+        private final Thread owner = Thread.currentThread();
+        private final Queue<Map<String, Object>> events = new ConcurrentLinkedQueue<>();
+    }
+
+    public ReportEventLog(Path eventFile, Path reportFile) {
+        this.eventFile = eventFile;
+        this.reportFile = reportFile;
+        this.threadBuffer = ThreadLocal.withInitial(() -> {
+            ThreadBuffer buffer = new ThreadBuffer();
+            buffers.add(buffer);
+            return buffer;
+        });
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+        flusher.scheduleWithFixedDelay(this::renderIfChanged, RENDER_SECONDS, RENDER_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "report-shutdown"));
+    }
+
+    /**
+     * Record an event of the given type, e.g. "start", "log", "screenshot", "end"
+     *
+     * @param fields alternating field names and values
+     */
+    public void record(String type, Object... fields) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("time", System.currentTimeMillis());
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            event.put((String) fields[i], fields[i + 1]);
+        }
+        threadBuffer.get().events.add(event);
+        if (buffered.incrementAndGet() > MAX_BUFFERED_EVENTS) {
+            flushQuietly();
+        }
+    }
+
+    /**
+     * Append all buffered events to the event file
+     */
+    public void flush() throws IOException {
+        synchronized (writeLock) {
+            append();
+        }
+    }
+
+    private void append() throws IOException {
+        if (buffered.get() == 0) {
+            return;
+        }
+        Files.createDirectories(eventFile.toAbsolutePath().getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(eventFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Iterator<ThreadBuffer> it = buffers.iterator(); it.hasNext(); ) {
+                ThreadBuffer buffer = it.next();
+                Map<String, Object> event;
+                while ((event = buffer.events.poll()) != null) {
+                    writer.write(MAPPER.writeValueAsString(event));
+                    writer.newLine();
+                    buffered.decrementAndGet();
+                    writtenEvents.incrementAndGet();
+                }
+                // A finished thread adds nothing more; its next event would come from a new thread
+                if (!buffer.owner.isAlive() && buffer.events.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Flush and render the HTML report from the event file
+     */
+    public synchronized void render() {
+        flushQuietly();
+        // Events appended while the renderer reads the file are left for the next render
+        long events = writtenEvents.get();
+        long start = System.currentTimeMillis();
+        try {
+            ReportRenderer.render(eventFile, reportFile);
+            renderedEvents = events;
+        } catch (IOException | RuntimeException e) {
+            Log.error("Failed to render report from " + eventFile + ": " + e.getMessage());
+        }
+        lastRenderEnd = System.currentTimeMillis();
+        lastRenderMillis = lastRenderEnd - start;
+    }
+
+    /**
+     * Stop the background flusher and render the final report
+     */
+    public synchronized void close() {
+        if (flusher.isShutdown()) {
+            return;
+        }
+        flusher.shutdown();
+        render();
+    }
+
+    public Path getEventFile() {
+        return eventFile;
+    }
+
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    /**
+     * Append all buffered events, logging instead of throwing on failure
+     */
+    public void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            Log.error("Failed to write report events to " + eventFile + ": " + e.getMessage());
+        }
+    }
+
+    private synchronized void renderIfChanged() {
+        flushQuietly();
+        if (writtenEvents.get() > renderedEvents && System.currentTimeMillis() - lastRenderEnd >= lastRenderMillis * RENDER_COST_FACTOR) {
+            render();
+        }
+    }
+}
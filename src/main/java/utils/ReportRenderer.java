@@ -0,0 +1,128 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import config.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Renders the Extent Spark report from a {@link ReportEventLog} event file.
+ * Tests without an end event, e.g. from a killed run, are rendered with a warning. Can be run on its own
+ * to render the report of a run that did not finish:
+ * {@code java -cp <test classpath> utils.ReportRenderer <events.jsonl> [report.html]}
+ */
+public final class ReportRenderer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ReportRenderer() {
+    }
+
+    /**
+     * Render the report from the event file
+     *
+     * @return number of tests in the report
+     */
+    public static int render(Path eventFile, Path reportFile) throws IOException {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportFile.toString());
+        sparkReporter.config().setDocumentTitle(ConfigManager.getProperty("extent.report.name", "Test Execution Report"));
+        sparkReporter.config().setReportName("Selenium BrowserStack Automation Report");
+        sparkReporter.config().setTheme(Theme.STANDARD);
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+
+        Map<String, ExtentTest> tests = new LinkedHashMap<>();
+        Map<String, Boolean> ended = new HashMap<>();
+        if (Files.exists(eventFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(eventFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    JsonNode event;
+                    try {
+                        event = MAPPER.readTree(line);
+                    } catch (IOException e) {
+                        // Last line of a killed run may be cut off
+                        continue;
+                    }
+                    apply(extent, tests, ended, event);
+                }
+            }
+        }
+
+        tests.forEach((id, test) -> {
+            if (!ended.containsKey(id)) {
+                test.log(Status.WARNING, "Run ended before the test finished");
+            }
+        });
+        extent.flush();
+        return tests.size();
+    }
+
+    private static void apply(ExtentReports extent, Map<String, ExtentTest> tests, Map<String, Boolean> ended, JsonNode event) {
+        String type = event.path("type").asText();
+        String id = event.path("id").asText();
+        Date time = new Date(event.path("time").asLong());
+
+        if ("system".equals(type)) {
+            extent.setSystemInfo(event.path("key").asText(), event.path("value").asText());
+            return;
+        }
+        if ("start".equals(type)) {
+            ExtentTest test = extent.createTest(event.path("name").asText(), event.path("description").asText(null));
+            event.path("categories").forEach(category -> test.assignCategory(category.asText()));
+            test.getModel().setStartTime(time);
+            tests.put(id, test);
+            return;
+        }
+
+        ExtentTest test = tests.get(id);
+        if (test == null) {
+            return;
+        }
+        switch (type) {
+            case "log":
+                test.log(Status.valueOf(event.path("status").asText("INFO")), event.path("message").asText());
+                break;
+            case "screenshot":
+                test.addScreenCaptureFromPath(event.path("path").asText());
+                break;
+            case "end":
+                test.getModel().setEndTime(time);
+                ended.put(id, Boolean.TRUE);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Render a report from an event file: {@code <events.jsonl> [report.html]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ReportRenderer <events.jsonl> [report.html]");
+            System.exit(2);
+        }
+        Path eventFile = Paths.get(args[0]);
+        Path reportFile = args.length > 1 ? Paths.get(args[1])
+            : Paths.get(args[0].replaceFirst("\\.events\\.jsonl$|\\.jsonl$", "") + ".html");
+        int testCount = render(eventFile, reportFile);
+        System.out.println("Rendered " + testCount + " tests from " + eventFile + " to " + reportFile);
+    }
+}
@@ -0,0 +1,145 @@
+package utils;
+
+import config.ConfigManager;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestNG listener that appends every test execution to the {@link RunHistoryStore}.
+ * Setup time is the time spent in @BeforeMethod methods on the test's thread, wait time comes from
+ * {@link WaitTelemetry} and the user from {@link #recordUser}. Disabled with {@code run.history.enabled=false}.
+ */
+public class RunHistoryListener implements ITestListener, IInvokedMethodListener {
+
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("run.history.enabled", true);
+    /** All executions of this JVM belong to one run */
+    private static final long RUN_ID = System.currentTimeMillis();
+
+    private static final ThreadLocal<long[]> setupMillis = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<String> user = new ThreadLocal<>();
+    /** Retried attempts per test invocation, until the final attempt is recorded */
+    private static final Map<String, Integer> retries = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger recordedCount = new AtomicInteger();
+    private static final AtomicInteger failedWrites = new AtomicInteger();
+
+    private static RunHistoryStore store;
+    private static boolean openFailed;
+
+    /**
+     * Remember the user the current test logs in as
+     */
+    public static void recordUser(String username) {
+        user.set(username);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            // Waits of the setup are part of the setup time, not of the test
+            WaitTelemetry.takeThreadWaitMillis();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isConfigurationMethod() && method.getTestMethod().isBeforeMethodConfiguration()) {
+            setupMillis.get()[0] += testResult.getEndMillis() - testResult.getStartMillis();
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, RunHistoryStore.Outcome.PASSED);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, RunHistoryStore.Outcome.FAILED);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, result.wasRetried() ? RunHistoryStore.Outcome.RETRIED : RunHistoryStore.Outcome.SKIPPED);
+    }
+
+    private void record(ITestResult result, RunHistoryStore.Outcome outcome) {
+        long setup = setupMillis.get()[0];
+        setupMillis.get()[0] = 0;
+        long waits = WaitTelemetry.takeThreadWaitMillis();
+        String username = user.get();
+        user.remove();
+
+        String test = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        String platform = WebDriverFactory.getCurrentPlatform();
+        String invocation = test + "|" + platform + "|" + Arrays.toString(result.getParameters());
+        int retryCount = outcome == RunHistoryStore.Outcome.RETRIED
+            ? retries.merge(invocation, 1, Integer::sum) - 1
+            : retries.getOrDefault(invocation, 0);
+        if (outcome != RunHistoryStore.Outcome.RETRIED) {
+            retries.remove(invocation);
+        }
+
+        RunHistoryStore history = store();
+        if (history == null) {
+            return;
+        }
+        try {
+            history.append(new RunHistoryStore.Record(result.getStartMillis(), RUN_ID, test, platform, username, outcome,
+                result.getEndMillis() - result.getStartMillis(), setup, waits, retryCount));
+            recordedCount.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            failedWrites.incrementAndGet();
+            Log.warn("⚠️ Could not record run history for " + test + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized RunHistoryStore store() {
+        if (store != null || openFailed || !ENABLED) {
+            return store;
+        }
+        try {
+            store = RunHistoryStore.openForWrite(RunHistoryStore.DEFAULT_FILE);
+            if (store.isReadOnly()) {
+                // Another run of this project is recording, e.g. a parallel Maven invocation
+                store.close();
+                store = null;
+                openFailed = true;
+                return null;
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(RunHistoryListener::close, "run-history-shutdown"));
+        } catch (IOException e) {
+            openFailed = true;
+            Log.warn("⚠️ Run history disabled, could not open " + RunHistoryStore.DEFAULT_FILE + ": " + e.getMessage());
+        }
+        return store;
+    }
+
+    private static synchronized void close() {
+        if (store != null) {
+            try {
+                store.close();
+            } catch (IOException e) {
+                Log.warn("⚠️ Could not close run history: " + e.getMessage());
+            }
+            store = null;
+        }
+    }
+
+    /**
+     * Get run history statistics as a printable summary
+     */
+    public static synchronized String getStatistics() {
+        RunHistoryStore history = store;
+        return String.format("📊 Run history: executions recorded=%d, failed writes=%d, total in history=%s",
+            recordedCount.get(), failedWrites.get(), history != null ? String.valueOf(history.size()) : "n/a");
+    }
+}
@@ -0,0 +1,525 @@
+package utils;
+
+import config.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only history of test executions.
+ * Each execution is a fixed-size 48 byte record in a memory-mapped file, so appending is a few puts into
+ * the mapping and a scan of thousands of runs reads the records straight from the page cache. Test ids,
+ * platforms and users are stored once in a strings file next to it and referenced by index. The record
+ * count in the header is written after the record, so a killed run never leaves a partial record visible.
+ * One process writes at a time; a second writer finds the file locked and opens the store read-only.
+ * Can be queried on its own:
+ * {@code java -cp <test classpath> utils.RunHistoryStore [file] slowest|flakiest|trend [test] [limit]}
+ */
+public final class RunHistoryStore implements AutoCloseable {
+
+    public static final Path DEFAULT_FILE = Paths.get(ConfigManager.getProperty("run.history.file", "test-output/history/run-history.bin"));
+
+    private static final int MAGIC = 0x52484931; // "RHI1"
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 48;
+    private static final int INITIAL_CAPACITY = 4096;
+
+    // Header: magic, record size, record count
+    private static final int COUNT_OFFSET = 8;
+
+    // Record fields
+    private static final int STARTED_AT = 0;
+    private static final int RUN_ID = 8;
+    private static final int TEST = 16;
+    private static final int PLATFORM = 20;
+    private static final int USER = 24;
+    private static final int DURATION = 28;
+    private static final int SETUP = 32;
+    private static final int WAIT = 36;
+    private static final int OUTCOME = 40;
+    private static final int RETRY = 41;
+
+    private static final DateTimeFormatter RUN_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.systemDefault());
+
+    private final Path file;
+    private final Path stringsFile;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final List<String> strings = new ArrayList<>();
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private MappedByteBuffer buffer;
+    private int count;
+
+    /**
+     * Outcome of one test execution; RETRIED is a failed attempt that was run again
+     */
+    public enum Outcome {
+        PASSED, FAILED, SKIPPED, RETRIED;
+
+        boolean isFailure() {
+            return this == FAILED || this == RETRIED;
+        }
+    }
+
+    /**
+     * One test execution
+     */
+    public static final class Record {
+
+        private final long startedAt;
+        private final long runId;
+        private final String test;
+        private final String platform;
+        private final String user;
+        private final Outcome outcome;
+        private final int durationMillis;
+        private final int setupMillis;
+        private final int waitMillis;
+        private final int retryCount;
+
+        public Record(long startedAt, long runId, String test, String platform, String user, Outcome outcome,
+                      long durationMillis, long setupMillis, long waitMillis, int retryCount) {
+            this.startedAt = startedAt;
+            this.runId = runId;
+            this.test = test;
+            this.platform = platform;
+            this.user = user != null ? user : "";
+            this.outcome = outcome;
+            this.durationMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(0, durationMillis));
+            this.setupMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(0, setupMillis));
+            this.waitMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(0, waitMillis));
+            this.retryCount = Math.min(Byte.MAX_VALUE, Math.max(0, retryCount));
+        }
+
+        public long getStartedAt() {
+            return startedAt;
+        }
+
+        /** Start time of the run the execution belongs to */
+        public long getRunId() {
+            return runId;
+        }
+
+        /** Fully qualified test method, e.g. tests.CriticalLoginTest.testValidLogin */
+        public String getTest() {
+            return test;
+        }
+
+        public String getPlatform() {
+            return platform;
+        }
+
+        /** User the test logged in as, empty if it did not log in */
+        public String getUser() {
+            return user;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public int getDurationMillis() {
+            return durationMillis;
+        }
+
+        /** Time spent in @BeforeMethod setup, mostly session lease and navigation */
+        public int getSetupMillis() {
+            return setupMillis;
+        }
+
+        /** Time spent in element waits during the test */
+        public int getWaitMillis() {
+            return waitMillis;
+        }
+
+        /** Number of earlier attempts of this execution that were retried */
+        public int getRetryCount() {
+            return retryCount;
+        }
+
+        @Override
+        public String toString() {
+            return test + " [" + platform + "] " + outcome + " " + durationMillis + " ms";
+        }
+    }
+
+    /**
+     * Aggregated history of one test on one platform
+     */
+    public static final class TestStats {
+
+        private final String test;
+        private final String platform;
+        private int executions;
+        private int failures;
+        private int retries;
+        private int flips;
+        private int timed;
+        private long totalMillis;
+        private long totalSetupMillis;
+        private int maxMillis;
+        private int lastMillis;
+        private Outcome lastOutcome;
+
+        TestStats(String test, String platform) {
+            this.test = test;
+            this.platform = platform;
+        }
+
+        void add(Record record) {
+            if (lastOutcome != null && lastOutcome.isFailure() != record.getOutcome().isFailure()) {
+                flips++;
+            }
+            lastOutcome = record.getOutcome();
+            executions++;
+            if (record.getOutcome().isFailure()) {
+                failures++;
+            }
+            if (record.getOutcome() == Outcome.RETRIED) {
+                retries++;
+            }
+            // Skipped tests did not run, they would pull the durations down
+            if (record.getOutcome() != Outcome.SKIPPED) {
+                timed++;
+                totalMillis += record.getDurationMillis();
+                totalSetupMillis += record.getSetupMillis();
+                maxMillis = Math.max(maxMillis, record.getDurationMillis());
+                lastMillis = record.getDurationMillis();
+            }
+        }
+
+        public String getTest() {
+            return test;
+        }
+
+        public String getPlatform() {
+            return platform;
+        }
+
+        public int getExecutions() {
+            return executions;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public double getMeanMillis() {
+            return timed == 0 ? 0 : (double) totalMillis / timed;
+        }
+
+        public double getMeanSetupMillis() {
+            return timed == 0 ? 0 : (double) totalSetupMillis / timed;
+        }
+
+        public int getMaxMillis() {
+            return maxMillis;
+        }
+
+        public int getLastMillis() {
+            return lastMillis;
+        }
+
+        /**
+         * Share of consecutive executions whose pass/fail outcome differs; 0 for tests that always pass
+         * or always fail, 1 for tests that alternate
+         */
+        public double getFlakiness() {
+            return executions < 2 ? 0 : (double) flips / (executions - 1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [%s] runs=%d, mean=%.0f ms, max=%d ms, last=%d ms, failures=%d, retries=%d, flakiness=%.2f",
+                test, platform, executions, getMeanMillis(), maxMillis, lastMillis, failures, retries, getFlakiness());
+        }
+    }
+
+    private RunHistoryStore(Path file, boolean write) throws IOException {
+        this.file = file;
+        this.stringsFile = Paths.get(file + ".strings");
+        if (write) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            FileChannel writeChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock writeLock;
+            try {
+                writeLock = writeChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // Already open for writing in this JVM
+                writeLock = null;
+            }
+            if (writeLock == null) {
+                writeChannel.close();
+                Log.warn("⚠️ Run history " + file + " is written by another process, opening it read-only");
+            } else {
+                this.channel = writeChannel;
+                this.lock = writeLock;
+                open(true);
+                return;
+            }
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.lock = null;
+        open(false);
+    }
+
+    /**
+     * Open the store for appending, creating it if needed
+     */
+    public static RunHistoryStore openForWrite(Path file) throws IOException {
+        return new RunHistoryStore(file, true);
+    }
+
+    /**
+     * Open an existing store for queries
+     */
+    public static RunHistoryStore openForRead(Path file) throws IOException {
+        return new RunHistoryStore(file, false);
+    }
+
+    private void open(boolean write) throws IOException {
+        if (Files.exists(stringsFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(stringsFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    stringIds.putIfAbsent(line, strings.size());
+                    strings.add(line);
+                }
+            }
+        }
+
+        long size = channel.size();
+        if (size == 0 && write) {
+            map(INITIAL_CAPACITY);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, RECORD_SIZE);
+            buffer.putLong(COUNT_OFFSET, 0);
+            return;
+        }
+        if (size < HEADER_SIZE) {
+            throw new IOException("Not a run history file: " + file);
+        }
+        buffer = channel.map(write ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, size);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != RECORD_SIZE) {
+            throw new IOException("Not a run history file: " + file);
+        }
+        count = (int) Math.min(buffer.getLong(COUNT_OFFSET), (size - HEADER_SIZE) / RECORD_SIZE);
+    }
+
+    private void map(int capacity) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+    }
+
+    private int capacity() {
+        return (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    /**
+     * Append one test execution
+     */
+    public synchronized void append(Record record) throws IOException {
+        if (lock == null) {
+            throw new IOException("Run history " + file + " is open read-only");
+        }
+        int test = stringId(record.getTest());
+        int platform = stringId(record.getPlatform());
+        int user = stringId(record.getUser());
+
+        if (count == capacity()) {
+            map(capacity() * 2);
+        }
+        int offset = HEADER_SIZE + count * RECORD_SIZE;
+        buffer.putLong(offset + STARTED_AT, record.getStartedAt());
+        buffer.putLong(offset + RUN_ID, record.getRunId());
+        buffer.putInt(offset + TEST, test);
+        buffer.putInt(offset + PLATFORM, platform);
+        buffer.putInt(offset + USER, user);
+        buffer.putInt(offset + DURATION, record.getDurationMillis());
+        buffer.putInt(offset + SETUP, record.getSetupMillis());
+        buffer.putInt(offset + WAIT, record.getWaitMillis());
+        buffer.put(offset + OUTCOME, (byte) record.getOutcome().ordinal());
+        buffer.put(offset + RETRY, (byte) record.getRetryCount());
+        count++;
+        buffer.putLong(COUNT_OFFSET, count);
+    }
+
+    /**
+     * Index of a string in the strings file; new strings are written before any record refers to them
+     */
+    private int stringId(String value) throws IOException {
+        String line = value.replace('\n', ' ').replace('\r', ' ');
+        Integer id = stringIds.get(line);
+        if (id != null) {
+            return id;
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(stringsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.newLine();
+        }
+        id = strings.size();
+        strings.add(line);
+        stringIds.put(line, id);
+        return id;
+    }
+
+    private String string(int id) {
+        return id >= 0 && id < strings.size() ? strings.get(id) : "?";
+    }
+
+    public boolean isReadOnly() {
+        return lock == null;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Visit all records in the order they were appended
+     */
+    public synchronized void scan(Consumer<Record> visitor) {
+        ByteBuffer view = buffer.duplicate();
+        Outcome[] outcomes = Outcome.values();
+        for (int i = 0; i < count; i++) {
+            int offset = HEADER_SIZE + i * RECORD_SIZE;
+            visitor.accept(new Record(
+                view.getLong(offset + STARTED_AT),
+                view.getLong(offset + RUN_ID),
+                string(view.getInt(offset + TEST)),
+                string(view.getInt(offset + PLATFORM)),
+                string(view.getInt(offset + USER)),
+                outcomes[Math.min(view.get(offset + OUTCOME), outcomes.length - 1)],
+                view.getInt(offset + DURATION),
+                view.getInt(offset + SETUP),
+                view.getInt(offset + WAIT),
+                view.get(offset + RETRY)));
+        }
+    }
+
+    /**
+     * History of every test on every platform, in order of first execution
+     */
+    public Map<String, TestStats> statistics() {
+        Map<String, TestStats> stats = new LinkedHashMap<>();
+        scan(record -> stats.computeIfAbsent(record.getTest() + "|" + record.getPlatform(),
+            key -> new TestStats(record.getTest(), record.getPlatform())).add(record));
+        return stats;
+    }
+
+    /**
+     * Tests with the highest mean duration of passed and failed executions
+     */
+    public List<TestStats> slowest(int limit) {
+        return statistics().values().stream()
+            .sorted(Comparator.comparingDouble(TestStats::getMeanMillis).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Tests whose outcome changes most often between executions, then by failure count
+     */
+    public List<TestStats> flakiest(int limit) {
+        return statistics().values().stream()
+            .filter(stats -> stats.getFlakiness() > 0 || stats.getRetries() > 0)
+            .sorted(Comparator.comparingDouble(TestStats::getFlakiness).reversed()
+                .thenComparing(Comparator.comparingInt(TestStats::getFailures).reversed()))
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Duration per run and platform: the test's duration, or the total of all tests if test is null
+     *
+     * @return platform to (run id to milliseconds), runs in chronological order
+     */
+    public Map<String, TreeMap<Long, Long>> trend(String test) {
+        Map<String, TreeMap<Long, Long>> trend = new TreeMap<>();
+        scan(record -> {
+            boolean matches = test == null || record.getTest().equals(test) || record.getTest().endsWith("." + test);
+            if (matches && record.getOutcome() != Outcome.SKIPPED) {
+                trend.computeIfAbsent(record.getPlatform(), platform -> new TreeMap<>())
+                    .merge(record.getRunId(), (long) record.getDurationMillis(), Long::sum);
+            }
+        });
+        return trend;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (lock != null) {
+            buffer.force();
+            lock.release();
+        }
+        channel.close();
+    }
+
+    /**
+     * Query a store: {@code [file] slowest|flakiest|trend [test] [limit]}
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        Path file = !arguments.isEmpty() && Files.exists(Paths.get(arguments.get(0))) ? Paths.get(arguments.remove(0)) : DEFAULT_FILE;
+        if (arguments.isEmpty()) {
+            System.err.println("Usage: RunHistoryStore [file] slowest|flakiest [limit] | trend [test]");
+            System.exit(2);
+        }
+        String command = arguments.remove(0);
+        int limit = arguments.isEmpty() || !arguments.get(arguments.size() - 1).matches("\\d+")
+            ? 20 : Integer.parseInt(arguments.remove(arguments.size() - 1));
+
+        try (RunHistoryStore store = openForRead(file)) {
+            System.out.println(store.size() + " executions in " + file);
+            switch (command) {
+                case "slowest":
+                    store.slowest(limit).forEach(System.out::println);
+                    break;
+                case "flakiest":
+                    store.flakiest(limit).forEach(System.out::println);
+                    break;
+                case "trend":
+                    String test = arguments.isEmpty() ? null : arguments.get(0);
+                    store.trend(test).forEach((platform, runs) -> {
+                        System.out.println(platform + (test != null ? " - " + test : " - all tests"));
+                        runs.forEach((runId, millis) ->
+                            System.out.println("  " + RUN_FORMAT.format(Instant.ofEpochMilli(runId)) + "  " + millis + " ms"));
+                    });
+                    break;
+                default:
+                    System.err.println("Unknown command: " + command);
+                    System.exit(2);
+            }
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package utils;
+
+import config.ConfigManager;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous, content-addressed screenshot store.
+ * The test thread only fetches the screenshot bytes from the browser; a background writer optionally
+ * downscales and re-encodes them, names the file after the SHA-256 of its content and writes it unless an
+ * identical frame was written before. Each capture returns an {@link Artifact} handle that resolves to
+ * the file, and manifest.tsv maps the capture names to files. The writer queue is bounded: when it is
+ * full the capturing thread writes the screenshot itself.
+ */
+public final class ScreenshotService {
+
+    /** ITestResult attribute holding the {@link Artifact} of a failure screenshot */
+    public static final String RESULT_ATTRIBUTE = "screenshot.artifact";
+
+    private static final Path DIRECTORY = Paths.get(ConfigManager.getProperty("screenshot.dir", "test-output/screenshots"));
+    private static final int QUEUE_CAPACITY = ConfigManager.getIntProperty("screenshot.queue.capacity", 16);
+    /** Screenshots wider than this are downscaled, 0 keeps the original size */
+    private static final int MAX_WIDTH = ConfigManager.getIntProperty("screenshot.max.width", 0);
+    private static final boolean JPEG = "jpg".equalsIgnoreCase(ConfigManager.getProperty("screenshot.format", "png"))
+        || "jpeg".equalsIgnoreCase(ConfigManager.getProperty("screenshot.format", "png"));
+    private static final float JPEG_QUALITY = ConfigManager.getIntProperty("screenshot.jpeg.quality", 80) / 100f;
+
+    private static final String WRITER_THREAD = "screenshot-writer";
+    private static final ThreadPoolExecutor writer = createWriter();
+    /** File of each content hash, completed once it is in place; captures of the same frame chain onto it */
+    private static final Map<String, CompletableFuture<Path>> files = new ConcurrentHashMap<>();
+    /** Captures not yet resolved to a file, including those the caller writes itself */
+    private static final AtomicInteger pending = new AtomicInteger();
+
+    private static final AtomicInteger captureCount = new AtomicInteger();
+    private static final AtomicInteger writeCount = new AtomicInteger();
+    private static final AtomicInteger duplicateCount = new AtomicInteger();
+    private static final AtomicInteger callerWriteCount = new AtomicInteger();
+    private static final AtomicInteger failureCount = new AtomicInteger();
+
+    /**
+     * Handle of one captured screenshot; the file is available once the writer has processed it
+     */
+    public static final class Artifact {
+
+        private final String name;
+        private final LocalDateTime capturedAt;
+        private final CompletableFuture<Path> file = new CompletableFuture<>();
+
+        Artifact(String name, LocalDateTime capturedAt) {
+            this.name = name;
+            this.capturedAt = capturedAt;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LocalDateTime getCapturedAt() {
+            return capturedAt;
+        }
+
+        public boolean isWritten() {
+            return file.isDone() && !file.isCompletedExceptionally();
+        }
+
+        /**
+         * Wait for the writer and get the absolute path of the screenshot file
+         *
+         * @return the path, or null if writing failed or did not finish within the timeout
+         */
+        public String getPath(Duration timeout) {
+            try {
+                return file.get(timeout.toMillis(), TimeUnit.MILLISECONDS).toAbsolutePath().toString();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException | TimeoutException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Screenshot " + name + (file.isDone() ? " -> " + getPath(Duration.ZERO) : " (pending)");
+        }
+    }
+
+    private ScreenshotService() {
+    }
+
+    /**
+     * Capture a screenshot; the test thread only pays for the screenshot call itself
+     *
+     * @return the artifact handle
+     * @throws org.openqa.selenium.WebDriverException if the browser cannot take the screenshot
+     */
+    public static Artifact capture(WebDriver driver, String name) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        captureCount.incrementAndGet();
+
+        Artifact artifact = new Artifact(name, LocalDateTime.now());
+        pending.incrementAndGet();
+        artifact.file.whenComplete((file, error) -> pending.decrementAndGet());
+        writer.execute(() -> write(artifact, png));
+        return artifact;
+    }
+
+    /**
+     * Wait until all queued screenshots are written
+     */
+    public static void flush(Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get screenshot statistics as a printable summary
+     */
+    public static String getStatistics() {
+        return String.format("📊 Screenshots: captured=%d, files written=%d, duplicates skipped=%d, written by caller=%d, failed=%d",
+            captureCount.get(), writeCount.get(), duplicateCount.get(), callerWriteCount.get(), failureCount.get());
+    }
+
+    private static void write(Artifact artifact, byte[] png) {
+        if (!WRITER_THREAD.equals(Thread.currentThread().getName())) {
+            callerWriteCount.incrementAndGet();
+        }
+        CompletableFuture<Path> stored;
+        try {
+            byte[] content = encode(png);
+            String hash = sha256(content);
+            CompletableFuture<Path> own = new CompletableFuture<>();
+            stored = files.putIfAbsent(hash, own);
+            if (stored != null) {
+                // Same frame as an earlier capture, possibly still being written by another thread
+                duplicateCount.incrementAndGet();
+            } else {
+                stored = own;
+                try {
+                    own.complete(store(hash, content));
+                } catch (IOException | RuntimeException e) {
+                    // A later capture of the same frame tries again
+                    files.remove(hash, own);
+                    own.completeExceptionally(e);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            stored = CompletableFuture.failedFuture(e);
+        }
+
+        stored.whenComplete((file, error) -> {
+            try {
+                if (error != null) {
+                    throw error instanceof IOException ? (IOException) error : new IOException(error.getMessage(), error);
+                }
+                appendManifest(artifact, file);
+                artifact.file.complete(file);
+            } catch (IOException e) {
+                failureCount.incrementAndGet();
+                Log.error("Failed to write screenshot " + artifact.getName() + ": " + e.getMessage());
+                artifact.file.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Move the content into place under its hash, unless a previous run left the file behind
+     */
+    private static Path store(String hash, byte[] content) throws IOException {
+        Path file = DIRECTORY.resolve(hash + (JPEG ? ".jpg" : ".png"));
+        if (Files.exists(file)) {
+            duplicateCount.incrementAndGet();
+            return file;
+        }
+        Files.createDirectories(DIRECTORY);
+        Path temp = Files.createTempFile(DIRECTORY, hash, ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writeCount.incrementAndGet();
+        return file;
+    }
+
+    /**
+     * Downscale and re-encode as configured, or keep the PNG from the browser as it is
+     */
+    private static byte[] encode(byte[] png) throws IOException {
+        if (MAX_WIDTH <= 0 && !JPEG) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (MAX_WIDTH > 0 && width > MAX_WIDTH) {
+            height = Math.max(1, Math.round(height * (MAX_WIDTH / (float) width)));
+            width = MAX_WIDTH;
+        }
+        // JPEG has no alpha channel, so always draw onto an RGB image
+        BufferedImage scaled = new BufferedImage(width, height, JPEG ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!JPEG) {
+            ImageIO.write(scaled, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = jpegWriter.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            jpegWriter.setOutput(stream);
+            jpegWriter.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            jpegWriter.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Record which file a capture resolved to; only the writer appends, except when the queue overflows
+     */
+    private static synchronized void appendManifest(Artifact artifact, Path file) throws IOException {
+        String line = artifact.getCapturedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")) + "\t"
+            + artifact.getName() + "\t" + file.getFileName() + System.lineSeparator();
+        Files.write(DIRECTORY.resolve("manifest.tsv"), line.getBytes(StandardCharsets.UTF_8),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static ThreadPoolExecutor createWriter() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, WRITER_THREAD);
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -1,16 +1,12 @@
 package utils;
 
 import config.ConfigManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.io.File;
-import java.io.IOException;
 import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 /**
  * Utility class for common Selenium operations
@@ -18,6 +14,7 @@ import java.time.format.DateTimeFormatter;
 public class SeleniumUtils {
     
     private static final int DEFAULT_TIMEOUT = ConfigManager.getDefaultTimeout();
+    private static final Duration SCREENSHOT_WRITE_TIMEOUT = Duration.ofSeconds(10);
     
     /**
      * Wait for element to be visible and return it
@@ -27,8 +24,13 @@ public class SeleniumUtils {
     }
     
     public static WebElement waitForElementVisible(WebDriver driver, By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return WaitContext.run("visible", locator, timeoutSeconds, (timeout, polling) -> {
+            if (PushWait.isEnabled()) {
+                return PushWait.waitForVisible(driver, locator, timeout);
+            }
+            WebDriverWait wait = new WebDriverWait(driver, timeout, polling);
+            return wait.until(WaitContext.counted(ExpectedConditions.visibilityOfElementLocated(locator)));
+        });
     }
     
     /**
@@ -39,8 +41,10 @@ public class SeleniumUtils {
     }
     
     public static WebElement waitForElementClickable(WebDriver driver, By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return WaitContext.run("clickable", locator, timeoutSeconds, (timeout, polling) -> {
+            WebDriverWait wait = new WebDriverWait(driver, timeout, polling);
+            return wait.until(WaitContext.counted(ExpectedConditions.elementToBeClickable(locator)));
+        });
     }
     
     /**
@@ -51,8 +55,10 @@ public class SeleniumUtils {
     }
     
     public static WebElement waitForElementPresent(WebDriver driver, By locator, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return WaitContext.run("present", locator, timeoutSeconds, (timeout, polling) -> {
+            WebDriverWait wait = new WebDriverWait(driver, timeout, polling);
+            return wait.until(WaitContext.counted(ExpectedConditions.presenceOfElementLocated(locator)));
+        });
     }
     
     /**
@@ -63,8 +69,13 @@ public class SeleniumUtils {
     }
     
     public static boolean waitForTextInElement(WebDriver driver, By locator, String text, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        return wait.until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+        return WaitContext.run("text", locator, timeoutSeconds, (timeout, polling) -> {
+            if (PushWait.isEnabled()) {
+                return PushWait.waitForText(driver, locator, text, timeout);
+            }
+            WebDriverWait wait = new WebDriverWait(driver, timeout, polling);
+            return wait.until(WaitContext.counted(ExpectedConditions.textToBePresentInElementLocated(locator, text)));
+        });
     }
     
     /**
@@ -72,6 +83,7 @@ public class SeleniumUtils {
      */
     public static void safeClick(WebDriver driver, By locator) {
         WebElement element = waitForElementClickable(driver, locator);
+        PageState.markAction();
         element.click();
     }
     
@@ -80,10 +92,11 @@ public class SeleniumUtils {
      */
     public static void safeSendKeys(WebDriver driver, By locator, String text) {
         WebElement element = waitForElementVisible(driver, locator);
+        PageState.markAction();
         try {
             element.clear();
         } catch (Exception e) {
-            System.out.println("Warning: Could not clear element, proceeding with sendKeys. Error: " + e.getMessage());
+            Log.warn("Warning: Could not clear element, proceeding with sendKeys. Error: " + e.getMessage());
         }
         element.sendKeys(text);
     }
@@ -108,8 +121,8 @@ public class SeleniumUtils {
      */
     public static boolean isElementPresent(WebDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            WebElement element = wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            WebElement element = WaitContext.run("present", locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(ExpectedConditions.presenceOfElementLocated(locator))));
             return element != null;
         } catch (TimeoutException | NoSuchElementException e) {
             return false;
@@ -128,8 +141,8 @@ public class SeleniumUtils {
      */
     public static boolean isElementVisible(WebDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            WebElement element = WaitContext.run("visible", locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(ExpectedConditions.visibilityOfElementLocated(locator))));
             return element != null && element.isDisplayed();
         } catch (TimeoutException | NoSuchElementException e) {
             return false;
@@ -156,6 +169,7 @@ public class SeleniumUtils {
      * JavaScript click
      */
     public static void javascriptClick(WebDriver driver, WebElement element) {
+        PageState.markAction();
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].click();", element);
     }
@@ -169,25 +183,19 @@ public class SeleniumUtils {
     }
     
     /**
-     * Take screenshot and return file path
+     * Take screenshot and return file path, waiting for the background writer.
+     * Use {@link ScreenshotService#capture} when the path is not needed right away.
      */
     public static String takeScreenshot(WebDriver driver, String testName) {
         try {
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-            String fileName = testName + "_" + timestamp + ".png";
-            String screenshotPath = "test-output/screenshots/" + fileName;
-            
-            File destFile = new File(screenshotPath);
-            destFile.getParentFile().mkdirs();
-            
-            FileUtils.copyFile(sourceFile, destFile);
-            return destFile.getAbsolutePath();
+            String screenshotPath = ScreenshotService.capture(driver, testName).getPath(SCREENSHOT_WRITE_TIMEOUT);
+            if (screenshotPath == null) {
+                Log.error("Failed to write screenshot: " + testName);
+            }
+            return screenshotPath;
             
-        } catch (IOException e) {
-            System.err.println("Failed to capture screenshot: " + e.getMessage());
+        } catch (WebDriverException e) {
+            Log.error("Failed to capture screenshot: " + e.getMessage());
             return null;
         }
     }
@@ -206,11 +214,11 @@ public class SeleniumUtils {
         } catch (Exception e) {
             // Fallback to traditional method if the enhanced one fails
             try {
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-                wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                        .executeScript("return document.readyState").equals("complete"));
+                WaitContext.run("ready state", "document", timeoutSeconds, (timeout, polling) ->
+                    new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(webDriver -> ((JavascriptExecutor) webDriver)
+                        .executeScript("return document.readyState").equals("complete"))));
             } catch (Exception fallbackException) {
-                System.out.println("⚠️ Page load wait completed with warnings: " + fallbackException.getMessage());
+                Log.warn("⚠️ Page load wait completed with warnings: " + fallbackException.getMessage());
             }
         }
     }
@@ -232,8 +240,8 @@ public class SeleniumUtils {
      */
     public static boolean waitForElementToDisappear(WebDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            return WaitContext.run("invisible", locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(ExpectedConditions.invisibilityOfElementLocated(locator))));
         } catch (Exception e) {
             return true; // Element already not visible
         }
@@ -258,11 +266,11 @@ public class SeleniumUtils {
      */
     public static boolean waitForElementToBeDisplayed(WebDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            return wait.until(ExpectedConditions.and(
-                ExpectedConditions.visibilityOfElementLocated(locator),
-                ExpectedConditions.elementToBeClickable(locator)
-            )) != null;
+            return WaitContext.run("displayed", locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(ExpectedConditions.and(
+                    ExpectedConditions.visibilityOfElementLocated(locator),
+                    ExpectedConditions.elementToBeClickable(locator)
+                ))));
         } catch (TimeoutException e) {
             return false;
         }
@@ -280,20 +288,30 @@ public class SeleniumUtils {
      */
     public static WebElement waitForAnyElementVisible(WebDriver driver, int timeoutSeconds, By... locators) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            for (By locator : locators) {
-                try {
-                    return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
-                } catch (TimeoutException e) {
-                    // Continue to next locator
-                }
+            // All locators are checked in each poll, so the timeout covers the whole set
+            CompositeWait.Match match = WaitContext.run("any visible", locators, timeoutSeconds, (timeout, polling) ->
+                CompositeWait.waitForAny(driver, timeout, CompositeWait.Condition.VISIBLE, locators));
+            if (match != null) {
+                return match.getElement();
             }
         } catch (Exception e) {
-            System.out.println("Error waiting for any element to be visible: " + e.getMessage());
+            Log.warn("Error waiting for any element to be visible: " + e.getMessage());
         }
         return null;
     }
     
+    /**
+     * Run a lookup with the implicit wait disabled so missing elements are reported immediately
+     */
+    public static <T> T withImplicitWaitDisabled(WebDriver driver, Supplier<T> lookup) {
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return lookup.get();
+        } finally {
+            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getImplicitWait()));
+        }
+    }
+    
     /**
      * Smart wait for element that handles stale element references
      */
@@ -302,31 +320,19 @@ public class SeleniumUtils {
     }
     
     /**
-     * Smart wait for element with retry logic for stale elements
+     * Smart wait for element; the condition re-locates the element when it goes stale while waiting
      */
     public static WebElement smartWaitForElement(WebDriver driver, By locator, int timeoutSeconds) {
-        int attempts = 0;
-        int maxAttempts = 3;
-        
-        while (attempts < maxAttempts) {
-            try {
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-                return wait.until(ExpectedConditions.refreshed(
-                    ExpectedConditions.visibilityOfElementLocated(locator)
-                ));
-            } catch (StaleElementReferenceException e) {
-                attempts++;
-                System.out.println("Stale element detected, retrying... Attempt: " + attempts);
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                }
-            } catch (TimeoutException e) {
-                break;
-            }
+        try {
+            return WaitContext.run("visible (refreshed)", locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling)
+                    .ignoring(StaleElementReferenceException.class)
+                    .until(WaitContext.counted(ExpectedConditions.refreshed(
+                        ExpectedConditions.visibilityOfElementLocated(locator)
+                    ))));
+        } catch (TimeoutException e) {
+            return null;
         }
-        return null;
     }
     
     /**
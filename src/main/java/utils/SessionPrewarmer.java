@@ -0,0 +1,85 @@
+package utils;
+
+import config.ConfigManager;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives how many browser sessions each platform needs at suite start from the TestNG XML
+ * and asks the session pool to create them in the background.
+ */
+public class SessionPrewarmer {
+    
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("session.prewarm.enabled", true);
+    
+    private static boolean started;
+    
+    /**
+     * Pre-warm sessions for the tests that run first in the given suite.
+     * Only the first call per JVM has an effect.
+     */
+    public static synchronized void prewarm(XmlSuite suite) {
+        if (!ENABLED || started || suite == null) {
+            return;
+        }
+        started = true;
+        
+        Map<Platform, Integer> demand = planInitialDemand(suite);
+        
+        int scheduled = 0;
+        for (Map.Entry<Platform, Integer> entry : demand.entrySet()) {
+            Platform platform = entry.getKey();
+            scheduled += DriverSessionPool.prewarm(platform.browser(), platform.os(), platform.osVersion(), null, null, entry.getValue());
+        }
+        Log.info("🔥 Session pre-warming started for " + demand.size() + " platform(s), " + scheduled + " session(s)");
+    }
+    
+    /**
+     * Number of sessions needed per platform by the tests that start when the suite starts.
+     * With parallel="tests" that is one session for each of the first thread-count tests;
+     * with method/class parallelism the first test runs up to thread-count sessions at once.
+     */
+    static Map<Platform, Integer> planInitialDemand(XmlSuite suite) {
+        Map<Platform, Integer> demand = new LinkedHashMap<>();
+        List<XmlTest> tests = suite.getTests();
+        if (tests.isEmpty()) {
+            return demand;
+        }
+        
+        int threadCount = Math.max(1, suite.getThreadCount());
+        XmlSuite.ParallelMode parallel = suite.getParallel();
+        
+        if (parallel == XmlSuite.ParallelMode.TESTS) {
+            for (XmlTest test : tests.subList(0, Math.min(threadCount, tests.size()))) {
+                demand.merge(resolvePlatform(test), 1, Integer::sum);
+            }
+        } else if (parallel == null || parallel == XmlSuite.ParallelMode.NONE) {
+            demand.put(resolvePlatform(tests.get(0)), 1);
+        } else {
+            XmlTest first = tests.get(0);
+            int sessions = parallel == XmlSuite.ParallelMode.CLASSES
+                ? Math.min(threadCount, Math.max(1, first.getXmlClasses().size()))
+                : threadCount;
+            demand.put(resolvePlatform(first), sessions);
+        }
+        return demand;
+    }
+    
+    static Platform resolvePlatform(XmlTest test) {
+        Map<String, String> parameters = test.getAllParameters();
+        return new Platform(
+            ConfigManager.resolveTestParameter("browser", parameters.get("browser"), "chrome"),
+            ConfigManager.resolveTestParameter("os", parameters.get("os"), "Windows"),
+            ConfigManager.resolveTestParameter("osVersion", parameters.get("osVersion"), "11"));
+    }
+    
+    /**
+     * Platform parameters as resolved by BaseTest
+     */
+    record Platform(String browser, String os, String osVersion) {
+    }
+}
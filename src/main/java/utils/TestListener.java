@@ -12,26 +12,26 @@ public class TestListener implements ITestListener {
     
     @Override
     public void onTestStart(ITestResult result) {
-        System.out.println("========================================");
-        System.out.println("Starting Test: " + result.getMethod().getMethodName());
-        System.out.println("Test Class: " + result.getTestClass().getName());
-        System.out.println("========================================");
+        Log.info("========================================");
+        Log.info(() -> "Starting Test: " + result.getMethod().getMethodName());
+        Log.info(() -> "Test Class: " + result.getTestClass().getName());
+        Log.info("========================================");
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("========================================");
-        System.out.println("✅ Test PASSED: " + result.getMethod().getMethodName());
-        System.out.println("Execution Time: " + (result.getEndMillis() - result.getStartMillis()) + " ms");
-        System.out.println("========================================");
+        Log.info("========================================");
+        Log.info(() -> "✅ Test PASSED: " + result.getMethod().getMethodName());
+        Log.info(() -> "Execution Time: " + (result.getEndMillis() - result.getStartMillis()) + " ms");
+        Log.info("========================================");
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("========================================");
-        System.out.println("❌ Test FAILED: " + result.getMethod().getMethodName());
-        System.out.println("Failure Reason: " + result.getThrowable().getMessage());
-        System.out.println("========================================");
+        Log.info("========================================");
+        Log.error("❌ Test FAILED: " + result.getMethod().getMethodName());
+        Log.warn("Failure Reason: " + result.getThrowable().getMessage());
+        Log.info("========================================");
         
         // Take screenshot on failure if enabled
         if (ConfigManager.isScreenshotOnFailureEnabled()) {
@@ -41,12 +41,12 @@ public class TestListener implements ITestListener {
     
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("========================================");
-        System.out.println("⏭️ Test SKIPPED: " + result.getMethod().getMethodName());
+        Log.info("========================================");
+        Log.info(() -> "⏭️ Test SKIPPED: " + result.getMethod().getMethodName());
         if (result.getThrowable() != null) {
-            System.out.println("Skip Reason: " + result.getThrowable().getMessage());
+            Log.warn("Skip Reason: " + result.getThrowable().getMessage());
         }
-        System.out.println("========================================");
+        Log.info("========================================");
     }
     
     private void takeScreenshotOnFailure(ITestResult result) {
@@ -54,21 +54,19 @@ public class TestListener implements ITestListener {
             WebDriver driver = WebDriverFactory.getDriver();
             if (driver != null) {
                 String testName = result.getMethod().getMethodName();
-                String screenshotPath = SeleniumUtils.takeScreenshot(driver, testName + "_FAILED");
-                if (screenshotPath != null) {
-                    System.out.println("Screenshot captured: " + screenshotPath);
-                    
-                    // Set screenshot path in test result for reporting tools
-                    System.setProperty("screenshot.path", screenshotPath);
-                }
+                ScreenshotService.Artifact screenshot = ScreenshotService.capture(driver, testName + "_FAILED");
+                Log.info(() -> "Screenshot captured: " + screenshot.getName());
+                
+                // Hand the screenshot to reporting tools through the test result, it is written in the background
+                result.setAttribute(ScreenshotService.RESULT_ATTRIBUTE, screenshot);
             }
         } catch (Exception e) {
-            System.err.println("Failed to capture screenshot on failure: " + e.getMessage());
+            Log.error("Failed to capture screenshot on failure: " + e.getMessage());
         }
     }
     
     @Override
     public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
-        System.out.println("Test failed but within success percentage: " + result.getMethod().getMethodName());
+        Log.warn("Test failed but within success percentage: " + result.getMethod().getMethodName());
     }
 }
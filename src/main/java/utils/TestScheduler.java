@@ -0,0 +1,355 @@
+package utils;
+
+import config.ConfigManager;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Duration-aware scheduler for a TestNG suite.
+ * Splits the platform x class matrix of the suite XML into work items, one per test class on one
+ * platform, and orders them longest-first by their mean duration in the {@link RunHistoryStore}. Slot
+ * threads take the next item from the shared queue whenever they finish one, so a long item no longer
+ * holds back the platform it was bound to while other slots sit idle, and wall-clock time approaches the
+ * total work divided by the slot count. Each item runs as its own programmatic TestNG run; the suite
+ * teardown of BaseTest is deferred until all items are done, since it shuts down the session pool.
+ * {@code java -cp <test classpath> utils.TestScheduler <testng.xml> [slots]}
+ */
+public final class TestScheduler {
+
+    /** Parallel slots, 0 uses the thread-count of the suite */
+    private static final int SLOTS = ConfigManager.getIntProperty("scheduler.slots", 0);
+    /** Estimate for items without history, if no other item has history either */
+    private static final long DEFAULT_ITEM_MILLIS = ConfigManager.getIntProperty("scheduler.default.item.seconds", 120) * 1000L;
+
+    private static volatile boolean running;
+    /** Deferred teardowns by name, run in the order they were first deferred */
+    private static final Map<String, Runnable> deferredTeardowns = new LinkedHashMap<>();
+
+    /**
+     * One test class on one platform
+     */
+    public static final class WorkItem {
+
+        private final XmlTest test;
+        private final XmlClass xmlClass;
+        private final String platform;
+        private long expectedMillis;
+        private boolean estimated;
+        private long actualMillis;
+        private int slot;
+        private boolean failed;
+
+        WorkItem(XmlTest test, XmlClass xmlClass, String platform) {
+            this.test = test;
+            this.xmlClass = xmlClass;
+            this.platform = platform;
+        }
+
+        public String getName() {
+            return test.getName() + " / " + xmlClass.getName();
+        }
+
+        public String getPlatform() {
+            return platform;
+        }
+
+        /** Expected duration from the run history */
+        public long getExpectedMillis() {
+            return expectedMillis;
+        }
+
+        /** True if the item had no history and its duration was estimated */
+        public boolean isEstimated() {
+            return estimated;
+        }
+
+        public long getActualMillis() {
+            return actualMillis;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+
+        public boolean isFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return getName() + " (expected " + expectedMillis + " ms" + (estimated ? ", no history" : "")
+                + (actualMillis > 0 ? ", took " + actualMillis + " ms on slot " + slot : "") + ")";
+        }
+    }
+
+    /**
+     * Outcome of a scheduled run
+     */
+    public static final class Result {
+
+        private final List<WorkItem> items;
+        private final long[] busyMillis;
+        private final long wallMillis;
+
+        Result(List<WorkItem> items, long[] busyMillis, long wallMillis) {
+            this.items = Collections.unmodifiableList(items);
+            this.busyMillis = busyMillis;
+            this.wallMillis = wallMillis;
+        }
+
+        public List<WorkItem> getItems() {
+            return items;
+        }
+
+        public long getWallMillis() {
+            return wallMillis;
+        }
+
+        public long getTotalWorkMillis() {
+            long total = 0;
+            for (long busy : busyMillis) {
+                total += busy;
+            }
+            return total;
+        }
+
+        /** Share of the slot time spent running items */
+        public double getUtilization() {
+            return wallMillis == 0 ? 0 : (double) getTotalWorkMillis() / (wallMillis * busyMillis.length);
+        }
+
+        public boolean hasFailures() {
+            return items.stream().anyMatch(WorkItem::isFailed);
+        }
+
+        /**
+         * Get the slot utilization as a printable summary
+         */
+        public String getStatistics() {
+            StringBuilder summary = new StringBuilder(String.format(
+                "📊 Scheduler: items=%d, slots=%d, wall=%d ms, total work=%d ms, ideal wall=%d ms, utilization=%.0f%%",
+                items.size(), busyMillis.length, wallMillis, getTotalWorkMillis(), getTotalWorkMillis() / busyMillis.length,
+                getUtilization() * 100));
+            for (int slot = 0; slot < busyMillis.length; slot++) {
+                int current = slot + 1;
+                long itemCount = items.stream().filter(item -> item.slot == current).count();
+                summary.append(System.lineSeparator()).append(String.format("   slot %d: items=%d, busy=%d ms (%.0f%%)",
+                    current, itemCount, busyMillis[slot], wallMillis == 0 ? 0 : busyMillis[slot] * 100.0 / wallMillis));
+            }
+            return summary.toString();
+        }
+    }
+
+    private TestScheduler() {
+    }
+
+    /**
+     * Whether tests run as scheduled work items of this JVM
+     */
+    public static boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Defer a suite teardown until all work items are done; every work item defers it again, only the
+     * first teardown of a name is kept
+     *
+     * @return false if no scheduled run is in progress and the caller should tear down itself
+     */
+    public static boolean deferSuiteTeardown(String name, Runnable teardown) {
+        if (!running) {
+            return false;
+        }
+        synchronized (deferredTeardowns) {
+            deferredTeardowns.putIfAbsent(name, teardown);
+        }
+        return true;
+    }
+
+    /**
+     * Split the suite into work items ordered longest-first
+     */
+    public static List<WorkItem> plan(XmlSuite suite) {
+        List<WorkItem> items = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            SessionPrewarmer.Platform platform = SessionPrewarmer.resolvePlatform(test);
+            String platformKey = DriverSessionPool.platformKey(platform.browser(), platform.os(), platform.osVersion(), null, null);
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                items.add(new WorkItem(test, xmlClass, platformKey));
+            }
+        }
+
+        Map<String, RunHistoryStore.TestStats> history = Collections.emptyMap();
+        if (Files.exists(RunHistoryStore.DEFAULT_FILE)) {
+            try (RunHistoryStore store = RunHistoryStore.openForRead(RunHistoryStore.DEFAULT_FILE)) {
+                history = store.statistics();
+            } catch (IOException e) {
+                Log.warn("⚠️ Could not read run history, scheduling in suite order: " + e.getMessage());
+            }
+        }
+
+        long longestKnown = 0;
+        for (WorkItem item : items) {
+            String prefix = item.xmlClass.getName() + ".";
+            for (RunHistoryStore.TestStats stats : history.values()) {
+                if (stats.getPlatform().equals(item.platform) && stats.getTest().startsWith(prefix)) {
+                    item.expectedMillis += Math.round(stats.getMeanMillis() + stats.getMeanSetupMillis());
+                }
+            }
+            longestKnown = Math.max(longestKnown, item.expectedMillis);
+        }
+        // Items without history go first: a long unknown item started last would decide the wall-clock time
+        long unknownMillis = longestKnown > 0 ? longestKnown : DEFAULT_ITEM_MILLIS;
+        for (WorkItem item : items) {
+            if (item.expectedMillis == 0) {
+                item.expectedMillis = unknownMillis;
+                item.estimated = true;
+            }
+        }
+
+        // Stable sort, equal items keep their suite order
+        items.sort(Comparator.comparingLong(WorkItem::getExpectedMillis).reversed());
+        return items;
+    }
+
+    /**
+     * Run the suite as work items pulled by the given number of slots
+     */
+    public static Result run(XmlSuite suite, int slots) {
+        List<WorkItem> items = plan(suite);
+        int slotCount = Math.max(1, Math.min(slots, items.size()));
+        Log.info(() -> "🗓️ Scheduling " + items.size() + " work items on " + slotCount + " slots, longest first:");
+        items.forEach(item -> Log.info(() -> "   " + item));
+
+        Queue<WorkItem> queue = new ConcurrentLinkedQueue<>(items);
+        long[] busyMillis = new long[slotCount];
+        running = true;
+        SessionPrewarmer.prewarm(prewarmSuite(suite, items, slotCount));
+
+        long start = System.currentTimeMillis();
+        List<Thread> threads = new ArrayList<>();
+        for (int slot = 1; slot <= slotCount; slot++) {
+            int current = slot;
+            Thread thread = new Thread(() -> {
+                WorkItem item;
+                while ((item = queue.poll()) != null) {
+                    item.slot = current;
+                    long itemStart = System.currentTimeMillis();
+                    item.failed = !runItem(suite, item);
+                    item.actualMillis = System.currentTimeMillis() - itemStart;
+                    busyMillis[current - 1] += item.actualMillis;
+                    Log.info("🗓️ Slot " + current + " finished " + item + (item.failed ? " with failures" : ""));
+                }
+            }, "scheduler-slot-" + slot);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        long wallMillis = System.currentTimeMillis() - start;
+
+        running = false;
+        List<Runnable> teardowns;
+        synchronized (deferredTeardowns) {
+            teardowns = new ArrayList<>(deferredTeardowns.values());
+            deferredTeardowns.clear();
+        }
+        teardowns.forEach(Runnable::run);
+
+        Result result = new Result(items, busyMillis, wallMillis);
+        Log.info(() -> result.getStatistics());
+        return result;
+    }
+
+    /**
+     * Run one work item as a suite of one test with one class
+     *
+     * @return false if a test failed
+     */
+    private static boolean runItem(XmlSuite suite, WorkItem item) {
+        XmlSuite itemSuite = new XmlSuite();
+        itemSuite.setName(suite.getName() + " - " + item.getName());
+        itemSuite.setParameters(suite.getParameters());
+        itemSuite.setListeners(suite.getListeners());
+        itemSuite.setVerbose(suite.getVerbose());
+        itemSuite.setParallel(suite.getParallel());
+        itemSuite.setThreadCount(suite.getThreadCount());
+        itemSuite.setDataProviderThreadCount(suite.getDataProviderThreadCount());
+        itemSuite.setPreserveOrder(suite.getPreserveOrder());
+        itemSuite.setGroupByInstances(suite.getGroupByInstances());
+
+        XmlTest itemTest = new XmlTest(itemSuite);
+        itemTest.setName(item.getName());
+        itemTest.setParameters(item.test.getLocalParameters());
+        itemTest.setIncludedGroups(item.test.getIncludedGroups());
+        itemTest.setExcludedGroups(item.test.getExcludedGroups());
+        // Effective values, the test falls back to the suite for what it does not set itself
+        itemTest.setParallel(item.test.getParallel());
+        itemTest.setThreadCount(item.test.getThreadCount());
+        itemTest.setPreserveOrder(item.test.getPreserveOrder());
+        itemTest.setGroupByInstances(item.test.getGroupByInstances());
+        itemTest.setXmlClasses(new ArrayList<>(List.of((XmlClass) item.xmlClass.clone())));
+
+        // Default reporters would write the output directory of every item concurrently
+        TestNG testng = new TestNG(false);
+        testng.setXmlSuites(List.of(itemSuite));
+        try {
+            testng.run();
+        } catch (RuntimeException e) {
+            Log.error("Work item " + item.getName() + " could not run: " + e.getMessage());
+            return false;
+        }
+        return !testng.hasFailure();
+    }
+
+    /**
+     * Suite whose first tests are the platforms of the first items, so the pool pre-warms what starts first
+     */
+    private static XmlSuite prewarmSuite(XmlSuite suite, List<WorkItem> items, int slotCount) {
+        XmlSuite prewarm = new XmlSuite();
+        prewarm.setParallel(XmlSuite.ParallelMode.TESTS);
+        prewarm.setThreadCount(slotCount);
+        for (WorkItem item : items.subList(0, Math.min(slotCount, items.size()))) {
+            XmlTest test = new XmlTest(prewarm);
+            test.setParameters(item.test.getAllParameters());
+        }
+        return prewarm;
+    }
+
+    /**
+     * Run a suite XML: {@code <testng.xml> [slots]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: TestScheduler <testng.xml> [slots]");
+            System.exit(2);
+        }
+        List<XmlSuite> suites = new Parser(args[0]).parseToList();
+        XmlSuite suite = suites.get(0);
+        int slots = args.length > 1 ? Integer.parseInt(args[1]) : SLOTS > 0 ? SLOTS : Math.max(1, suite.getThreadCount());
+
+        Result result = run(suite, slots);
+        Log.flush(5000);
+        System.exit(result.hasFailures() ? 1 : 0);
+    }
+}
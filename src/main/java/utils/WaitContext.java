@@ -0,0 +1,153 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Identifies a wait by the page object that issued it, the condition, the locator and the platform of the current thread.
+ * {@link #run} is the single point where waits get their timeout and report their outcome to
+ * {@link AdaptiveTimeouts} and {@link WaitTelemetry}.
+ */
+public final class WaitContext {
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    /** Condition evaluations of the current thread, read before and after a wait to count its polls */
+    private static final ThreadLocal<int[]> pollCounter = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final String page;
+    private final String condition;
+    private final String locator;
+    private final String platform;
+
+    private WaitContext(String page, String condition, String locator, String platform) {
+        this.page = page;
+        this.condition = condition;
+        this.locator = locator;
+        this.platform = platform;
+    }
+
+    /**
+     * Capture the context of a wait issued from the current thread
+     */
+    public static WaitContext capture(String condition, String locator) {
+        return new WaitContext(findCallerPage(), condition, locator, WebDriverFactory.getCurrentPlatform());
+    }
+
+    /**
+     * Run a wait with the timeout and polling interval derived for its context and record the outcome
+     *
+     * @param condition what the wait waits for, e.g. "visible"
+     * @param requestedSeconds timeout asked for by the caller, the upper bound for the derived timeout
+     * @param wait performs the wait given (timeout, polling interval); it signals a timeout by throwing
+     *             TimeoutException or by returning null or false
+     */
+    public static <T> T run(String condition, By locator, int requestedSeconds, BiFunction<Duration, Duration, T> wait) {
+        return run(condition, locator.toString(), requestedSeconds, wait);
+    }
+
+    /**
+     * Run a wait on several locators, see {@link #run(String, By, int, BiFunction)}
+     */
+    public static <T> T run(String condition, By[] locators, int requestedSeconds, BiFunction<Duration, Duration, T> wait) {
+        return run(condition, Arrays.toString(locators), requestedSeconds, wait);
+    }
+
+    /**
+     * Run a wait on a target that is not a locator, e.g. "document", see {@link #run(String, By, int, BiFunction)}
+     */
+    public static <T> T run(String condition, String target, int requestedSeconds, BiFunction<Duration, Duration, T> wait) {
+        WaitContext context = capture(condition, target);
+        Duration timeout = AdaptiveTimeouts.timeoutFor(context, Duration.ofSeconds(requestedSeconds));
+        Duration polling = AdaptiveTimeouts.pollingFor(context);
+
+        int[] polls = pollCounter.get();
+        int pollsBefore = polls[0];
+        long start = System.currentTimeMillis();
+        boolean satisfied = false;
+        try {
+            T result = wait.apply(timeout, polling);
+            satisfied = result != null && !Boolean.FALSE.equals(result);
+            return result;
+        } finally {
+            long elapsed = System.currentTimeMillis() - start;
+            AdaptiveTimeouts.record(context, elapsed, satisfied);
+            WaitTelemetry.record(context, elapsed, satisfied, polls[0] - pollsBefore);
+        }
+    }
+
+    /**
+     * Wrap a wait condition so each evaluation counts as a poll of the running wait
+     */
+    public static <T> Function<WebDriver, T> counted(Function<? super WebDriver, T> condition) {
+        return driver -> {
+            countPoll();
+            return condition.apply(driver);
+        };
+    }
+
+    /**
+     * Count one condition evaluation (round trip) of the running wait
+     */
+    public static void countPoll() {
+        pollCounter.get()[0]++;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+
+    public String getLocator() {
+        return locator;
+    }
+
+    public String getPlatform() {
+        return platform;
+    }
+
+    /**
+     * Key identifying the wait across runs
+     */
+    public String getKey() {
+        return page + " | " + condition + " | " + locator + " | " + platform;
+    }
+
+    @Override
+    public String toString() {
+        return getKey();
+    }
+
+    /**
+     * Find the first caller outside the framework layers, normally the page object
+     */
+    private static String findCallerPage() {
+        return STACK_WALKER.walk(frames -> {
+            Optional<Class<?>> caller = frames
+                .map(StackWalker.StackFrame::getDeclaringClass)
+                .filter(type -> !isFrameworkClass(type))
+                .findFirst();
+            return caller.map(type -> type.getEnclosingClass() != null ? type.getEnclosingClass() : type)
+                .map(Class::getSimpleName)
+                .orElse("unknown");
+        });
+    }
+
+    private static boolean isFrameworkClass(Class<?> type) {
+        String packageName = type.getPackageName();
+        return packageName.equals("utils")
+            || packageName.equals("base")
+            || packageName.startsWith("java.")
+            || packageName.startsWith("jdk.")
+            || packageName.startsWith("org.openqa.");
+    }
+}
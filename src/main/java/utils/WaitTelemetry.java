@@ -0,0 +1,230 @@
+package utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Latency telemetry for waits.
+ * Every wait run through {@link WaitContext} records its outcome, elapsed time and poll count into a
+ * histogram owned by the recording thread, so recording needs no locks. At the end of the suite the
+ * per-thread histograms are merged into a JSON report of the slowest locators, grouped by page object.
+ */
+public class WaitTelemetry {
+
+    private static final boolean ENABLED = ConfigManager.getBooleanProperty("wait.telemetry.enabled", true);
+    private static final String REPORT_FILE = ConfigManager.getProperty("wait.telemetry.report.file",
+        "test-output/wait-telemetry/wait-telemetry.json");
+    private static final int TOP_N = ConfigManager.getIntProperty("wait.telemetry.top.n", 20);
+
+    /** Four buckets per power of two (~19% resolution), up to 2^20 ms */
+    private static final int BUCKETS_PER_OCTAVE = 4;
+    private static final int BUCKET_COUNT = 20 * BUCKETS_PER_OCTAVE + 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /** Histograms of all threads that recorded waits, merged at the end of the suite */
+    private static final Queue<Map<String, Histogram>> threadHistograms = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<Map<String, Histogram>> histograms = ThreadLocal.withInitial(() -> {
+        Map<String, Histogram> map = new HashMap<>();
+        threadHistograms.add(map);
+        return map;
+    });
+
+    /** Time the current thread spent in waits since {@link #takeThreadWaitMillis()} was last called */
+    private static final ThreadLocal<long[]> threadWaitMillis = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Latency histogram of one (page, condition, locator); only written by the owning thread
+     */
+    private static final class Histogram {
+
+        private final String page;
+        private final String condition;
+        private final String locator;
+        private final long[] buckets = new long[BUCKET_COUNT];
+        private long count;
+        private long satisfied;
+        private long timedOut;
+        private long totalMillis;
+        private long maxMillis;
+        private long polls;
+
+        Histogram(String page, String condition, String locator) {
+            this.page = page;
+            this.condition = condition;
+            this.locator = locator;
+        }
+
+        void add(long elapsedMillis, boolean success, int pollCount) {
+            buckets[bucketOf(elapsedMillis)]++;
+            count++;
+            if (success) {
+                satisfied++;
+            } else {
+                timedOut++;
+            }
+            totalMillis += elapsedMillis;
+            maxMillis = Math.max(maxMillis, elapsedMillis);
+            polls += pollCount;
+        }
+
+        void merge(Histogram other) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] += other.buckets[i];
+            }
+            count += other.count;
+            satisfied += other.satisfied;
+            timedOut += other.timedOut;
+            totalMillis += other.totalMillis;
+            maxMillis = Math.max(maxMillis, other.maxMillis);
+            polls += other.polls;
+        }
+
+        /** Upper bound of the bucket holding the given percentile */
+        long percentile(int percentile) {
+            long rank = (long) Math.ceil(percentile / 100.0 * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(maxMillis, bucketUpperBound(i));
+                }
+            }
+            return maxMillis;
+        }
+
+        Map<String, Object> toReport() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("page", page);
+            report.put("condition", condition);
+            report.put("locator", locator);
+            report.put("count", count);
+            report.put("satisfied", satisfied);
+            report.put("timedOut", timedOut);
+            report.put("totalMillis", totalMillis);
+            report.put("meanMillis", count > 0 ? totalMillis / count : 0);
+            report.put("p50Millis", percentile(50));
+            report.put("p95Millis", percentile(95));
+            report.put("maxMillis", maxMillis);
+            report.put("polls", polls);
+            return report;
+        }
+    }
+
+    /**
+     * Record the outcome of a wait in the current thread's histogram
+     */
+    public static void record(WaitContext context, long elapsedMillis, boolean satisfied, int polls) {
+        threadWaitMillis.get()[0] += elapsedMillis;
+        if (!ENABLED) {
+            return;
+        }
+        String key = context.getPage() + " | " + context.getCondition() + " | " + context.getLocator();
+        histograms.get()
+            .computeIfAbsent(key, k -> new Histogram(context.getPage(), context.getCondition(), context.getLocator()))
+            .add(elapsedMillis, satisfied, polls);
+    }
+
+    /**
+     * Get the time the current thread spent in waits and start counting from zero again
+     */
+    public static long takeThreadWaitMillis() {
+        long[] total = threadWaitMillis.get();
+        long millis = total[0];
+        total[0] = 0;
+        return millis;
+    }
+
+    /**
+     * Merge the histograms of all threads and write the JSON report, called at the end of the suite
+     */
+    public static void writeReport() {
+        if (!ENABLED) {
+            return;
+        }
+        List<Histogram> merged = merge();
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        long totalWaits = merged.stream().mapToLong(h -> h.count).sum();
+        long totalMillis = merged.stream().mapToLong(h -> h.totalMillis).sum();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", LocalDateTime.now().toString());
+        report.put("totalWaits", totalWaits);
+        report.put("totalWaitMillis", totalMillis);
+        report.put("timedOut", merged.stream().mapToLong(h -> h.timedOut).sum());
+        report.put("topByTotal", top(merged, Comparator.comparingLong((Histogram h) -> h.totalMillis)));
+        report.put("topByP95", top(merged, Comparator.comparingLong((Histogram h) -> h.percentile(95))));
+
+        Map<String, Object> byPage = new TreeMap<>();
+        merged.stream()
+            .collect(Collectors.groupingBy(h -> h.page))
+            .forEach((page, pageHistograms) -> {
+                Map<String, Object> pageReport = new LinkedHashMap<>();
+                pageReport.put("totalMillis", pageHistograms.stream().mapToLong(h -> h.totalMillis).sum());
+                pageReport.put("waits", pageHistograms.stream()
+                    .sorted(Comparator.comparingLong((Histogram h) -> h.totalMillis).reversed())
+                    .map(Histogram::toReport)
+                    .collect(Collectors.toList()));
+                byPage.put(page, pageReport);
+            });
+        report.put("byPage", byPage);
+
+        try {
+            File file = new File(REPORT_FILE);
+            file.getParentFile().mkdirs();
+            MAPPER.writeValue(file, report);
+            Log.info(() -> "📊 Wait telemetry: " + totalWaits + " waits, " + (totalMillis / 1000) + " s total, report: " + file.getPath());
+        } catch (IOException e) {
+            Log.warn("⚠️ Could not write wait telemetry report: " + e.getMessage());
+        }
+    }
+
+    private static List<Histogram> merge() {
+        Map<String, Histogram> merged = new HashMap<>();
+        for (Map<String, Histogram> threadMap : threadHistograms) {
+            threadMap.forEach((key, histogram) -> merged
+                .computeIfAbsent(key, k -> new Histogram(histogram.page, histogram.condition, histogram.locator))
+                .merge(histogram));
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private static List<Map<String, Object>> top(List<Histogram> histograms, Comparator<Histogram> order) {
+        return histograms.stream()
+            .sorted(order.reversed())
+            .limit(TOP_N)
+            .map(Histogram::toReport)
+            .collect(Collectors.toList());
+    }
+
+    private static int bucketOf(long millis) {
+        if (millis <= 1) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(millis) / Math.log(2) * BUCKETS_PER_OCTAVE);
+        return Math.min(BUCKET_COUNT - 1, bucket);
+    }
+
+    private static long bucketUpperBound(int bucket) {
+        return (long) Math.ceil(Math.pow(2, (double) bucket / BUCKETS_PER_OCTAVE));
+    }
+}
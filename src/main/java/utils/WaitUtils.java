@@ -15,51 +15,29 @@ public class WaitUtils {
     private static final int POLLING_INTERVAL = 500;
     
     /**
-     * Wait for element to be displayed and clickable with retry mechanism
+     * Wait for element to be displayed and clickable; stale references between the checks are ignored and re-located
      */
     public static boolean waitForElementToBeReady(WebDriver driver, By locator, int timeoutSeconds) {
-        int attempts = 0;
-        int maxAttempts = 3;
-        
-        while (attempts < maxAttempts) {
-            try {
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
+        try {
+            return WaitContext.run("ready", locator, timeoutSeconds, (timeout, polling) -> {
+                WebDriverWait wait = new WebDriverWait(driver, timeout, polling);
+                wait.ignoring(StaleElementReferenceException.class);
                 
                 // Wait for element to be present first
-                wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+                wait.until(WaitContext.counted(ExpectedConditions.presenceOfElementLocated(locator)));
                 
                 // Then wait for it to be visible
-                wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+                wait.until(WaitContext.counted(ExpectedConditions.visibilityOfElementLocated(locator)));
                 
                 // Finally wait for it to be clickable
-                wait.until(ExpectedConditions.elementToBeClickable(locator));
+                wait.until(WaitContext.counted(ExpectedConditions.elementToBeClickable(locator)));
                 
                 return true;
-                
-            } catch (StaleElementReferenceException e) {
-                attempts++;
-                System.out.println("Stale element detected, retrying... Attempt: " + attempts);
-                try {
-                    Thread.sleep(POLLING_INTERVAL);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return false;
-                }
-            } catch (TimeoutException e) {
-                if (attempts == maxAttempts - 1) {
-                    System.out.println("Element not ready after " + maxAttempts + " attempts: " + locator);
-                    return false;
-                }
-                attempts++;
-                try {
-                    Thread.sleep(POLLING_INTERVAL);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    return false;
-                }
-            }
+            });
+        } catch (TimeoutException e) {
+            Log.warn("Element not ready within " + timeoutSeconds + " seconds: " + locator);
+            return false;
         }
-        return false;
     }
     
     /**
@@ -73,29 +51,25 @@ public class WaitUtils {
      * Wait for page to be fully loaded and ready for interaction
      */
     public static void waitForPageToBeReady(WebDriver driver, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        
         // Wait for page to load
-        wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                .executeScript("return document.readyState").equals("complete"));
+        WaitContext.run("ready state", "document", timeoutSeconds, (timeout, polling) ->
+            new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(webDriver -> ((JavascriptExecutor) webDriver)
+                .executeScript("return document.readyState").equals("complete"))));
         
         // Wait for jQuery to be ready (if present)
         try {
-            wait.until(webDriver -> {
-                Object result = ((JavascriptExecutor) webDriver)
-                        .executeScript("return typeof jQuery !== 'undefined' ? jQuery.active === 0 : true");
-                return result instanceof Boolean && (Boolean) result;
-            });
+            WaitContext.run("jQuery idle", "document", timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(webDriver -> {
+                    Object result = ((JavascriptExecutor) webDriver)
+                            .executeScript("return typeof jQuery !== 'undefined' ? jQuery.active === 0 : true");
+                    return result instanceof Boolean && (Boolean) result;
+                })));
         } catch (Exception e) {
             // jQuery not present, continue
         }
         
-        // Additional wait for any remaining scripts
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Wait for any remaining requests to finish
+        NetworkIdleTracker.waitForNetworkIdle(driver, timeoutSeconds * 1000L);
     }
     
     /**
@@ -109,46 +83,26 @@ public class WaitUtils {
      * Wait for any of multiple elements to appear and be clickable
      */
     public static WebElement waitForAnyElementReady(WebDriver driver, int timeoutSeconds, By... locators) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        
-        for (By locator : locators) {
-            try {
-                if (waitForElementToBeReady(driver, locator, 2)) {
-                    return driver.findElement(locator);
-                }
-            } catch (Exception e) {
-                // Continue to next locator
-            }
-        }
-        
-        // If none worked with individual waits, try the traditional approach
-        for (By locator : locators) {
-            try {
-                return wait.until(ExpectedConditions.elementToBeClickable(locator));
-            } catch (TimeoutException e) {
-                // Continue to next locator
-            }
-        }
-        
-        return null;
+        CompositeWait.Match match = WaitContext.run("any clickable", locators, timeoutSeconds, (timeout, polling) ->
+            CompositeWait.waitForAny(driver, timeout, CompositeWait.Condition.CLICKABLE, locators));
+        return match != null ? match.getElement() : null;
     }
     
     /**
      * Wait for text to appear in element with enhanced stability
      */
     public static boolean waitForTextInElement(WebDriver driver, By locator, String expectedText, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        
         try {
-            return wait.until(webDriver -> {
-                try {
-                    WebElement element = webDriver.findElement(locator);
-                    String actualText = element.getText().trim();
-                    return actualText.contains(expectedText);
-                } catch (NoSuchElementException | StaleElementReferenceException e) {
-                    return false;
-                }
-            });
+            return WaitContext.run("text", locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(webDriver -> {
+                    try {
+                        WebElement element = webDriver.findElement(locator);
+                        String actualText = element.getText().trim();
+                        return actualText.contains(expectedText);
+                    } catch (NoSuchElementException | StaleElementReferenceException e) {
+                        return false;
+                    }
+                })));
         } catch (TimeoutException e) {
             return false;
         }
@@ -158,18 +112,17 @@ public class WaitUtils {
      * Wait for element attribute to have specific value
      */
     public static boolean waitForElementAttribute(WebDriver driver, By locator, String attribute, String expectedValue, int timeoutSeconds) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-        
         try {
-            return wait.until(webDriver -> {
-                try {
-                    WebElement element = webDriver.findElement(locator);
-                    String actualValue = element.getAttribute(attribute);
-                    return expectedValue.equals(actualValue);
-                } catch (NoSuchElementException | StaleElementReferenceException e) {
-                    return false;
-                }
-            });
+            return WaitContext.run("attribute " + attribute, locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(webDriver -> {
+                    try {
+                        WebElement element = webDriver.findElement(locator);
+                        String actualValue = element.getAttribute(attribute);
+                        return expectedValue.equals(actualValue);
+                    } catch (NoSuchElementException | StaleElementReferenceException e) {
+                        return false;
+                    }
+                })));
         } catch (TimeoutException e) {
             return false;
         }
@@ -180,8 +133,8 @@ public class WaitUtils {
      */
     public static boolean waitForElementToDisappear(WebDriver driver, By locator, int timeoutSeconds) {
         try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            return wait.until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            return WaitContext.run("invisible", locator, timeoutSeconds, (timeout, polling) ->
+                new WebDriverWait(driver, timeout, polling).until(WaitContext.counted(ExpectedConditions.invisibilityOfElementLocated(locator))));
         } catch (TimeoutException e) {
             return false;
         }
@@ -195,13 +148,14 @@ public class WaitUtils {
             return false;
         }
         
+        // The element heals stale references itself, so only intercepted clicks need another attempt
+        WebElement element = HealingWebElement.create(driver, locator);
+        PageState.markAction();
         int attempts = 0;
         int maxAttempts = 3;
         
         while (attempts < maxAttempts) {
             try {
-                WebElement element = driver.findElement(locator);
-                
                 // Try regular click first
                 element.click();
                 return true;
@@ -209,18 +163,14 @@ public class WaitUtils {
             } catch (ElementClickInterceptedException e) {
                 // Try JavaScript click
                 try {
-                    WebElement element = driver.findElement(locator);
                     ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
                     return true;
                 } catch (Exception jsException) {
                     attempts++;
-                    System.out.println("Click intercepted, retrying... Attempt: " + attempts);
+                    Log.info("Click intercepted, retrying... Attempt: " + attempts);
                 }
-            } catch (StaleElementReferenceException e) {
-                attempts++;
-                System.out.println("Stale element during click, retrying... Attempt: " + attempts);
             } catch (Exception e) {
-                System.out.println("Unexpected error during click: " + e.getMessage());
+                Log.warn("Unexpected error during click: " + e.getMessage());
                 return false;
             }
             
@@ -248,11 +198,8 @@ public class WaitUtils {
      * Wait for a list of elements to be displayed
      */
     public static boolean waitForElementsToBeDisplayed(WebDriver driver, List<By> locators, int timeoutSeconds) {
-        for (By locator : locators) {
-            if (!waitForElementToBeReady(driver, locator, timeoutSeconds)) {
-                return false;
-            }
-        }
-        return true;
+        By[] locatorArray = locators.toArray(new By[0]);
+        return WaitContext.run("all clickable", locatorArray, timeoutSeconds, (timeout, polling) ->
+            CompositeWait.waitForAll(driver, timeout, CompositeWait.Condition.CLICKABLE, locatorArray)) != null;
     }
 }
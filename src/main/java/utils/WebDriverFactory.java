@@ -25,17 +25,67 @@ import java.util.Map;
 public class WebDriverFactory {
     
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ThreadLocal<String> platformThreadLocal = new ThreadLocal<>();
+    /** Script timeout of every session, set once at creation; in-page waits must finish within it */
+    private static final Duration SCRIPT_TIMEOUT = Duration.ofSeconds(ConfigManager.getIntProperty("script.timeout.seconds", 90));
     
     public static WebDriver createDriver(String browser, String os, String osVersion) {
         return createDriver(browser, os, osVersion, null, null);
     }
     
     public static WebDriver createDriver(String browser, String os, String osVersion, String device, String browserVersion) {
+        WebDriver driver = newDriver(browser, os, osVersion, device, browserVersion);
+        driverThreadLocal.set(driver);
+        platformThreadLocal.set(DriverSessionPool.platformKey(browser, os, osVersion, device, browserVersion));
+        return driver;
+    }
+    
+    /**
+     * Lease a browser session from the session pool and bind it to the current thread
+     */
+    public static DriverSessionPool.PooledSession leaseSession(String browser, String os, String osVersion) {
+        return leaseSession(browser, os, osVersion, null, null);
+    }
+    
+    public static DriverSessionPool.PooledSession leaseSession(String browser, String os, String osVersion, String device, String browserVersion) {
+        DriverSessionPool.PooledSession session = DriverSessionPool.lease(browser, os, osVersion, device, browserVersion);
+        driverThreadLocal.set(session.getDriver());
+        platformThreadLocal.set(session.getPlatformKey());
+        return session;
+    }
+    
+    /**
+     * Return a leased session to the pool and unbind it from the current thread
+     */
+    public static void releaseSession(DriverSessionPool.PooledSession session) {
+        if (session == null) {
+            return;
+        }
+        if (driverThreadLocal.get() == session.getDriver()) {
+            driverThreadLocal.remove();
+        }
+        // The pool resets the session, which logs it out
+        AuthSessionCache.recordLogout();
+        DriverSessionPool.release(session);
+    }
+    
+    /**
+     * Quit all pooled sessions and print pool statistics
+     */
+    public static void shutdownSessionPool() {
+        driverThreadLocal.remove();
+        DriverSessionPool.shutdown();
+    }
+    
+    /**
+     * Create and configure a new WebDriver without binding it to the current thread
+     */
+    static WebDriver newDriver(String browser, String os, String osVersion, String device, String browserVersion) {
         WebDriver driver;
         String environment = System.getProperty("environment", "local");
         
         // Add debug logging
-        System.out.println("Creating WebDriver - Environment: " + environment + 
+        Log.info(() -> "Creating WebDriver - Environment: " + environment + 
                           ", Browser: '" + browser + "', OS: " + os + ", OSVersion: " + osVersion + 
                           (device != null ? ", Device: " + device : "") +
                           (browserVersion != null ? ", BrowserVersion: " + browserVersion : ""));
@@ -49,15 +99,15 @@ public class WebDriverFactory {
         // Configure timeouts
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigManager.getImplicitWait()));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigManager.getIntProperty("page.load.timeout", 120)));
+        driver.manage().timeouts().scriptTimeout(SCRIPT_TIMEOUT);
         
         // Configure network error tolerance
         try {
             NetworkErrorHandler.configureNetworkErrorTolerance(driver);
         } catch (Exception e) {
-            System.out.println("⚠️ Could not configure network error tolerance: " + e.getMessage());
+            Log.warn("⚠️ Could not configure network error tolerance: " + e.getMessage());
         }
         
-        driverThreadLocal.set(driver);
         return driver;
     }
     
@@ -68,15 +118,15 @@ public class WebDriverFactory {
         String username = ConfigManager.getBrowserStackUsername();
         String accessKey = ConfigManager.getBrowserStackAccessKey();
         
-        System.out.println("========== BrowserStack Configuration Debug ==========");
-        System.out.println("Username: " + (username != null ? username.substring(0, Math.min(5, username.length())) + "..." : "null"));
-        System.out.println("Access Key: " + (accessKey != null ? accessKey.substring(0, Math.min(5, accessKey.length())) + "..." : "null"));
-        System.out.println("Hub URL: " + ConfigManager.getBrowserStackHubUrl());
-        System.out.println("Platform: " + browser + " on " + os + " " + osVersion);
+        Log.info("========== BrowserStack Configuration Debug ==========");
+        Log.info(() -> "Username: " + (username != null ? username.substring(0, Math.min(5, username.length())) + "..." : "null"));
+        Log.info(() -> "Access Key: " + (accessKey != null ? accessKey.substring(0, Math.min(5, accessKey.length())) + "..." : "null"));
+        Log.info(() -> "Hub URL: " + ConfigManager.getBrowserStackHubUrl());
+        Log.info(() -> "Platform: " + browser + " on " + os + " " + osVersion);
         if (device != null && !device.isEmpty()) {
-            System.out.println("Device: " + device);
+            Log.info(() -> "Device: " + device);
         }
-        System.out.println("====================================================");
+        Log.info("====================================================");
         
         // Browser and OS capabilities - BrowserStack expects proper case
         caps.setCapability("browserName", browser);
@@ -116,7 +166,7 @@ public class WebDriverFactory {
         // Network logs - make this configurable to avoid issues with failed requests
         boolean networkLogsEnabled = ConfigManager.getBooleanProperty("network.logs.enabled", false);
         bstackOptions.put("networkLogs", networkLogsEnabled);
-        System.out.println("Network logs enabled: " + networkLogsEnabled);
+        Log.info(() -> "Network logs enabled: " + networkLogsEnabled);
         
         bstackOptions.put("consoleLogs", "verbose");
         bstackOptions.put("seleniumLogs", true);
@@ -134,7 +184,7 @@ public class WebDriverFactory {
             String bsAccessKey = ConfigManager.getBrowserStackAccessKey();
             String hubUrl = String.format("https://%s:%s@hub-cloud.browserstack.com/wd/hub", bsUsername, bsAccessKey);
             
-            System.out.println("Connecting to BrowserStack with URL: " + hubUrl.replaceAll(bsAccessKey, "***"));
+            Log.info(() -> "Connecting to BrowserStack with URL: " + hubUrl.replaceAll(bsAccessKey, "***"));
             
             return new RemoteWebDriver(new URL(hubUrl), caps);
         } catch (MalformedURLException e) {
@@ -171,6 +221,9 @@ public class WebDriverFactory {
                 }
                 firefoxOptions.addArguments("--width=1920");
                 firefoxOptions.addArguments("--height=1080");
+                if (ImageNetworkCapture.isEnabled()) {
+                    firefoxOptions.setCapability("webSocketUrl", true);
+                }
                 driver = new FirefoxDriver(firefoxOptions);
                 break;
                 
@@ -198,10 +251,32 @@ public class WebDriverFactory {
         return driver;
     }
     
+    /**
+     * Get the script timeout every session is created with
+     */
+    public static Duration getScriptTimeout() {
+        return SCRIPT_TIMEOUT;
+    }
+    
     public static WebDriver getDriver() {
         return driverThreadLocal.get();
     }
     
+    /**
+     * Bind the platform the current thread is testing on, for sessions kept across test methods
+     */
+    public static void bindPlatform(String platformKey) {
+        platformThreadLocal.set(platformKey);
+    }
+    
+    /**
+     * Get the platform key of the session bound to the current thread
+     */
+    public static String getCurrentPlatform() {
+        String platformKey = platformThreadLocal.get();
+        return platformKey != null ? platformKey : "unknown";
+    }
+    
     public static void quitDriver() {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
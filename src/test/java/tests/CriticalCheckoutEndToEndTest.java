@@ -192,13 +192,8 @@ public class CriticalCheckoutEndToEndTest extends BaseTest {
     }
     
     private void authenticateUser() {
-        homePage.clickSignIn();
-        wait.until(ExpectedConditions.urlContains("signin"));
-        
-        Assert.assertTrue(loginPage.isPageLoaded(), 
-            "Login page failed to load - Critical navigation issue");
-        
-        loginPage.login("demouser", "testingisfun99");
+        // Restores the cached demouser session when available
+        loginAs("demouser", "testingisfun99");
         
         // Enhanced login validation for cross-browser compatibility
         Assert.assertTrue(loginPage.isLoginSuccessful(), 
@@ -47,13 +47,8 @@ public class ExistingOrdersUserValidationTest extends BaseTest {
             
             // Step 3: Navigate to login and authenticate existing_orders_user
             System.out.println("🔐 Step 3: Login as existing_orders_user...");
-            homePage.clickSignIn();
-            
-            Assert.assertTrue(loginPage.isPageLoaded(), 
-                "Login page failed to load - Critical navigation issue");
-            
-            // Login with existing_orders_user
-            loginPage.login("existing_orders_user", "testingisfun99");
+            // Login with existing_orders_user (restores the cached session when available)
+            loginAs("existing_orders_user", "testingisfun99");
             
             Assert.assertTrue(loginPage.isLoginSuccessful(), 
                 "Login failed for existing_orders_user - Authentication issue");
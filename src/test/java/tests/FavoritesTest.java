@@ -34,16 +34,9 @@ public class FavoritesTest extends BaseTest {
             setupPageObjects();
             System.out.println("📝 Step 1: Page objects initialized");
             
-            // Step 2: Navigate to login and verify page loads
-            System.out.println("🔐 Step 2: Navigating to login page...");
-            homePage.clickSignIn();
-            
-            Assert.assertTrue(loginPage.isPageLoaded(), 
-                "CRITICAL FAILURE: Login page failed to load - Navigation issue across browsers");
-            
-            // Step 3: Login with fav_user
-            System.out.println("👤 Step 3: Authenticating fav_user...");
-            loginPage.login("fav_user", "testingisfun99");
+            // Step 2-3: Login with fav_user (restores the cached session when available)
+            System.out.println("👤 Step 2-3: Authenticating fav_user...");
+            loginAs("fav_user", "testingisfun99");
             
             // Step 4: Validate login success with comprehensive checks
             System.out.println("✅ Step 4: Validating login success...");
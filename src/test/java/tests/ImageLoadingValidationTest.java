@@ -1,17 +1,21 @@
 package tests;
 
 import base.BaseTest;
+import base.SessionScope;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import pages.HomePage;
 import pages.LoginPage;
+import utils.ImageNetworkCapture;
 import utils.ImageValidationUtils;
 
 /**
  * Test class for validating image loading issues
  * This test logs in with image_not_loading_user and validates images on various pages
  * Tests are designed to FAIL when images are not loading properly
+ * Later tests depend on the logged in session of the first one, so the session is kept for the class
  */
+@SessionScope(SessionScope.Scope.CLASS)
 public class ImageLoadingValidationTest extends BaseTest {
     
     private HomePage homePage;
@@ -28,10 +32,7 @@ public class ImageLoadingValidationTest extends BaseTest {
         
         // Step 1: Login with image_not_loading_user
         System.out.println("🔐 Step 1: Logging in with image_not_loading_user...");
-        homePage.clickSignIn();
-        Assert.assertTrue(loginPage.isPageLoaded(), "Login page should be loaded");
-        
-        loginPage.login("image_not_loading_user", "testingisfun99");
+        loginAs("image_not_loading_user", "testingisfun99");
         Assert.assertTrue(loginPage.isLoginSuccessful(), "Login should be successful");
         
         String loggedInUser = loginPage.getLoggedInUsername();
@@ -41,10 +42,14 @@ public class ImageLoadingValidationTest extends BaseTest {
         
         // Step 2: Navigate back to home page and validate images
         System.out.println("🏠 Step 2: Validating images on Home page...");
+        ImageNetworkCapture capture = ImageNetworkCapture.start(driver); // null unless image.capture.enabled
         driver.get(driver.getCurrentUrl().split("\\?")[0]); // Remove query parameters to go to home
         
         // Wait a moment for images to load
         ImageValidationUtils.waitForImagesToLoad(driver, 5);
+        if (capture != null) {
+            ImageValidationUtils.validateImageResponses(capture.stop(), "Home Page");
+        }
         
         // Validate all images are loaded - THIS SHOULD FAIL for image_not_loading_user
         boolean allImagesLoaded = ImageValidationUtils.validateAllImagesLoaded(driver, "Home Page");
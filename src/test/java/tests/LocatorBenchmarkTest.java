@@ -0,0 +1,54 @@
+package tests;
+
+import base.BaseTest;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pages.FavoritesPage;
+import pages.HomePage;
+import pages.OffersPage;
+import pages.OrdersPage;
+import utils.LocatorBenchmark;
+import utils.NetworkIdleTracker;
+
+/**
+ * Locator cost benchmark
+ * Saves the DOMs of the Orders, Offers and Favourites pages and measures the evaluation cost of their
+ * locators, XPath against the CSS rewrites from LocatorRegistry
+ */
+public class LocatorBenchmarkTest extends BaseTest {
+
+    @Test(groups = {"benchmark"}, description = "Benchmark page object locators on saved page DOMs")
+    public void benchmarkPageLocators() {
+        System.out.println("⚡ LOCATOR BENCHMARK - " + getTestInfo());
+
+        // Step 1: Page objects register their locators when created
+        HomePage homePage = new HomePage(driver);
+        new OrdersPage(driver);
+        new OffersPage(driver);
+        new FavoritesPage(driver);
+
+        // Step 2: Capture the Orders DOM
+        System.out.println("📦 Step 2: Capturing Orders page...");
+        loginAs("existing_orders_user", "testingisfun99");
+        homePage.navigateToOrders();
+        NetworkIdleTracker.waitForNetworkIdle(driver);
+        LocatorBenchmark.saveDom(driver, "OrdersPage");
+
+        // Step 3: Capture the Offers DOM
+        System.out.println("🎁 Step 3: Capturing Offers page...");
+        homePage.navigateToOffers();
+        NetworkIdleTracker.waitForNetworkIdle(driver);
+        LocatorBenchmark.saveDom(driver, "OffersPage");
+
+        // Step 4: Capture the Favourites DOM
+        System.out.println("⭐ Step 4: Capturing Favourites page...");
+        homePage.navigateToFavourites();
+        NetworkIdleTracker.waitForNetworkIdle(driver);
+        LocatorBenchmark.saveDom(driver, "FavoritesPage");
+
+        // Step 5: Benchmark all saved pages
+        System.out.println("⏱️ Step 5: Benchmarking locators...");
+        int mismatches = LocatorBenchmark.run(driver);
+        Assert.assertEquals(mismatches, 0, "CSS rewrites matching different elements, see locator-benchmark.json");
+    }
+}